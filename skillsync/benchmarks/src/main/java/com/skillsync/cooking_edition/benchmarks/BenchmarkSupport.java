@@ -0,0 +1,63 @@
+package com.skillsync.cooking_edition.benchmarks;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.util.ReflectionUtils;
+
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.model.User;
+import com.skillsync.cooking_edition.repository.PostRepository;
+import com.skillsync.cooking_edition.repository.UserRepository;
+
+// Wires controllers the way Spring would, minus the context: @Autowired fields get in-memory repositories
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    static PostRepository postRepository(List<Post> posts) {
+        return InMemoryRepository.create(PostRepository.class, posts, Post::getId, Post::getUserId);
+    }
+
+    static UserRepository userRepository(List<User> users) {
+        return InMemoryRepository.create(UserRepository.class, users, User::getId, null);
+    }
+
+    static void inject(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        if (field == null) {
+            throw new IllegalStateException(target.getClass().getSimpleName() + " has no field " + fieldName);
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    // Global rather than thread-local, so every JMH worker thread sees the same signed-in user
+    static void signIn(User user) {
+        List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("ROLE_USER");
+        DefaultOAuth2User principal = new DefaultOAuth2User(authorities,
+                Map.of("sub", user.getId(), "name", user.getName(), "email", user.getEmail()), "sub");
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(new OAuth2AuthenticationToken(principal, authorities, "google"));
+    }
+
+    static void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // The controllers catch their own exceptions, so a broken setup would otherwise be measured as a fast error path
+    static void requireSuccess(String call, ResponseEntity<?> response) {
+        if (response == null || !response.getStatusCode().is2xxSuccessful()) {
+            throw new IllegalStateException(call + " returned " + (response != null ? response.getStatusCode() : null)
+                    + " during setup");
+        }
+    }
+}
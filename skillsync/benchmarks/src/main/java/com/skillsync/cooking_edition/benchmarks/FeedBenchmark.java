@@ -0,0 +1,75 @@
+package com.skillsync.cooking_edition.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import com.skillsync.cooking_edition.controller.PostController;
+
+// Feed assembly in PostController: the privacy filter over every post, the engagement sort behind
+// trending, and the per-followee merge and date sort of the following feed
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class FeedBenchmark {
+
+    // Roughly ten posts per user, as in production
+    private static final int POSTS_PER_USER = 10;
+
+    @Param({ "1000", "10000", "100000" })
+    public int posts;
+
+    @Param({ "50", "500" })
+    public int viewerFollows;
+
+    private PostController controller;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticData data = new SyntheticData(Math.max(viewerFollows + 1, posts / POSTS_PER_USER), posts,
+                viewerFollows, 42L);
+        controller = new PostController();
+        BenchmarkSupport.inject(controller, "postRepository", BenchmarkSupport.postRepository(data.posts));
+        BenchmarkSupport.inject(controller, "userRepository", BenchmarkSupport.userRepository(data.users));
+        BenchmarkSupport.signIn(data.viewer);
+        BenchmarkSupport.requireSuccess("listPosts", listPosts());
+        BenchmarkSupport.requireSuccess("trendingPosts", trendingPosts());
+        BenchmarkSupport.requireSuccess("followingPosts", followingPosts());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkSupport.signOut();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> listPosts() {
+        return controller.listPosts();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> trendingPosts() {
+        return controller.getTrendingPosts();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> followingPosts() {
+        return controller.getFollowingPosts();
+    }
+}
@@ -0,0 +1,81 @@
+package com.skillsync.cooking_edition.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+// Map-backed stand-in for a Spring Data repository interface. Only the calls the benchmarked code
+// paths make are implemented; anything else fails loudly so a new query can't go unnoticed.
+final class InMemoryRepository<T> implements InvocationHandler {
+
+    private final Map<String, T> byId = new LinkedHashMap<>();
+    private final Map<String, List<T>> byOwner = new HashMap<>();
+    private final Function<T, String> idOf;
+    private final Function<T, String> ownerOf;
+
+    private InMemoryRepository(Collection<T> entities, Function<T, String> idOf, Function<T, String> ownerOf) {
+        this.idOf = idOf;
+        this.ownerOf = ownerOf;
+        entities.forEach(this::put);
+    }
+
+    // ownerOf maps an entity to the userId that findByUserId queries on, or is null if the type has none
+    @SuppressWarnings("unchecked")
+    static <R, T> R create(Class<R> repositoryType, Collection<T> entities,
+                           Function<T, String> idOf, Function<T, String> ownerOf) {
+        return (R) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[] { repositoryType },
+                new InMemoryRepository<>(entities, idOf, ownerOf));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "findAll":
+                if (args == null) {
+                    // Like a Mongo query, callers get a fresh list they may reorder
+                    return new ArrayList<>(byId.values());
+                }
+                break;
+            case "findById":
+                return Optional.ofNullable(byId.get((String) args[0]));
+            case "findByUserId":
+                if (ownerOf != null) {
+                    return new ArrayList<>(byOwner.getOrDefault((String) args[0], List.of()));
+                }
+                break;
+            case "save":
+                put((T) args[0]);
+                return args[0];
+            case "count":
+                return (long) byId.size();
+            case "toString":
+                return "InMemoryRepository(" + byId.size() + " entities)";
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            default:
+                break;
+        }
+        throw new UnsupportedOperationException("Not supported by the in-memory stand-in: " + method);
+    }
+
+    private void put(T entity) {
+        T previous = byId.put(idOf.apply(entity), entity);
+        if (ownerOf != null) {
+            if (previous != null) {
+                byOwner.get(ownerOf.apply(previous)).remove(previous);
+            }
+            byOwner.computeIfAbsent(ownerOf.apply(entity), key -> new ArrayList<>()).add(entity);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.skillsync.cooking_edition.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.model.User;
+
+// Deterministic users and posts shaped like production data: a fifth of profiles private, follow
+// counts and engagement heavily skewed towards a few popular creators, posts spread over 90 days.
+final class SyntheticData {
+
+    private static final String[] NAME_PARTS = {
+            "an", "ma", "ri", "ko", "el", "sa", "to", "li", "na", "de", "mi", "ra", "jo", "ke", "lu", "ba" };
+    private static final String[] DISHES = {
+            "Risotto", "Ramen", "Tacos", "Curry", "Paella", "Sourdough", "Pho", "Lasagna", "Dumplings", "Tagine" };
+
+    final List<User> users = new ArrayList<>();
+    final List<Post> posts = new ArrayList<>();
+    final User viewer; // The signed-in user the feeds are assembled for
+
+    SyntheticData(int userCount, int postCount, int viewerFollows, long seed) {
+        Random random = new Random(seed);
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+        for (int i = 0; i < userCount; i++) {
+            User user = new User();
+            user.setId(String.format("u%07d", i));
+            user.setName(name(random) + " " + name(random));
+            user.setEmail(user.getId() + "@example.com");
+            user.setBio("Home cook");
+            user.setProfilePicture("/uploads/avatars/" + user.getId() + ".jpg");
+            user.setPrivate(random.nextInt(5) == 0);
+            user.setFollowers(new ArrayList<>());
+            users.add(user);
+        }
+        for (User user : users) {
+            List<String> following = new ArrayList<>(follows(random, Math.min(userCount - 1, skewed(random, 200)), user));
+            user.setFollowing(following);
+            user.setFollowingCount(following.size());
+        }
+        viewer = users.get(0);
+        viewer.setFollowing(new ArrayList<>(follows(random, Math.min(userCount - 1, viewerFollows), viewer)));
+        viewer.setFollowingCount(viewer.getFollowing().size());
+        for (User user : users) {
+            for (String followedId : user.getFollowing()) {
+                users.get(Integer.parseInt(followedId.substring(1))).getFollowers().add(user.getId());
+            }
+        }
+        users.forEach(user -> user.setFollowerCount(user.getFollowers().size()));
+
+        for (int i = 0; i < postCount; i++) {
+            // Popular creators post more, so owners are skewed towards the low ids
+            User owner = users.get(skewed(random, userCount));
+            Post post = new Post();
+            post.setId(String.format("p%08d", i));
+            post.setUserId(owner.getId());
+            post.setUserName(owner.getName());
+            // Set so the controllers' backfill-on-read branch never writes during a measurement
+            post.setUserPicture(owner.getProfilePicture());
+            post.setTitle(DISHES[random.nextInt(DISHES.length)] + " #" + i);
+            post.setDescription("A weeknight take on a classic");
+            post.setLikes(skewed(random, 5000));
+            post.setComments(skewed(random, 500));
+            post.setCreatedAt(now.minusMinutes(random.nextInt(90 * 24 * 60)));
+            post.setUpdatedAt(post.getCreatedAt());
+            posts.add(post);
+        }
+    }
+
+    private Set<String> follows(Random random, int count, User self) {
+        Set<String> ids = new LinkedHashSet<>();
+        while (ids.size() < count) {
+            // Half towards popular creators, half uniform so large follow counts still fill up quickly
+            int index = random.nextBoolean() ? skewed(random, users.size()) : random.nextInt(users.size());
+            User candidate = users.get(index);
+            if (candidate != self) {
+                ids.add(candidate.getId());
+            }
+        }
+        return ids;
+    }
+
+    // Roughly power-law distributed in [0, bound): most values small, a long tail of large ones
+    private static int skewed(Random random, int bound) {
+        return (int) (bound * Math.pow(random.nextDouble(), 3));
+    }
+
+    private static String name(Random random) {
+        String first = NAME_PARTS[random.nextInt(NAME_PARTS.length)];
+        return Character.toUpperCase(first.charAt(0)) + first.substring(1)
+                + NAME_PARTS[random.nextInt(NAME_PARTS.length)] + NAME_PARTS[random.nextInt(NAME_PARTS.length)];
+    }
+}
@@ -0,0 +1,58 @@
+package com.skillsync.cooking_edition.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import com.skillsync.cooking_edition.controller.UserController;
+
+// The case-insensitive name filter and per-match follow lookup in UserController.searchUsers
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class UserSearchBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int users;
+
+    // A common fragment matching many names, a rarer one, and one matching nobody
+    @Param({ "an", "kolu", "zzz" })
+    public String query;
+
+    private UserController controller;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticData data = new SyntheticData(users, 0, Math.min(users - 1, 200), 42L);
+        controller = new UserController();
+        BenchmarkSupport.inject(controller, "userRepository", BenchmarkSupport.userRepository(data.users));
+        BenchmarkSupport.signIn(data.viewer);
+        BenchmarkSupport.requireSuccess("searchUsers", searchUsers());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkSupport.signOut();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> searchUsers() {
+        return controller.searchUsers(query);
+    }
+}
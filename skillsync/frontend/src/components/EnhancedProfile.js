@@ -7,6 +7,7 @@ const EnhancedProfile = () => {
   const { userId } = useParams();
   const [profile, setProfile] = useState(null);
   const [posts, setPosts] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [activeTab, setActiveTab] = useState('posts');
   const [isEditing, setIsEditing] = useState(false);
   const [coverPhoto, setCoverPhoto] = useState(null);
@@ -25,7 +26,8 @@ const EnhancedProfile = () => {
     const fetchPosts = async () => {
       try {
         const response = await axios.get(`/api/posts/user/${userId}`);
-        setPosts(response.data);
+        setPosts(response.data.posts || []);
+        setNextCursor(response.data.nextCursor || null);
       } catch (error) {
         console.error('Error fetching posts:', error);
       }
@@ -35,6 +37,17 @@ const EnhancedProfile = () => {
     fetchPosts();
   }, [userId]);
 
+  const fetchMorePosts = async () => {
+    if (!nextCursor) return;
+    try {
+      const response = await axios.get(`/api/posts/user/${userId}`, { params: { cursor: nextCursor } });
+      setPosts(prev => [...prev, ...(response.data.posts || [])]);
+      setNextCursor(response.data.nextCursor || null);
+    } catch (error) {
+      console.error('Error fetching more posts:', error);
+    }
+  };
+
   const handleCoverPhotoChange = async (e) => {
     const file = e.target.files[0];
     if (file) {
@@ -131,7 +144,7 @@ const EnhancedProfile = () => {
           {/* Stats Section */}
           <div className="flex space-x-8 border-t border-b py-4 my-4">
             <div className="text-center">
-              <div className="text-2xl font-bold">{posts.length}</div>
+              <div className="text-2xl font-bold">{profile.postCount ?? posts.length}</div>
               <div className="text-gray-600">Posts</div>
             </div>
             <div className="text-center">
@@ -191,6 +204,16 @@ const EnhancedProfile = () => {
                 ))}
               </div>
             )}
+            {activeTab === 'posts' && nextCursor && (
+              <div className="flex justify-center mt-6">
+                <button
+                  onClick={fetchMorePosts}
+                  className="px-4 py-2 border border-blue-500 text-blue-500 rounded hover:bg-blue-50"
+                >
+                  Load more
+                </button>
+              </div>
+            )}
           </div>
         </div>
       </div>
@@ -11,6 +11,8 @@ const Notification = ({ notification, onMarkAsRead }) => {
         return 'comment';
       case 'FOLLOW':
         return 'person_add';
+      case 'MILESTONE_DUE':
+        return 'event';
       default:
         return 'notifications';
     }
@@ -212,6 +212,9 @@ const NotificationList = () => {
           // For likes, just navigate to the post
           navigate(`/posts/${notification.relatedPostId}`);
         }
+      } else if (notification.type === 'MILESTONE_DUE' && notification.relatedPlanId) {
+        setShowNotifications(false);
+        navigate(`/learning-plans/${notification.relatedPlanId}`);
       }
     } catch (error) {
       console.error('Error handling notification click:', error);
@@ -39,6 +39,8 @@ const MyProfile = () => {
   const { user } = useAuth();
   const navigate = useNavigate();
   const [posts, setPosts] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
   const [profileData, setProfileData] = useState({
@@ -96,7 +98,8 @@ const MyProfile = () => {
     try {
       setLoading(true);
       const response = await axios.get('/api/posts/my', { withCredentials: true });
-      setPosts(response.data);
+      setPosts(response.data.posts || []);
+      setNextCursor(response.data.nextCursor || null);
       setError(null);
     } catch (error) {
       console.error('Error fetching user posts:', error);
@@ -106,6 +109,24 @@ const MyProfile = () => {
     }
   };
 
+  const fetchMorePosts = async () => {
+    if (!nextCursor) return;
+    try {
+      setLoadingMore(true);
+      const response = await axios.get('/api/posts/my', {
+        params: { cursor: nextCursor },
+        withCredentials: true
+      });
+      setPosts(prev => [...prev, ...(response.data.posts || [])]);
+      setNextCursor(response.data.nextCursor || null);
+    } catch (error) {
+      console.error('Error fetching more posts:', error);
+      setError('Failed to load more posts. Please try again later.');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const fetchFollowers = async () => {
     try {
       const response = await axios.get('/api/users/followers');
@@ -421,7 +442,7 @@ const MyProfile = () => {
               }}>
                 <Box sx={{ textAlign: 'center' }}>
                   <Typography variant="h5" color="primary.main" sx={{ fontWeight: 'bold' }}>
-                    {posts.length}
+                    {profileData.postCount ?? posts.length}
                   </Typography>
                   <Typography variant="body2" color="text.secondary">Posts</Typography>
                 </Box>
@@ -653,9 +674,11 @@ const MyProfile = () => {
                             />
                           ))}
                         </Box>
-                        <Typography variant="caption" color="text.secondary">
-                          Posted on {new Date(post.createdAt).toLocaleDateString()}
-                        </Typography>
+                        {post.createdAt && (
+                          <Typography variant="caption" color="text.secondary">
+                            Posted on {new Date(post.createdAt).toLocaleDateString()}
+                          </Typography>
+                        )}
                       </CardContent>
                       <CardActions sx={{ 
                         justifyContent: 'flex-end', 
@@ -688,6 +711,13 @@ const MyProfile = () => {
                 ))}
               </Grid>
             )}
+            {nextCursor && (
+              <Box sx={{ display: 'flex', justifyContent: 'center', mt: 3 }}>
+                <Button variant="outlined" onClick={fetchMorePosts} disabled={loadingMore}>
+                  {loadingMore ? <CircularProgress size={20} /> : 'Load more'}
+                </Button>
+              </Box>
+            )}
           </Grid>
         </Grid>
       </Container>
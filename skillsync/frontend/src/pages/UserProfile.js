@@ -31,6 +31,8 @@ const UserProfile = () => {
   
   const [profile, setProfile] = useState(null);
   const [posts, setPosts] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
   const [isFollowing, setIsFollowing] = useState(false);
@@ -59,9 +61,11 @@ const UserProfile = () => {
       const response = await axios.get(`/api/posts/user/${userId}`);
       if (response.data.message) {
         setPosts([]);
+        setNextCursor(null);
         setError(response.data.message);
       } else {
         setPosts(response.data.posts || []);
+        setNextCursor(response.data.nextCursor || null);
         setError(null);
       }
     } catch (error) {
@@ -72,6 +76,21 @@ const UserProfile = () => {
     }
   }, [userId]);
 
+  const fetchMorePosts = async () => {
+    if (!nextCursor) return;
+    try {
+      setLoadingMore(true);
+      const response = await axios.get(`/api/posts/user/${userId}`, { params: { cursor: nextCursor } });
+      setPosts(prev => [...prev, ...(response.data.posts || [])]);
+      setNextCursor(response.data.nextCursor || null);
+    } catch (error) {
+      console.error('Error fetching more posts:', error);
+      setError('Failed to load more posts. Please try again later.');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const checkFollowStatus = useCallback(async () => {
     if (!user) return;
     try {
@@ -197,7 +216,7 @@ const UserProfile = () => {
             <Grid container spacing={2} justifyContent="center">
               <Grid item>
                 <Typography variant="subtitle2">Posts</Typography>
-                <Typography variant="h6">{posts.length}</Typography>
+                <Typography variant="h6">{profile.postCount ?? posts.length}</Typography>
               </Grid>
               <Grid item>
                 <Typography variant="subtitle2">Followers</Typography>
@@ -276,13 +295,22 @@ const UserProfile = () => {
               <Typography variant="body2" color="text.secondary" paragraph>
                 {post.description}
               </Typography>
-              <Typography variant="caption" color="text.secondary">
-                Posted {formatDistanceToNow(new Date(post.createdAt), { addSuffix: true })}
-              </Typography>
+              {post.createdAt && (
+                <Typography variant="caption" color="text.secondary">
+                  Posted {formatDistanceToNow(new Date(post.createdAt), { addSuffix: true })}
+                </Typography>
+              )}
             </CardContent>
           </Card>
         </Grid>
       ))}
+      {nextCursor && (
+        <Grid item xs={12} sx={{ display: 'flex', justifyContent: 'center' }}>
+          <Button variant="outlined" onClick={fetchMorePosts} disabled={loadingMore}>
+            {loadingMore ? 'Loading...' : 'Load more'}
+          </Button>
+        </Grid>
+      )}
     </Grid>
 )}
         </Grid>
@@ -76,10 +76,58 @@ const LearningPlanDetail = () => {
     }
   };
 
-  const handleUpdateProgress = async () => {
+  // Progress changes are sent as a PATCH of just the changed entries, against the revision last seen.
+  // The response is a summary, so the rest of the change is applied to the local copy.
+  const saveProgress = async (delta) => {
     try {
-      const response = await axios.put(`/api/learning-plans/${id}/progress`, updateData);
-      setPlan(response.data);
+      const response = await axios.patch(`/api/learning-plans/${id}/progress`, {
+        revision: plan.revision || 0,
+        ...delta,
+      });
+      const summary = response.data;
+      setPlan(prev => ({
+        ...prev,
+        revision: summary.revision,
+        progress: summary.progress,
+        completedItems: summary.completedItems || prev.completedItems,
+        subjects: prev.subjects.map((subject, index) =>
+          delta.subjectStatuses && delta.subjectStatuses[index] !== undefined
+            ? { ...subject, status: delta.subjectStatuses[index] }
+            : subject),
+        milestones: prev.milestones.map((milestone, index) =>
+          delta.milestoneCompletions && delta.milestoneCompletions[index] !== undefined
+            ? { ...milestone, completed: delta.milestoneCompletions[index] }
+            : milestone),
+      }));
+      setError('');
+      return true;
+    } catch (error) {
+      if (error.response?.status === 409) {
+        // Changed elsewhere since it was loaded
+        await fetchPlan();
+        setError('This plan was updated elsewhere and has been reloaded. Please apply your change again.');
+      } else {
+        console.error('Error updating progress:', error);
+        setError('Failed to update progress. Please try again later.');
+      }
+      return false;
+    }
+  };
+
+  const handleUpdateProgress = async () => {
+    const delta = {};
+    const status = updateData.subjectStatuses[selectedSubjectIndex];
+    if (status && status !== plan.subjects[selectedSubjectIndex].status) {
+      delta.subjectStatuses = { [selectedSubjectIndex]: status };
+    }
+    const savedItems = plan.completedItems || {};
+    const changedItems = Object.entries(updateData.completedItems)
+      .filter(([key, completed]) => !!completed !== !!savedItems[key]);
+    if (changedItems.length > 0) {
+      delta.completedItems = Object.fromEntries(changedItems.map(([key, completed]) => [key, !!completed]));
+    }
+
+    if (Object.keys(delta).length === 0 || await saveProgress(delta)) {
       setOpenDialog(false);
       setSelectedSubject(null);
       setUpdateData({
@@ -87,10 +135,6 @@ const LearningPlanDetail = () => {
         subjectStatuses: {},
         milestoneCompletions: {},
       });
-      setError('');
-    } catch (error) {
-      console.error('Error updating progress:', error);
-      setError('Failed to update progress. Please try again later.');
     }
   };
 
@@ -99,8 +143,8 @@ const LearningPlanDetail = () => {
     setSelectedSubjectIndex(index);
     setUpdateData({
       completedItems: { ...plan.completedItems },
-      subjectStatuses: { ...plan.subjectStatuses },
-      milestoneCompletions: { ...plan.milestoneCompletions },
+      subjectStatuses: { [index]: subject.status },
+      milestoneCompletions: {},
     });
     setOpenDialog(true);
   };
@@ -115,14 +159,8 @@ const LearningPlanDetail = () => {
     }));
   };
 
-  const handleMilestoneToggle = (milestoneId) => {
-    setUpdateData(prev => ({
-      ...prev,
-      milestoneCompletions: {
-        ...prev.milestoneCompletions,
-        [milestoneId]: !prev.milestoneCompletions[milestoneId],
-      },
-    }));
+  const handleMilestoneToggle = (index) => {
+    saveProgress({ milestoneCompletions: { [index]: !plan.milestones[index].completed } });
   };
 
   // Calculate progress based only on completed subjects
@@ -157,8 +195,14 @@ const LearningPlanDetail = () => {
       setOpenEditDialog(false);
       setError('');
     } catch (error) {
-      console.error('Error updating learning plan:', error);
-      setError('Failed to update learning plan. Please try again later.');
+      if (error.response?.status === 409) {
+        // Written by someone else while it was being saved
+        await fetchPlan();
+        setError('This plan was updated elsewhere while saving. Please save your changes again.');
+      } else {
+        console.error('Error updating learning plan:', error);
+        setError('Failed to update learning plan. Please try again later.');
+      }
     }
   };
 
@@ -325,7 +369,7 @@ const LearningPlanDetail = () => {
                     <Checkbox
                       edge="start"
                       checked={milestone.completed}
-                      onChange={() => handleMilestoneToggle(milestone.id)}
+                      onChange={() => handleMilestoneToggle(index)}
                     />
                   </ListItemIcon>
                   <ListItemText
@@ -34,6 +34,8 @@ const LearningPlans = () => {
   const { user } = useAuth();
   const navigate = useNavigate();
   const [plans, setPlans] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [templates, setTemplates] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
@@ -55,7 +57,8 @@ const LearningPlans = () => {
     try {
       setLoading(true);
       const response = await axios.get(`/api/learning-plans/user/${user.id}`);
-      setPlans(response.data);
+      setPlans(response.data.plans || []);
+      setNextCursor(response.data.nextCursor || null);
       setError('');
     } catch (error) {
       console.error('Error fetching learning plans:', error);
@@ -65,6 +68,23 @@ const LearningPlans = () => {
     }
   };
 
+  const fetchMorePlans = async () => {
+    if (!nextCursor) return;
+    try {
+      setLoadingMore(true);
+      const response = await axios.get(`/api/learning-plans/user/${user.id}`, {
+        params: { cursor: nextCursor }
+      });
+      setPlans(prev => [...prev, ...(response.data.plans || [])]);
+      setNextCursor(response.data.nextCursor || null);
+    } catch (error) {
+      console.error('Error fetching more learning plans:', error);
+      setError('Failed to load more learning plans. Please try again later.');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const fetchTemplates = async () => {
     try {
       console.log('Fetching templates - starting request...');
@@ -148,34 +168,24 @@ const LearningPlans = () => {
         return;
       }
       
-      // Convert template subjects to learning plan subjects
-      const subjects = template.subjects.map(subject => ({
-        name: subject.name,
-        description: subject.description,
-        materials: subject.materials,
-        status: 'NOT_STARTED'
-      }));
-      
       // Create milestones based on subjects
-      const milestones = subjects.map((subject, index) => ({
+      const milestones = template.subjects.map(subject => ({
         title: `Complete ${subject.name}`,
         description: `Master the skills in ${subject.name}`,
         dueDate: new Date(newPlan.dueDate).toISOString().split('T')[0],
         completed: false,
         type: 'SKILL_MASTERY'
       }));
-      
-      const planData = {
+
+      // The server fills in the subjects from the template, so only the overrides are sent
+      const overrides = {
         ...newPlan,
         userId: user.id,
-        subjects: subjects,
-        milestones: milestones,
-        progress: 'NOT_STARTED',
-        completedItems: {}
+        milestones: milestones
       };
-      
-      console.log('Creating plan with data:', planData);
-      await axios.post('/api/learning-plans', planData);
+
+      console.log('Creating plan from template with overrides:', overrides);
+      await axios.post(`/api/learning-plans/from-template/${template.id}`, overrides);
       setOpenDialog(false);
       fetchPlans();
       setError('');
@@ -327,6 +337,14 @@ const LearningPlans = () => {
         </Grid>
       )}
 
+      {!loading && nextCursor && (
+        <Box sx={{ display: 'flex', justifyContent: 'center', mt: 3 }}>
+          <Button variant="outlined" onClick={fetchMorePlans} disabled={loadingMore}>
+            {loadingMore ? <CircularProgress size={20} /> : 'Load more'}
+          </Button>
+        </Box>
+      )}
+
       <Dialog open={openDialog} onClose={() => setOpenDialog(false)} maxWidth="sm" fullWidth>
         <DialogTitle>Create New Learning Plan</DialogTitle>
         <DialogContent>
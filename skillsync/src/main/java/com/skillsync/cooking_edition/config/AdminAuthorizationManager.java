@@ -0,0 +1,36 @@
+package com.skillsync.cooking_edition.config;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import com.skillsync.cooking_edition.repository.UserRepository;
+
+// Grants admin endpoints only to signed-in users whose stored role is ADMIN; OAuth2 logins carry no roles of their own
+@Component
+public class AdminAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    public static final String ADMIN_ROLE = "ADMIN";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        Authentication auth = authentication.get();
+        if (auth == null || !auth.isAuthenticated() || !(auth.getPrincipal() instanceof OAuth2User)) {
+            return new AuthorizationDecision(false);
+        }
+        String userId = ((OAuth2User) auth.getPrincipal()).getName();
+        boolean admin = userRepository.findById(userId)
+                .map(user -> ADMIN_ROLE.equals(user.getRole()))
+                .orElse(false);
+        return new AuthorizationDecision(admin);
+    }
+}
@@ -0,0 +1,63 @@
+package com.skillsync.cooking_edition.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MediaConfig {
+
+    @Value("${media.processing.threads:2}")
+    private int processingThreads;
+
+    @Value("${media.processing.queue-capacity:500}")
+    private int processingQueueCapacity;
+
+    @Value("${media.ingest.threads:4}")
+    private int ingestThreads;
+
+    @Value("${media.ingest.queue-capacity:64}")
+    private int ingestQueueCapacity;
+
+    // Bounded pool for CPU-heavy image work so uploads never run it on request threads;
+    // when the queue is full new work is rejected instead of piling up in memory
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService imageProcessingExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                processingThreads,
+                processingThreads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(processingQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-processing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Hashes and writes the files of one upload request in parallel. When saturated new uploads are
+    // rejected (503) rather than run on request threads, which would tie up the servlet pool.
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService mediaIngestExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                ingestThreads,
+                ingestThreads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(ingestQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "media-ingest-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
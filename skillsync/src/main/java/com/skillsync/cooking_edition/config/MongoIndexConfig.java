@@ -0,0 +1,50 @@
+package com.skillsync.cooking_edition.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+
+import com.skillsync.cooking_edition.service.StartupWarmup;
+
+@Configuration
+public class MongoIndexConfig implements StartupWarmup {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexConfig.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public String getName() {
+        return "mongo-indexes";
+    }
+
+    // Creates the indexes declared on @Document classes in the background once the app is up, instead
+    // of enabling auto-index-creation, so an unreachable database cannot block context startup
+    @Override
+    public void warmUp() {
+        MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext =
+                mongoTemplate.getConverter().getMappingContext();
+        IndexResolver resolver = IndexResolver.create(mappingContext);
+
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class)) {
+                continue;
+            }
+            try {
+                IndexOperations indexOps = mongoTemplate.indexOps(entity.getType());
+                resolver.resolveIndexFor(entity.getType()).forEach(indexOps::ensureIndex);
+            } catch (Exception e) {
+                logger.error("Could not ensure indexes for {}: {}", entity.getCollection(), e.getMessage());
+            }
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.skillsync.cooking_edition.config;
 
 import java.util.Arrays;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
@@ -13,15 +15,23 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 @Configuration
 public class SecurityConfig {
 
+    @Autowired
+    private AdminAuthorizationManager adminAuthorization;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
+                // Admin rules come first so the public /api/posts/** rule can't shadow them
+                .requestMatchers("/api/admin/jobs/**").access(adminAuthorization)
+                .requestMatchers("/api/admin/media/**").access(adminAuthorization)
+                .requestMatchers("/api/admin/startup/**").access(adminAuthorization)
+                .requestMatchers("/api/posts/update-profile-pictures").access(adminAuthorization)
                 .requestMatchers("/", "/login", "/error", "/css/**", "/js/**", "/images/**", 
                                "/index.html", "/oauth2/**", "/login/oauth2/**", "/api/auth/**",
-                               "/api/posts/**").permitAll()
+                               "/api/health/**", "/api/posts/**").permitAll()
                 .anyRequest().authenticated())
             .oauth2Login(oauth2 -> oauth2
                 .defaultSuccessUrl("http://localhost:3000/dashboard", true))
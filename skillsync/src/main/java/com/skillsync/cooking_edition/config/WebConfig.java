@@ -1,32 +1,20 @@
 package com.skillsync.cooking_edition.config;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-import java.nio.file.Paths;
-import org.springframework.web.servlet.resource.PathResourceResolver;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
     
-    @Value("${upload.path:uploads}")
-    private String uploadPath;
-    
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // Handle static resources
         registry.addResourceHandler("/static/**")
                 .addResourceLocations("classpath:/static/");
-        
-        // Handle uploaded files
-        String absolutePath = Paths.get(uploadPath).toAbsolutePath().toString();
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:" + absolutePath + "/")
-                .setCachePeriod(0)
-                .resourceChain(true)
-                .addResolver(new PathResourceResolver());
+
+        // Uploaded files are served by MediaController
     }
     
     @Override
@@ -0,0 +1,132 @@
+package com.skillsync.cooking_edition.controller;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.web.bind.annotation.*;
+
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.repository.PostRepository;
+import com.skillsync.cooking_edition.model.TemplateStats;
+import com.skillsync.cooking_edition.service.EngagementAnalyticsService;
+import com.skillsync.cooking_edition.service.TemplateAnalyticsService;
+import com.skillsync.cooking_edition.service.TemplateCatalog;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
+
+    @Autowired
+    private EngagementAnalyticsService analyticsService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TemplateAnalyticsService templateAnalyticsService;
+
+    @Autowired
+    private TemplateCatalog templateCatalog;
+
+    @GetMapping("/me")
+    public ResponseEntity<?> getMyAnalytics(
+            @AuthenticationPrincipal OAuth2User principal,
+            @RequestParam(defaultValue = "DAILY") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "User not authenticated"));
+        }
+        return series(EngagementAnalyticsService.SCOPE_AUTHOR, principal.getName(), granularity, from, to);
+    }
+
+    @GetMapping("/posts/{postId}")
+    public ResponseEntity<?> getPostAnalytics(
+            @PathVariable String postId,
+            @AuthenticationPrincipal OAuth2User principal,
+            @RequestParam(defaultValue = "DAILY") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "User not authenticated"));
+        }
+        Post post = postRepository.findById(postId).orElse(null);
+        if (post == null) {
+            return ResponseEntity.status(404).body(Map.of("error", "Post not found"));
+        }
+        if (!principal.getName().equals(post.getUserId())) {
+            return ResponseEntity.status(403).body(Map.of("error", "Not authorized to view analytics for this post"));
+        }
+        return series(EngagementAnalyticsService.SCOPE_POST, postId, granularity, from, to);
+    }
+
+    @GetMapping("/templates")
+    public ResponseEntity<?> getTemplateAnalytics() {
+        try {
+            List<Map<String, Object>> reports = new ArrayList<>();
+            for (TemplateStats stats : templateAnalyticsService.getAllStats()) {
+                reports.add(templateAnalyticsService.report(stats));
+            }
+            return ResponseEntity.ok(reports);
+        } catch (Exception e) {
+            logger.error("Error loading template analytics", e);
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to load template analytics"));
+        }
+    }
+
+    @GetMapping("/templates/{templateId}")
+    public ResponseEntity<?> getTemplateAnalytics(@PathVariable String templateId) {
+        if (templateCatalog.current().get(templateId) == null) {
+            return ResponseEntity.status(404).body(Map.of("error", "Template not found"));
+        }
+        try {
+            return ResponseEntity.ok(templateAnalyticsService.report(templateAnalyticsService.getStats(templateId)));
+        } catch (Exception e) {
+            logger.error("Error loading analytics for template {}", templateId, e);
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to load template analytics"));
+        }
+    }
+
+    private ResponseEntity<?> series(String scope, String subjectId, String granularity,
+                                     LocalDateTime from, LocalDateTime to) {
+        String normalizedGranularity = granularity.toUpperCase();
+        if (!EngagementAnalyticsService.HOURLY.equals(normalizedGranularity)
+                && !EngagementAnalyticsService.DAILY.equals(normalizedGranularity)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "granularity must be HOURLY or DAILY"));
+        }
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minus(EngagementAnalyticsService.defaultRange(normalizedGranularity));
+        if (!start.isBefore(end)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "from must be before to"));
+        }
+
+        try {
+            List<Map<String, Object>> points = analyticsService.getSeries(scope, subjectId, normalizedGranularity, start, end);
+            Map<String, Object> response = new HashMap<>();
+            response.put("scope", scope);
+            response.put("subjectId", subjectId);
+            response.put("granularity", normalizedGranularity);
+            response.put("from", start);
+            response.put("to", end);
+            response.put("series", points);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error loading analytics for {} {}", scope, subjectId, e);
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to load analytics"));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.skillsync.cooking_edition.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.skillsync.cooking_edition.model.BackfillJob;
+import com.skillsync.cooking_edition.service.BackfillJobService;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/jobs")
+public class BackfillJobController {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackfillJobController.class);
+
+    @Autowired
+    private BackfillJobService backfillJobService;
+
+    @GetMapping
+    public ResponseEntity<List<BackfillJob>> getJobs() {
+        return ResponseEntity.ok(backfillJobService.getJobs());
+    }
+
+    @GetMapping("/{name}")
+    public ResponseEntity<?> getJob(@PathVariable String name) {
+        return backfillJobService.getJob(name)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(404).body(Map.of("error", "Unknown backfill job: " + name)));
+    }
+
+    @PostMapping("/{name}/start")
+    public ResponseEntity<?> startJob(
+            @PathVariable String name,
+            @RequestParam(required = false) Integer batchSize,
+            @RequestParam(required = false) Integer rateLimit,
+            @RequestParam(defaultValue = "false") boolean restart) {
+        try {
+            BackfillJob job = backfillJobService.start(name, batchSize, rateLimit, restart);
+            logger.info("Started backfill job {}", name);
+            return ResponseEntity.accepted().body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error starting backfill job {}", name, e);
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to start job: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/{name}/pause")
+    public ResponseEntity<?> pauseJob(@PathVariable String name) {
+        try {
+            return ResponseEntity.ok(backfillJobService.pause(name));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error pausing backfill job {}", name, e);
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to pause job: " + e.getMessage()));
+        }
+    }
+}
@@ -6,18 +6,27 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.skillsync.cooking_edition.repository.PostRepository;
+import com.skillsync.cooking_edition.model.CreatorStats;
+import com.skillsync.cooking_edition.service.CreatorStatsService;
+import com.skillsync.cooking_edition.service.EngagementAnalyticsService;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
 @RestController
 public class DashboardController {
 
+    private static final Duration FOLLOWER_GROWTH_WINDOW = Duration.ofDays(30);
+
+    @Autowired
+    private CreatorStatsService creatorStatsService;
+
     @Autowired
-    private PostRepository postRepository;
+    private EngagementAnalyticsService engagementAnalyticsService;
 
     @GetMapping("/api/dashboard")
     public ResponseEntity<Map<String, Object>> dashboard() {
@@ -37,21 +46,36 @@ public class DashboardController {
             userInfo.put("id", userId);
             dashboardData.put("user", userInfo);
             
-            // Add statistics
-            Map<String, Object> statistics = new HashMap<>();
-            long postCount = postRepository.findByUserId(userId).size();
-            statistics.put("postCount", postCount);
-            
-            int totalLikes = postRepository.findByUserId(userId).stream()
-                .mapToInt(post -> post.getLikes())
-                .sum();
-            statistics.put("totalLikes", totalLikes);
-            
-            dashboardData.put("statistics", statistics);
+            // Add statistics from the pre-aggregated stats document
+            dashboardData.put("statistics", toStatistics(creatorStatsService.getStats(userId)));
             
             return ResponseEntity.ok(dashboardData);
         } else {
             return ResponseEntity.badRequest().body(Map.of("error", "User not authenticated"));
         }
     }
+
+    @PostMapping("/api/dashboard/stats/reconcile")
+    public ResponseEntity<Map<String, Object>> reconcileStats() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof OAuth2User) {
+            String userId = ((OAuth2User) authentication.getPrincipal()).getName();
+            return ResponseEntity.ok(toStatistics(creatorStatsService.reconcile(userId)));
+        } else {
+            return ResponseEntity.badRequest().body(Map.of("error", "User not authenticated"));
+        }
+    }
+
+    private Map<String, Object> toStatistics(CreatorStats stats) {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("postCount", stats.getPostCount());
+        statistics.put("totalLikes", stats.getTotalLikes());
+        statistics.put("totalComments", stats.getTotalComments());
+        statistics.put("followerCount", stats.getFollowerCount());
+        // Net change over the last 30 days, read from the follow events' daily buckets
+        statistics.put("followerGrowth", engagementAnalyticsService.getFollowerGrowth(stats.getId(), FOLLOWER_GROWTH_WINDOW));
+        statistics.put("followerGrowthDays", FOLLOWER_GROWTH_WINDOW.toDays());
+        statistics.put("updatedAt", stats.getUpdatedAt());
+        return statistics;
+    }
 } 
\ No newline at end of file
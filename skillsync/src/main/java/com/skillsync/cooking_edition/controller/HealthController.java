@@ -0,0 +1,34 @@
+package com.skillsync.cooking_edition.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// Unauthenticated probes for the load balancer / orchestrator; the detailed report stays at /api/admin/startup
+@RestController
+@RequestMapping("/api/health")
+public class HealthController {
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    // 503 while the critical startup warmups are still running
+    @GetMapping("/readiness")
+    public ResponseEntity<?> readiness() {
+        ReadinessState state = availability.getReadinessState();
+        return ResponseEntity.status(state == ReadinessState.ACCEPTING_TRAFFIC ? 200 : 503)
+                .body(Map.of("status", state.name()));
+    }
+
+    @GetMapping("/liveness")
+    public ResponseEntity<?> liveness() {
+        LivenessState state = availability.getLivenessState();
+        return ResponseEntity.status(state == LivenessState.CORRECT ? 200 : 503)
+                .body(Map.of("status", state.name()));
+    }
+}
@@ -1,8 +1,10 @@
 package com.skillsync.cooking_edition.controller;
 
+import com.skillsync.cooking_edition.event.EngagementEvent;
 import com.skillsync.cooking_edition.model.*;
 import com.skillsync.cooking_edition.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
@@ -34,6 +36,9 @@ public class InteractionController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @PostMapping("/posts/{postId}/likes")
     public ResponseEntity<?> toggleLike(
             @PathVariable String postId,
@@ -72,6 +77,7 @@ public class InteractionController {
                 Like like = new Like();
                 like.setPostId(postId);
                 like.setUserId(userId);
+                like.setCreatedAt(LocalDateTime.now());
                 likeRepository.save(like);
                 post.setLikes(post.getLikes() + 1);
 
@@ -93,6 +99,9 @@ public class InteractionController {
 
             // Save updated post
             postRepository.save(post);
+            eventPublisher.publishEvent(existingLike == null
+                    ? EngagementEvent.likeAdded(post, userId)
+                    : EngagementEvent.likeRemoved(post, existingLike));
             logger.info("Successfully saved post with updated like count: {}", post.getLikes());
             
             // Return success response with updated like count
@@ -143,6 +152,7 @@ public class InteractionController {
         // Update post comment count
         post.setComments(post.getComments() + 1);
         postRepository.save(post);
+            eventPublisher.publishEvent(EngagementEvent.commentAdded(post, userId));
             logger.info("Updated post comment count: {}", post.getComments());
 
         // Create notification
@@ -290,6 +300,7 @@ public class InteractionController {
         postRepository.save(post);
 
         commentRepository.deleteById(commentId);
+        eventPublisher.publishEvent(EngagementEvent.commentRemoved(post, comment));
         return ResponseEntity.ok().build();
     }
 } 
\ No newline at end of file
@@ -1,14 +1,32 @@
 package com.skillsync.cooking_edition.controller;
 
+import com.skillsync.cooking_edition.event.LearningPlanEvent;
 import com.skillsync.cooking_edition.model.LearningPlan;
 import com.skillsync.cooking_edition.repository.LearningPlanRepository;
+import com.skillsync.cooking_edition.service.CursorPage;
+import com.skillsync.cooking_edition.service.LearningLeaderboardService;
+import com.skillsync.cooking_edition.service.LearningPlanProgressService;
+import com.skillsync.cooking_edition.service.LearningPlanQueryService;
+import com.skillsync.cooking_edition.service.MilestoneReminderService;
+import com.skillsync.cooking_edition.service.ProgressEvent;
+import com.skillsync.cooking_edition.service.ProgressSyncResult;
+import com.skillsync.cooking_edition.service.TemplatePlanService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/learning-plans")
@@ -17,23 +35,104 @@ public class LearningPlanController {
     @Autowired
     private LearningPlanRepository planRepository;
 
+    @Autowired
+    private LearningPlanProgressService progressService;
+
+    @Autowired
+    private TemplatePlanService templatePlanService;
+
+    @Autowired
+    private LearningPlanQueryService planQueryService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MilestoneReminderService milestoneReminderService;
+
+    @Autowired
+    private LearningLeaderboardService leaderboardService;
+
+    // One page of plans as {plans, nextCursor}; view=summary (the default here) leaves out subjects and progress detail
     @GetMapping
-    public List<LearningPlan> getAllPlans() {
-        return planRepository.findAll();
+    public ResponseEntity<?> getAllPlans(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String progress,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "summary") String view) {
+        return listPlans(userId, progress, dueFrom, dueTo, cursor, limit, view);
     }
 
     @GetMapping("/user/{userId}")
-    public List<LearningPlan> getPlansByUser(@PathVariable String userId) {
-        return planRepository.findByUserId(userId);
+    public ResponseEntity<?> getPlansByUser(
+            @PathVariable String userId,
+            @RequestParam(required = false) String progress,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "full") String view) {
+        return listPlans(userId, progress, dueFrom, dueTo, cursor, limit, view);
+    }
+
+    private ResponseEntity<?> listPlans(String userId, String progress, LocalDate dueFrom, LocalDate dueTo,
+                                        String cursor, Integer limit, String view) {
+        boolean summary = "summary".equalsIgnoreCase(view);
+        if (!summary && !"full".equalsIgnoreCase(view)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "view must be summary or full"));
+        }
+        try {
+            CursorPage<LearningPlan> page = planQueryService.findPlans(userId, progress, dueFrom, dueTo, cursor, limit, summary);
+            Map<String, Object> response = new HashMap<>();
+            response.put("plans", summary
+                    ? templatePlanService.resolveSummaries(page.getItems())
+                    : templatePlanService.resolveAll(page.getItems()));
+            response.put("nextCursor", page.getNextCursor());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // This week's most completed subjects; offset is a 0-based rank
+    @GetMapping("/leaderboard")
+    public ResponseEntity<?> getLeaderboard(
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(leaderboardService.leaderboard(offset, limit));
+    }
+
+    @GetMapping("/leaderboard/me")
+    public ResponseEntity<?> getMyStanding(@AuthenticationPrincipal OAuth2User principal) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "User not authenticated"));
+        }
+        return ResponseEntity.ok(leaderboardService.standing(principal.getName()));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<LearningPlan> getPlanById(@PathVariable String id) {
         return planRepository.findById(id)
-                .map(ResponseEntity::ok)
+                .map(plan -> ResponseEntity.ok(templatePlanService.resolve(plan)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Body is optional and holds the user's overrides: {userId, title, startDate, subjects: [{name, materials}], ...}
+    @PostMapping("/from-template/{templateId}")
+    public ResponseEntity<?> instantiateTemplate(
+            @PathVariable String templateId,
+            @RequestBody(required = false) LearningPlan overrides) {
+        try {
+            String userId = overrides != null ? overrides.getUserId() : null;
+            return ResponseEntity.ok(templatePlanService.instantiate(templateId, userId, overrides));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PostMapping
     public LearningPlan createPlan(@RequestBody LearningPlan plan) {
         plan.setProgress("NOT_STARTED");
@@ -48,30 +147,90 @@ public class LearningPlanController {
             }
         }
         
-        return planRepository.save(plan);
+        LearningPlan saved = planRepository.save(plan);
+        eventPublisher.publishEvent(LearningPlanEvent.created(saved));
+        milestoneReminderService.planChanged(saved);
+        return saved;
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<LearningPlan> updatePlan(
+    public ResponseEntity<?> updatePlan(
             @PathVariable String id,
             @RequestBody LearningPlan plan) {
-        if (!planRepository.existsById(id)) {
+        LearningPlan existing = planRepository.findById(id).orElse(null);
+        if (existing == null) {
             return ResponseEntity.notFound().build();
         }
-        plan.setId(id);
-        return ResponseEntity.ok(planRepository.save(plan));
+        try {
+            plan.setId(id);
+            plan.setRevision(existing.getRevision() + 1);
+            plan.setProgressClock(existing.getProgressClock());
+            plan.setTemplateId(existing.getTemplateId());
+            plan.setCompletedAt(LearningPlanProgressService.completedAt(plan.getProgress(), existing.getCompletedAt()));
+            carryOverReminders(existing, plan);
+            templatePlanService.sparsify(plan);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        LearningPlan saved = progressService.replace(plan, existing.getRevision());
+        if (saved == null) {
+            return modifiedMeanwhile();
+        }
+        eventPublisher.publishEvent(LearningPlanEvent.changed(existing, saved));
+        milestoneReminderService.planChanged(saved);
+        return ResponseEntity.ok(templatePlanService.resolve(saved));
+    }
+
+    // Whole-plan writes lost the race against another write to the same revision
+    private static ResponseEntity<?> modifiedMeanwhile() {
+        return ResponseEntity.status(409).body(Map.of("error", "Plan was modified meanwhile; reload it and try again"));
+    }
+    
+    // A milestone keeps its sent reminder only while its due date is unchanged
+    private static void carryOverReminders(LearningPlan existing, LearningPlan plan) {
+        if (plan.getMilestones() == null) {
+            return;
+        }
+        List<LearningPlan.Milestone> previous = existing.getMilestones() != null ? existing.getMilestones() : List.of();
+        for (int i = 0; i < plan.getMilestones().size(); i++) {
+            LearningPlan.Milestone milestone = plan.getMilestones().get(i);
+            if (milestone == null) {
+                continue;
+            }
+            LearningPlan.Milestone before = i < previous.size() ? previous.get(i) : null;
+            milestone.setReminderSentAt(before != null && Objects.equals(before.getDueDate(), milestone.getDueDate())
+                    ? before.getReminderSentAt() : null);
+        }
     }
     
     @PutMapping("/{id}/progress")
-    public ResponseEntity<LearningPlan> updateProgress(
+    public ResponseEntity<?> updateProgress(
             @PathVariable String id,
             @RequestBody Map<String, Object> progressData) {
         return planRepository.findById(id)
                 .map(plan -> {
+                    long readRevision = plan.getRevision();
+                    LearningPlanEvent.State before = LearningPlanEvent.State.of(plan);
+                    // Entries changed here get a server-time clock, so older offline events can't overwrite them
+                    long now = System.currentTimeMillis();
+                    Map<String, Long> clock = plan.getProgressClock() != null ? new HashMap<>(plan.getProgressClock()) : new HashMap<>();
+
                     // Update completed items
                     if (progressData.containsKey("completedItems")) {
                         @SuppressWarnings("unchecked")
                         Map<String, Boolean> completedItems = (Map<String, Boolean>) progressData.get("completedItems");
+                        Map<String, Boolean> previous = plan.getCompletedItems() != null ? plan.getCompletedItems() : Map.of();
+                        Set<String> keys = new HashSet<>(previous.keySet());
+                        if (completedItems != null) {
+                            keys.addAll(completedItems.keySet());
+                        }
+                        for (String key : keys) {
+                            boolean was = Boolean.TRUE.equals(previous.get(key));
+                            boolean is = completedItems != null && Boolean.TRUE.equals(completedItems.get(key));
+                            if (was != is) {
+                                clock.put(ProgressEvent.ITEM + ":" + key, now);
+                            }
+                        }
                         plan.setCompletedItems(completedItems);
                     }
                     
@@ -81,7 +240,11 @@ public class LearningPlanController {
                         Map<String, String> subjectStatuses = (Map<String, String>) progressData.get("subjectStatuses");
                         for (int i = 0; i < plan.getSubjects().size(); i++) {
                             if (subjectStatuses.containsKey(String.valueOf(i))) {
-                                plan.getSubjects().get(i).setStatus(subjectStatuses.get(String.valueOf(i)));
+                                String status = subjectStatuses.get(String.valueOf(i));
+                                if (!Objects.equals(status, plan.getSubjects().get(i).getStatus())) {
+                                    clock.put(ProgressEvent.SUBJECT + ":" + i, now);
+                                }
+                                plan.getSubjects().get(i).setStatus(status);
                             }
                         }
                     }
@@ -92,19 +255,99 @@ public class LearningPlanController {
                         Map<String, Boolean> milestoneCompletions = (Map<String, Boolean>) progressData.get("milestoneCompletions");
                         for (int i = 0; i < plan.getMilestones().size(); i++) {
                             if (milestoneCompletions.containsKey(String.valueOf(i))) {
-                                plan.getMilestones().get(i).setCompleted(milestoneCompletions.get(String.valueOf(i)));
+                                boolean completed = Boolean.TRUE.equals(milestoneCompletions.get(String.valueOf(i)));
+                                if (completed != plan.getMilestones().get(i).isCompleted()) {
+                                    clock.put(ProgressEvent.MILESTONE + ":" + i, now);
+                                }
+                                plan.getMilestones().get(i).setCompleted(completed);
                             }
                         }
                     }
+                    plan.setProgressClock(clock);
                     
                     // Calculate overall progress
                     updateOverallProgress(plan);
+                    plan.setCompletedAt(LearningPlanProgressService.completedAt(plan.getProgress(), plan.getCompletedAt()));
+                    plan.setRevision(readRevision + 1);
                     
-                    return ResponseEntity.ok(planRepository.save(plan));
+                    LearningPlan saved = progressService.replace(plan, readRevision);
+                    if (saved == null) {
+                        return modifiedMeanwhile();
+                    }
+                    eventPublisher.publishEvent(LearningPlanEvent.changed(before, saved));
+                    return ResponseEntity.ok(templatePlanService.resolve(saved));
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    // Checklist clicks: only the toggled paths are written. Body:
+    //   {revision, completedItems: {key: bool}, subjectStatuses: {"i": status}, milestoneCompletions: {"i": bool}}
+    // A stale revision gets 409 with the current one so the client can refetch and replay.
+    @PatchMapping("/{id}/progress")
+    public ResponseEntity<?> patchProgress(
+            @PathVariable String id,
+            @RequestBody Map<String, Object> delta) {
+        try {
+            Object revision = delta.get("revision");
+            if (!(revision instanceof Number)) {
+                return ResponseEntity.badRequest().body(Map.of("error", "revision is required"));
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Boolean> completedItems = (Map<String, Boolean>) delta.get("completedItems");
+            @SuppressWarnings("unchecked")
+            Map<String, String> subjectStatuses = (Map<String, String>) delta.get("subjectStatuses");
+            @SuppressWarnings("unchecked")
+            Map<String, Boolean> milestoneCompletions = (Map<String, Boolean>) delta.get("milestoneCompletions");
+
+            LearningPlan result = progressService.applyDelta(id, ((Number) revision).longValue(),
+                    completedItems, byIndex(subjectStatuses), byIndex(milestoneCompletions));
+            if (result == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException | ClassCastException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Offline replay: {events: [{planId, type: item|subject|milestone, key, value, timestamp}]}, in the order
+    // the client recorded them. Returns the merged state of every plan touched.
+    @PostMapping("/progress/sync")
+    public ResponseEntity<?> syncProgress(@RequestBody Map<String, Object> request) {
+        try {
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> rawEvents = (List<Map<String, Object>>) request.get("events");
+            if (rawEvents == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "events is required"));
+            }
+            List<ProgressEvent> events = new ArrayList<>();
+            for (Map<String, Object> raw : rawEvents) {
+                Object timestamp = raw.get("timestamp");
+                if (!(timestamp instanceof Number)) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "Every event needs a numeric timestamp"));
+                }
+                Object key = raw.get("key");
+                events.add(new ProgressEvent((String) raw.get("planId"), (String) raw.get("type"),
+                        key != null ? key.toString() : null, raw.get("value"), ((Number) timestamp).longValue()));
+            }
+            List<ProgressSyncResult> results = progressService.sync(events);
+            return ResponseEntity.ok(Map.of("results", results));
+        } catch (IllegalArgumentException | ClassCastException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private static <V> Map<Integer, V> byIndex(Map<String, V> values) {
+        if (values == null) {
+            return null;
+        }
+        Map<Integer, V> indexed = new HashMap<>();
+        values.forEach((key, value) -> indexed.put(Integer.valueOf(key), value));
+        return indexed;
+    }
+    
     private void updateOverallProgress(LearningPlan plan) {
         if (plan.getSubjects() == null || plan.getSubjects().isEmpty()) {
             plan.setProgress("NOT_STARTED");
@@ -133,10 +376,12 @@ public class LearningPlanController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletePlan(@PathVariable String id) {
-        if (!planRepository.existsById(id)) {
+        LearningPlan plan = planRepository.findById(id).orElse(null);
+        if (plan == null) {
             return ResponseEntity.notFound().build();
         }
         planRepository.deleteById(id);
+        eventPublisher.publishEvent(LearningPlanEvent.deleted(plan));
         return ResponseEntity.ok().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.skillsync.cooking_edition.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.skillsync.cooking_edition.service.MediaGarbageCollector;
+
+@RestController
+@RequestMapping("/api/admin/media")
+public class MediaAdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaAdminController.class);
+
+    @Autowired
+    private MediaGarbageCollector garbageCollector;
+
+    @GetMapping("/gc")
+    public ResponseEntity<?> getGcStatus() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("running", garbageCollector.isRunning());
+        response.put("lastReport", garbageCollector.getLastReport());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/gc")
+    public ResponseEntity<?> startGc(@RequestParam(defaultValue = "false") boolean dryRun) {
+        if (!garbageCollector.start(dryRun)) {
+            return ResponseEntity.status(409).body(Map.of("error", "Media garbage collection is already running"));
+        }
+        logger.info("Started media garbage collection (dryRun={})", dryRun);
+        return ResponseEntity.accepted().body(Map.of("message", "Media garbage collection started", "dryRun", dryRun));
+    }
+}
@@ -1,10 +1,6 @@
 package com.skillsync.cooking_edition.controller;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -13,13 +9,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -27,14 +23,20 @@ import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.skillsync.cooking_edition.event.EngagementEvent;
+import com.skillsync.cooking_edition.model.BackfillJob;
+import com.skillsync.cooking_edition.model.MediaInfo;
 import com.skillsync.cooking_edition.model.Post;
 import com.skillsync.cooking_edition.model.User;
 import com.skillsync.cooking_edition.repository.PostRepository;
 import com.skillsync.cooking_edition.repository.UserRepository;
-import javax.media.Manager;
-import javax.media.MediaLocator;
-import javax.media.Player;
-import javax.media.Time;
+import com.skillsync.cooking_edition.service.BackfillJobService;
+import com.skillsync.cooking_edition.service.CursorPage;
+import com.skillsync.cooking_edition.service.ImageVariantService;
+import com.skillsync.cooking_edition.service.MediaIngestService;
+import com.skillsync.cooking_edition.service.MediaStore;
+import com.skillsync.cooking_edition.service.PostProfilePictureBackfill;
+import com.skillsync.cooking_edition.service.PostQueryService;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -47,15 +49,32 @@ public class PostController {
     
     @Autowired
     private UserRepository userRepository;
-    
-    @Value("${upload.path:uploads}")
-    private String uploadPath;
+
+    @Autowired
+    private BackfillJobService backfillJobService;
+
+    @Autowired
+    private PostQueryService postQueryService;
+
+    @Autowired
+    private MediaStore mediaStore;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private MediaIngestService mediaIngestService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     private static final int MAX_IMAGES = 3;
-    private static final double MAX_VIDEO_DURATION_SECONDS = 300.0; // 5 minutes
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<?> getUserPosts(@PathVariable String userId) {
+    public ResponseEntity<?> getUserPosts(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             final String currentUserId = authentication != null && authentication.getPrincipal() instanceof OAuth2User
@@ -94,18 +113,13 @@ public class PostController {
                 }
             }
 
-            // Get user's posts and sort by creation date in descending order
-            List<Post> posts = postRepository.findByUserIdOrderByCreatedAtDesc(userId);
-            
-            // Ensure all posts have userPicture set
-            for (Post post : posts) {
-                if (post.getUserPicture() == null) {
-                    post.setUserPicture(targetUser.getProfilePicture());
-                    postRepository.save(post);
-                }
-            }
+            // Get one page of the user's posts, newest first
+            CursorPage<Post> page = postQueryService.findUserPosts(userId, cursor, limit);
+            fillMissingUserPictures(page.getItems(), targetUser);
             
-            return ResponseEntity.ok(Map.of("posts", posts));
+            return ResponseEntity.ok(toPostPage(page));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             logger.error("Error fetching user posts", e);
             return ResponseEntity.status(500).body(Map.of("error", "Failed to fetch user posts"));
@@ -191,7 +205,9 @@ public class PostController {
     }
 
     @GetMapping("/my")
-    public ResponseEntity<List<Post>> myPosts() {
+    public ResponseEntity<?> myPosts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.getPrincipal() instanceof OAuth2User) {
             OAuth2User oauth2User = (OAuth2User) authentication.getPrincipal();
@@ -202,24 +218,37 @@ public class PostController {
             User currentUser = userRepository.findById(userId).orElse(null);
             if (currentUser == null) {
                 logger.warn("User not found: {}", userId);
-                return ResponseEntity.ok(new ArrayList<>());
+                return ResponseEntity.ok(Map.of("posts", new ArrayList<>()));
             }
             
-            List<Post> posts = postRepository.findByUserIdOrderByCreatedAtDesc(userId);
-            
-            // Ensure all posts have userPicture set
-            for (Post post : posts) {
-                if (post.getUserPicture() == null) {
-                    post.setUserPicture(currentUser.getProfilePicture());
-                    postRepository.save(post);
-                }
+            try {
+                CursorPage<Post> page = postQueryService.findUserPosts(userId, cursor, limit);
+                fillMissingUserPictures(page.getItems(), currentUser);
+                
+                logger.info("Found {} posts for user {}", page.getItems().size(), userId);
+                return ResponseEntity.ok(toPostPage(page));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
             }
-            
-            logger.info("Found {} posts for user {}", posts.size(), userId);
-            return ResponseEntity.ok(posts);
         }
         logger.warn("User not authenticated when fetching my posts");
-        return ResponseEntity.ok(new ArrayList<>());
+        return ResponseEntity.ok(Map.of("posts", new ArrayList<>()));
+    }
+
+    // Fills the author picture for display only; the post-profile-pictures job persists it
+    private void fillMissingUserPictures(List<Post> posts, User author) {
+        for (Post post : posts) {
+            if (post.getUserPicture() == null) {
+                post.setUserPicture(author.getProfilePicture());
+            }
+        }
+    }
+
+    private Map<String, Object> toPostPage(CursorPage<Post> page) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("posts", page.getItems());
+        response.put("nextCursor", page.getNextCursor());
+        return response;
     }
 
     @PostMapping
@@ -248,6 +277,7 @@ public class PostController {
         logger.info("Creating post for user: {}", userId);
         
         List<String> mediaUrls = new ArrayList<>();
+        List<MediaInfo> mediaInfos = new ArrayList<>();
         
         // Handle file uploads if present
         if (media != null && !media.isEmpty()) {
@@ -259,27 +289,15 @@ public class PostController {
             }
 
             try {
-                // Create upload directory if it doesn't exist
-                Path uploadDir = Paths.get(uploadPath);
-                if (!Files.exists(uploadDir)) {
-                    Files.createDirectories(uploadDir);
+                // Files are stored by content hash, in parallel, and all-or-nothing
+                for (MediaInfo info : mediaIngestService.ingest(media)) {
+                    mediaUrls.add(info.getUrl());
+                    mediaInfos.add(info);
                 }
-                
-                for (MultipartFile file : media) {
-                    // Generate a unique filename
-                    String originalFilename = file.getOriginalFilename();
-                    String extension = "";
-                    if (originalFilename != null && originalFilename.lastIndexOf(".") != -1) {
-                        extension = originalFilename.substring(originalFilename.lastIndexOf("."));
-                    }
-                    String filename = UUID.randomUUID().toString() + extension;
-                    
-                    // Save the file
-                    Path filePath = uploadDir.resolve(filename);
-                    Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-                    
-                    // Add the media URL to the list
-                    mediaUrls.add("/uploads/" + filename);
+
+                if (exceedsVideoLimit(mediaInfos)) {
+                    mediaUrls.forEach(mediaStore::release);
+                    return ResponseEntity.badRequest().body("Video duration exceeds " + Post.MAX_VIDEO_DURATION_SECONDS + " seconds");
                 }
                 
                 // Set media type based on file type if not provided
@@ -289,14 +307,15 @@ public class PostController {
                         mediaType = "image";
                     } else if (firstFileType != null && firstFileType.startsWith("video/")) {
                         mediaType = "video";
-                        if (!validateVideoDuration(media.get(0))) {
-                            return ResponseEntity.badRequest().body("Video duration exceeds " + MAX_VIDEO_DURATION_SECONDS + " seconds");
-                        }
                     }
                     logger.info("Detected media type: {}", mediaType);
                 }
+            } catch (RejectedExecutionException e) {
+                logger.warn("Media ingest pool is saturated, rejecting upload");
+                return ResponseEntity.status(503).body("Too many uploads in progress, please try again shortly");
             } catch (IOException e) {
                 logger.error("Failed to upload media", e);
+                mediaUrls.forEach(mediaStore::release);
                 return ResponseEntity.status(500).body("Failed to upload media: " + e.getMessage());
             }
         }
@@ -307,7 +326,9 @@ public class PostController {
             post.setDescription(description);
             post.setContent(content != null ? content : "");
             post.setMediaUrls(mediaUrls);
+            post.setMedia(mediaInfos);
             post.setMediaType(mediaType);
+            post.setVideoDuration(videoDurationOf(mediaInfos));
             post.setIngredients(ingredients != null ? Arrays.asList(ingredients) : null);
             post.setAmounts(amounts != null ? Arrays.asList(amounts) : null);
             post.setInstructions(instructions != null ? Arrays.asList(instructions) : null);
@@ -327,10 +348,13 @@ public class PostController {
             post.setComments(0);
             
             Post savedPost = postRepository.save(post);
+            imageVariantService.schedulePostVariants(savedPost.getId(), mediaInfos);
+            eventPublisher.publishEvent(EngagementEvent.postCreated(savedPost));
             logger.info("Successfully created post with ID: {}", savedPost.getId());
             return ResponseEntity.ok(savedPost);
         } catch (Exception e) {
             logger.error("Error saving post: {}", e.getMessage(), e);
+            mediaUrls.forEach(mediaStore::release);
             return ResponseEntity.status(500).body("Failed to save post: " + e.getMessage());
         }
     }
@@ -381,6 +405,8 @@ public class PostController {
         }
         
         List<String> mediaUrls = new ArrayList<>();
+        List<MediaInfo> mediaInfos = new ArrayList<>();
+        List<String> previousMediaUrls = new ArrayList<>(existingPost.getMediaUrls());
         
         // Handle file uploads if present
         if (media != null && !media.isEmpty()) {
@@ -391,27 +417,15 @@ public class PostController {
             }
 
             try {
-                // Create upload directory if it doesn't exist
-                Path uploadDir = Paths.get(uploadPath);
-                if (!Files.exists(uploadDir)) {
-                    Files.createDirectories(uploadDir);
+                // Files are stored by content hash, in parallel, and all-or-nothing
+                for (MediaInfo info : mediaIngestService.ingest(media)) {
+                    mediaUrls.add(info.getUrl());
+                    mediaInfos.add(info);
                 }
-                
-                for (MultipartFile file : media) {
-                    // Generate a unique filename
-                    String originalFilename = file.getOriginalFilename();
-                    String extension = "";
-                    if (originalFilename != null && originalFilename.lastIndexOf(".") != -1) {
-                        extension = originalFilename.substring(originalFilename.lastIndexOf("."));
-                    }
-                    String filename = UUID.randomUUID().toString() + extension;
-                    
-                    // Save the file
-                    Path filePath = uploadDir.resolve(filename);
-                    Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-                    
-                    // Add the media URL to the list
-                    mediaUrls.add("/uploads/" + filename);
+
+                if (exceedsVideoLimit(mediaInfos)) {
+                    mediaUrls.forEach(mediaStore::release);
+                    return ResponseEntity.badRequest().body("Video duration exceeds " + Post.MAX_VIDEO_DURATION_SECONDS + " seconds");
                 }
                 
                 // Set media type based on file type if not provided
@@ -421,19 +435,21 @@ public class PostController {
                         mediaType = "image";
                     } else if (firstFileType != null && firstFileType.startsWith("video/")) {
                         mediaType = "video";
-                        if (!validateVideoDuration(media.get(0))) {
-                            return ResponseEntity.badRequest().body("Video duration exceeds " + MAX_VIDEO_DURATION_SECONDS + " seconds");
-                        }
                     }
                     logger.info("Detected media type: {}", mediaType);
                 }
+            } catch (RejectedExecutionException e) {
+                logger.warn("Media ingest pool is saturated, rejecting upload");
+                return ResponseEntity.status(503).body("Too many uploads in progress, please try again shortly");
             } catch (IOException e) {
                 logger.error("Failed to upload media", e);
+                mediaUrls.forEach(mediaStore::release);
                 return ResponseEntity.status(500).body("Failed to upload media: " + e.getMessage());
             }
         } else {
             // No new media provided, keep existing media
             mediaUrls = existingPost.getMediaUrls();
+            mediaInfos = existingPost.getMedia();
             mediaType = existingPost.getMediaType();
         }
         
@@ -442,7 +458,11 @@ public class PostController {
             existingPost.setDescription(description);
             existingPost.setContent(content != null ? content : existingPost.getContent());
             existingPost.setMediaUrls(mediaUrls);
+            existingPost.setMedia(mediaInfos);
             existingPost.setMediaType(mediaType);
+            if (media != null && !media.isEmpty()) {
+                existingPost.setVideoDuration(videoDurationOf(mediaInfos));
+            }
             existingPost.setIngredients(ingredients != null ? Arrays.asList(ingredients) : existingPost.getIngredients());
             existingPost.setAmounts(amounts != null ? Arrays.asList(amounts) : existingPost.getAmounts());
             existingPost.setInstructions(instructions != null ? Arrays.asList(instructions) : existingPost.getInstructions());
@@ -459,10 +479,19 @@ public class PostController {
             existingPost.setUpdatedAt(LocalDateTime.now());
             
             Post updatedPost = postRepository.save(existingPost);
+            
+            // New uploads replace the old media, so drop the references the post held before
+            if (media != null && !media.isEmpty()) {
+                previousMediaUrls.forEach(mediaStore::release);
+                imageVariantService.schedulePostVariants(updatedPost.getId(), mediaInfos);
+            }
             logger.info("Successfully updated post with ID: {}", updatedPost.getId());
             return ResponseEntity.ok(updatedPost);
         } catch (Exception e) {
             logger.error("Error updating post: {}", e.getMessage(), e);
+            if (media != null && !media.isEmpty()) {
+                mediaUrls.forEach(mediaStore::release);
+            }
             return ResponseEntity.status(500).body("Failed to update post: " + e.getMessage());
         }
     }
@@ -472,6 +501,8 @@ public class PostController {
         return postRepository.findById(id)
                 .map(post -> {
                     postRepository.delete(post);
+                    post.getMediaUrls().forEach(mediaStore::release);
+                    eventPublisher.publishEvent(EngagementEvent.postDeleted(post));
                     return ResponseEntity.ok().build();
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -485,36 +516,19 @@ public class PostController {
         return ResponseEntity.ok(response);
     }
 
-    @GetMapping("/update-profile-pictures")
+    // Kept for existing clients; the backfill now runs as a resumable background job
+    @PostMapping("/update-profile-pictures")
     public ResponseEntity<?> updatePostProfilePictures() {
         try {
-            logger.info("Updating post profile pictures");
-            
-            List<Post> posts = postRepository.findAll();
-            int updatedCount = 0;
-            
-            for (Post post : posts) {
-                if (post.getUserPicture() == null && post.getUserId() != null) {
-                    try {
-                        User user = userRepository.findById(post.getUserId()).orElse(null);
-                        if (user != null && user.getProfilePicture() != null) {
-                            post.setUserPicture(user.getProfilePicture());
-                            postRepository.save(post);
-                            updatedCount++;
-                        }
-                    } catch (Exception e) {
-                        logger.warn("Could not update profile picture for post {}: {}", post.getId(), e.getMessage());
-                    }
-                }
-            }
-            
-            logger.info("Updated profile pictures for {} posts", updatedCount);
-            return ResponseEntity.ok(Map.of(
-                "message", "Updated profile pictures for posts",
-                "updatedCount", updatedCount
+            logger.info("Starting post profile picture backfill");
+            BackfillJob job = backfillJobService.start(PostProfilePictureBackfill.NAME, null, null, false);
+            return ResponseEntity.accepted().body(Map.of(
+                "message", "Profile picture backfill started",
+                "job", job,
+                "statusUrl", "/api/admin/jobs/" + PostProfilePictureBackfill.NAME
             ));
         } catch (Exception e) {
-            logger.error("Error updating post profile pictures: {}", e.getMessage(), e);
+            logger.error("Error starting post profile picture backfill: {}", e.getMessage(), e);
             return ResponseEntity.status(500).body(Map.of("error", "Failed to update post profile pictures"));
         }
     }
@@ -575,30 +589,17 @@ public class PostController {
         }
     }
 
-    private boolean validateVideoDuration(MultipartFile file) {
-        try {
-            // Save the file temporarily
-            Path tempFile = Files.createTempFile("video", ".mp4");
-            Files.copy(file.getInputStream(), tempFile, StandardCopyOption.REPLACE_EXISTING);
-            
-            // Create a media locator
-            MediaLocator ml = new MediaLocator(tempFile.toUri().toURL());
-            
-            // Create a player
-            Player player = Manager.createRealizedPlayer(ml);
-            
-            // Get the duration
-            Time duration = player.getDuration();
-            double durationInSeconds = duration.getSeconds();
-            
-            // Clean up
-            player.close();
-            Files.delete(tempFile);
-            
-            return durationInSeconds <= MAX_VIDEO_DURATION_SECONDS;
-        } catch (Exception e) {
-            logger.error("Error validating video duration", e);
-            return false;
-        }
+    // Durations come from the MP4 headers read during ingestion; unreadable containers are let through
+    private static boolean exceedsVideoLimit(List<MediaInfo> mediaInfos) {
+        return mediaInfos.stream().anyMatch(info -> info.getDurationSeconds() != null
+                && info.getDurationSeconds() > Post.MAX_VIDEO_DURATION_SECONDS);
+    }
+
+    private static Integer videoDurationOf(List<MediaInfo> mediaInfos) {
+        return mediaInfos.stream()
+                .filter(info -> info.getDurationSeconds() != null)
+                .findFirst()
+                .map(info -> (int) Math.ceil(info.getDurationSeconds()))
+                .orElse(null);
     }
-} 
\ No newline at end of file
+}
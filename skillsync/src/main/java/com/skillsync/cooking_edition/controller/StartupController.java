@@ -0,0 +1,24 @@
+package com.skillsync.cooking_edition.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.skillsync.cooking_edition.service.StartupOrchestrator;
+
+@RestController
+@RequestMapping("/api/admin/startup")
+public class StartupController {
+
+    @Autowired
+    private StartupOrchestrator startupOrchestrator;
+
+    // Cold-start timings and warmup progress; 503 until the critical warmups are done
+    @GetMapping
+    public ResponseEntity<?> getStartupReport() {
+        Map<String, Object> report = startupOrchestrator.getReport();
+        return ResponseEntity.status(Boolean.TRUE.equals(report.get("ready")) ? 200 : 503).body(report);
+    }
+}
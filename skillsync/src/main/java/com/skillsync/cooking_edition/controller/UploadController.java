@@ -0,0 +1,142 @@
+package com.skillsync.cooking_edition.controller;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.web.bind.annotation.*;
+
+import com.skillsync.cooking_edition.model.UploadSession;
+import com.skillsync.cooking_edition.service.ChunkedUploadService;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Resumable upload protocol:
+//   POST /api/uploads                          {filename, contentType, size} -> session with chunkSize
+//   PUT  /api/uploads/{id}/chunks?offset=N     raw chunk bytes, X-Chunk-Sha256 header
+//   GET  /api/uploads/{id}                     which chunks are still missing
+//   POST /api/uploads/{id}/complete?postId=P   finalize, optionally attaching to a post
+@RestController
+@RequestMapping("/api/uploads")
+public class UploadController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadController.class);
+
+    @Autowired
+    private ChunkedUploadService uploadService;
+
+    @PostMapping
+    public ResponseEntity<?> createSession(@AuthenticationPrincipal OAuth2User principal,
+                                           @RequestBody Map<String, Object> request) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "User not authenticated"));
+        }
+        try {
+            Object size = request.get("size");
+            if (!(size instanceof Number)) {
+                return ResponseEntity.badRequest().body(Map.of("error", "size is required"));
+            }
+            UploadSession session = uploadService.create(principal.getName(),
+                    (String) request.get("filename"),
+                    (String) request.get("contentType"),
+                    ((Number) size).longValue());
+            return ResponseEntity.status(201).body(toResponse(session));
+        } catch (IllegalArgumentException | ClassCastException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error creating upload session", e);
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to create upload session"));
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getSession(@PathVariable String id, @AuthenticationPrincipal OAuth2User principal) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "User not authenticated"));
+        }
+        UploadSession session = uploadService.getSession(id, principal.getName());
+        if (session == null) {
+            return ResponseEntity.status(404).body(Map.of("error", "Upload session not found"));
+        }
+        return ResponseEntity.ok(toResponse(session));
+    }
+
+    @PutMapping("/{id}/chunks")
+    public ResponseEntity<?> putChunk(@PathVariable String id,
+                                      @RequestParam long offset,
+                                      @RequestHeader(value = "X-Chunk-Sha256", required = false) String checksum,
+                                      @AuthenticationPrincipal OAuth2User principal,
+                                      HttpServletRequest request) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "User not authenticated"));
+        }
+        UploadSession session = uploadService.getSession(id, principal.getName());
+        if (session == null) {
+            return ResponseEntity.status(404).body(Map.of("error", "Upload session not found"));
+        }
+        try {
+            UploadSession updated = uploadService.writeChunk(session, offset, checksum, request.getInputStream());
+            return ResponseEntity.ok(toResponse(updated));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            logger.warn("Chunk upload for session {} failed: {}", id, e.getMessage());
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to write chunk"));
+        }
+    }
+
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<?> complete(@PathVariable String id,
+                                      @RequestParam String postId,
+                                      @AuthenticationPrincipal OAuth2User principal) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "User not authenticated"));
+        }
+        UploadSession session = uploadService.getSession(id, principal.getName());
+        if (session == null) {
+            return ResponseEntity.status(404).body(Map.of("error", "Upload session not found"));
+        }
+        try {
+            UploadSession completed = uploadService.complete(session, postId);
+            logger.info("Completed chunked upload {} ({} bytes)", id, completed.getTotalSize());
+            return ResponseEntity.ok(toResponse(completed));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error completing upload {}", id, e);
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to complete upload"));
+        }
+    }
+
+    private Map<String, Object> toResponse(UploadSession session) {
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < session.getChunkCount(); i++) {
+            if (!session.getReceivedChunks().contains(i)) {
+                missing.add(i);
+            }
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", session.getId());
+        response.put("status", session.getStatus());
+        response.put("totalSize", session.getTotalSize());
+        response.put("chunkSize", session.getChunkSize());
+        response.put("chunkCount", session.getChunkCount());
+        response.put("missingChunks", missing);
+        response.put("expiresAt", session.getExpiresAt());
+        response.put("mediaUrl", session.getMediaUrl());
+        response.put("postId", session.getPostId());
+        return response;
+    }
+}
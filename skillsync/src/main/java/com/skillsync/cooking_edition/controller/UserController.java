@@ -1,20 +1,16 @@
 package com.skillsync.cooking_edition.controller;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -30,10 +26,16 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.skillsync.cooking_edition.event.EngagementEvent;
+import com.skillsync.cooking_edition.model.MediaInfo;
 import com.skillsync.cooking_edition.model.Notification;
 import com.skillsync.cooking_edition.model.User;
 import com.skillsync.cooking_edition.repository.NotificationRepository;
 import com.skillsync.cooking_edition.repository.UserRepository;
+import com.skillsync.cooking_edition.service.CreatorStatsService;
+import com.skillsync.cooking_edition.service.ImageVariantService;
+import com.skillsync.cooking_edition.service.MediaIngestService;
+import com.skillsync.cooking_edition.service.MediaStore;
 
 @RestController
 @RequestMapping("/api/users")
@@ -41,12 +43,29 @@ public class UserController {
 
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
 
+    private static final int COVER_PREVIEW_WIDTH = 1280;
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CreatorStatsService creatorStatsService;
+
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MediaStore mediaStore;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private MediaIngestService mediaIngestService;
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getUser(@PathVariable String id) {
         try {
@@ -150,8 +169,10 @@ public class UserController {
                 response.put("isPrivate", user.isPrivate());
                 response.put("profilePicture", user.getProfilePicture());
                 response.put("coverPhoto", user.getCoverPhoto());
+                putImageVariants(response, user);
                 response.put("followerCount", user.getFollowerCount());
                 response.put("followingCount", user.getFollowingCount());
+                response.put("postCount", creatorStatsService.getStats(userId).getPostCount());
                 
                 return ResponseEntity.ok(response);
             } else {
@@ -199,10 +220,12 @@ public class UserController {
             response.put("bio", user.getBio());
             response.put("profilePicture", user.getProfilePicture());
             response.put("coverPhoto", user.getCoverPhoto());
+            putImageVariants(response, user);
             response.put("specialties", user.getSpecialties());
             response.put("favoriteRecipes", user.getFavoriteRecipes());
             response.put("followerCount", user.getFollowerCount());
             response.put("followingCount", user.getFollowingCount());
+            response.put("postCount", creatorStatsService.getStats(userId).getPostCount());
             response.put("isPrivate", user.isPrivate());
             response.put("canViewPosts", canViewPosts);
             response.put("isFollowing", isFollowing);
@@ -278,25 +301,11 @@ public class UserController {
             if (file.isEmpty()) {
                 return ResponseEntity.badRequest().body(Map.of("error", "Please select a file to upload"));
             }
-
-            // Get the file extension
-            String originalFilename = file.getOriginalFilename();
-            String extension = originalFilename.substring(originalFilename.lastIndexOf("."));
-
-            // Generate a unique filename
-            String filename = UUID.randomUUID().toString() + extension;
-
-            // Create uploads directory if it doesn't exist
-            String uploadDir = "uploads/";
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
+            // Checked before ingesting, so nothing is stored that no field would reference
+            if (!"profilePicture".equals(type) && !"coverPhoto".equals(type)) {
+                return ResponseEntity.badRequest().body(Map.of("error", "type must be profilePicture or coverPhoto"));
             }
 
-            // Save the file
-            Path filePath = uploadPath.resolve(filename);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
             // Get the current user
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             if (authentication != null && authentication.getPrincipal() instanceof OAuth2User) {
@@ -306,15 +315,31 @@ public class UserController {
                 User user = userRepository.findById(userId)
                         .orElseThrow(() -> new RuntimeException("User not found"));
 
+                // Sanitize and save the file in the shared content-addressed media store
+                MediaInfo stored = mediaIngestService.ingest(file);
+
                 // Update the user's profile picture or cover photo
-                String fileUrl = "/uploads/" + filename;
+                String fileUrl = stored.getUrl();
+                String previousUrl;
                 if ("profilePicture".equals(type)) {
+                    previousUrl = user.getProfilePicture();
                     user.setProfilePicture(fileUrl);
-                } else if ("coverPhoto".equals(type)) {
+                } else {
+                    previousUrl = user.getCoverPhoto();
                     user.setCoverPhoto(fileUrl);
                 }
 
-                userRepository.save(user);
+                try {
+                    userRepository.save(user);
+                } catch (RuntimeException e) {
+                    // The reference taken by ingest would otherwise never be released
+                    mediaStore.release(fileUrl);
+                    throw e;
+                }
+                if (previousUrl != null) {
+                    mediaStore.release(previousUrl);
+                }
+                imageVariantService.scheduleUserImageVariants(userId, type, stored);
 
                 return ResponseEntity.ok(Map.of(
                     "url", fileUrl,
@@ -361,6 +386,7 @@ public class UserController {
                     // Update target user's follower count
                     targetUser.setFollowerCount(targetUser.getFollowerCount() + 1);
                     userRepository.save(targetUser);
+                    eventPublisher.publishEvent(EngagementEvent.follow(currentUserId, userId, true));
                     
                     // Create notification for the target user
                     Notification notification = new Notification();
@@ -407,6 +433,7 @@ public class UserController {
                     // Update target user's follower count
                     targetUser.setFollowerCount(targetUser.getFollowerCount() - 1);
                     userRepository.save(targetUser);
+                    eventPublisher.publishEvent(EngagementEvent.follow(currentUserId, userId, false));
                 }
                 
                 return ResponseEntity.ok(Map.of("success", true));
@@ -458,6 +485,7 @@ public class UserController {
                     userData.put("id", user.getId());
                     userData.put("name", user.getName());
                     userData.put("profilePicture", user.getProfilePicture());
+                    userData.put("avatarUrl", avatarUrl(user));
                     userData.put("bio", user.getBio());
                     userData.put("isPrivate", user.isPrivate());
                     userData.put("followerCount", user.getFollowerCount());
@@ -483,4 +511,29 @@ public class UserController {
             return ResponseEntity.status(500).body(Map.of("error", "Failed to search users"));
         }
     }
+
+    // Small images for avatars and cover banners; clients fall back to the originals until variants exist
+    private void putImageVariants(Map<String, Object> response, User user) {
+        response.put("avatarUrl", avatarUrl(user));
+        response.put("profilePicturePlaceholder", placeholder(user.getProfilePicture(), user.getProfilePictureInfo()));
+        response.put("coverPhotoPlaceholder", placeholder(user.getCoverPhoto(), user.getCoverPhotoInfo()));
+        MediaInfo coverInfo = user.getCoverPhotoInfo();
+        response.put("coverPhotoPreview", coverInfo != null && user.getCoverPhoto() != null
+                && user.getCoverPhoto().equals(coverInfo.getUrl())
+                ? coverInfo.urlForWidth(COVER_PREVIEW_WIDTH)
+                : user.getCoverPhoto());
+    }
+
+    private static String placeholder(String url, MediaInfo info) {
+        return info != null && url != null && url.equals(info.getUrl()) ? info.getPlaceholder() : null;
+    }
+
+    private String avatarUrl(User user) {
+        MediaInfo info = user.getProfilePictureInfo();
+        if (info != null && user.getProfilePicture() != null && user.getProfilePicture().equals(info.getUrl())
+                && info.getVariants().containsKey(ImageVariantService.AVATAR_VARIANT)) {
+            return info.getVariants().get(ImageVariantService.AVATAR_VARIANT);
+        }
+        return user.getProfilePicture();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.skillsync.cooking_edition.event;
+
+import java.time.LocalDateTime;
+
+import com.skillsync.cooking_edition.model.Comment;
+import com.skillsync.cooking_edition.model.Like;
+import com.skillsync.cooking_edition.model.Post;
+
+// Published after a post, like, comment or follow change has been persisted
+public class EngagementEvent {
+
+    public enum Type {
+        POST_CREATED, POST_DELETED, LIKE_ADDED, LIKE_REMOVED, COMMENT_ADDED, COMMENT_REMOVED, FOLLOW_ADDED, FOLLOW_REMOVED
+    }
+
+    private final Type type;
+    private final String actorId; // User who performed the action
+    private final String ownerId; // Creator whose content or profile was affected
+    private final String postId;
+    private final int likes; // Likes carried by a deleted post
+    private final int comments; // Comments carried by a deleted post
+    private final LocalDateTime occurredAt;
+    private final LocalDateTime recordedAt; // For removals, when the like or comment being undone was made
+
+    private EngagementEvent(Type type, String actorId, String ownerId, String postId, int likes, int comments) {
+        this(type, actorId, ownerId, postId, likes, comments, null);
+    }
+
+    private EngagementEvent(Type type, String actorId, String ownerId, String postId, int likes, int comments,
+                            LocalDateTime recordedAt) {
+        this.type = type;
+        this.actorId = actorId;
+        this.ownerId = ownerId;
+        this.postId = postId;
+        this.likes = likes;
+        this.comments = comments;
+        this.occurredAt = LocalDateTime.now();
+        this.recordedAt = recordedAt != null ? recordedAt : this.occurredAt;
+    }
+
+    public static EngagementEvent postCreated(Post post) {
+        return new EngagementEvent(Type.POST_CREATED, post.getUserId(), post.getUserId(), post.getId(), 0, 0);
+    }
+
+    public static EngagementEvent postDeleted(Post post) {
+        return new EngagementEvent(Type.POST_DELETED, post.getUserId(), post.getUserId(), post.getId(),
+                post.getLikes(), post.getComments());
+    }
+
+    public static EngagementEvent likeAdded(Post post, String userId) {
+        return new EngagementEvent(Type.LIKE_ADDED, userId, post.getUserId(), post.getId(), 0, 0);
+    }
+
+    public static EngagementEvent likeRemoved(Post post, Like like) {
+        return new EngagementEvent(Type.LIKE_REMOVED, like.getUserId(), post.getUserId(), post.getId(), 0, 0, like.recordedAt());
+    }
+
+    public static EngagementEvent commentRemoved(Post post, Comment comment) {
+        return new EngagementEvent(Type.COMMENT_REMOVED, comment.getUserId(), post.getUserId(), post.getId(), 0, 0,
+                comment.getCreatedAt());
+    }
+
+    public static EngagementEvent commentAdded(Post post, String userId) {
+        return new EngagementEvent(Type.COMMENT_ADDED, userId, post.getUserId(), post.getId(), 0, 0);
+    }
+
+    public static EngagementEvent follow(String followerId, String followedUserId, boolean added) {
+        return new EngagementEvent(added ? Type.FOLLOW_ADDED : Type.FOLLOW_REMOVED, followerId, followedUserId, null, 0, 0);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getActorId() {
+        return actorId;
+    }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public String getPostId() {
+        return postId;
+    }
+
+    public int getLikes() {
+        return likes;
+    }
+
+    public int getComments() {
+        return comments;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+}
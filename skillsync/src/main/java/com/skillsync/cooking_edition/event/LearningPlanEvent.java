@@ -0,0 +1,130 @@
+package com.skillsync.cooking_edition.event;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import com.skillsync.cooking_edition.model.LearningPlan;
+
+// Published after a learning plan was created, had its progress changed, or was deleted. Carries the
+// progress-relevant state on both sides of the change; a null side means the plan did not exist.
+public class LearningPlanEvent {
+
+    private final String planId;
+    private final String userId;
+    private final String templateId;
+    private final State before;
+    private final State after;
+    private final LocalDateTime occurredAt;
+
+    private LearningPlanEvent(String planId, String userId, String templateId, State before, State after) {
+        this.planId = planId;
+        this.userId = userId;
+        this.templateId = templateId;
+        this.before = before;
+        this.after = after;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public static LearningPlanEvent created(LearningPlan plan) {
+        return new LearningPlanEvent(plan.getId(), plan.getUserId(), plan.getTemplateId(), null, State.of(plan));
+    }
+
+    public static LearningPlanEvent changed(LearningPlan before, LearningPlan after) {
+        String userId = after.getUserId() != null ? after.getUserId() : before.getUserId();
+        String templateId = after.getTemplateId() != null ? after.getTemplateId() : before.getTemplateId();
+        return new LearningPlanEvent(after.getId(), userId, templateId, State.of(before), State.of(after));
+    }
+
+    // For callers that change the plan in place: capture State.of(plan) before touching it
+    public static LearningPlanEvent changed(State before, LearningPlan after) {
+        return new LearningPlanEvent(after.getId(), after.getUserId(), after.getTemplateId(), before, State.of(after));
+    }
+
+    public static LearningPlanEvent deleted(LearningPlan plan) {
+        return new LearningPlanEvent(plan.getId(), plan.getUserId(), plan.getTemplateId(), State.of(plan), null);
+    }
+
+    public String getPlanId() {
+        return planId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getTemplateId() {
+        return templateId;
+    }
+
+    public State getBefore() {
+        return before;
+    }
+
+    public State getAfter() {
+        return after;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public static class State {
+        private final boolean completed;
+        private final Integer frontier; // First subject not yet completed; null once the plan is done
+        private final Long durationDays; // Start to completion, when both are known
+        private final int completedSubjects;
+
+        private State(boolean completed, Integer frontier, Long durationDays, int completedSubjects) {
+            this.completed = completed;
+            this.frontier = frontier;
+            this.durationDays = durationDays;
+            this.completedSubjects = completedSubjects;
+        }
+
+        public static State of(LearningPlan plan) {
+            boolean completed = "COMPLETED".equals(plan.getProgress());
+            List<String> statuses = plan.getSubjects() == null ? List.of()
+                    : plan.getSubjects().stream().map(subject -> subject != null ? subject.getStatus() : null).toList();
+            return new State(completed, frontierOf(completed, statuses),
+                    completed ? durationDaysOf(plan.getStartDate(), plan.getCompletedAt()) : null,
+                    (int) statuses.stream().filter("COMPLETED"::equals).count());
+        }
+
+        public boolean isCompleted() {
+            return completed;
+        }
+
+        public Integer getFrontier() {
+            return frontier;
+        }
+
+        public Long getDurationDays() {
+            return durationDays;
+        }
+
+        public int getCompletedSubjects() {
+            return completedSubjects;
+        }
+    }
+
+    public static Integer frontierOf(boolean completed, List<String> subjectStatuses) {
+        if (completed) {
+            return null;
+        }
+        for (int i = 0; i < subjectStatuses.size(); i++) {
+            if (!"COMPLETED".equals(subjectStatuses.get(i))) {
+                return i;
+            }
+        }
+        return null;
+    }
+
+    public static Long durationDaysOf(LocalDate startDate, LocalDateTime completedAt) {
+        if (startDate == null || completedAt == null) {
+            return null;
+        }
+        return Math.max(0, ChronoUnit.DAYS.between(startDate.atStartOfDay(), completedAt));
+    }
+}
@@ -0,0 +1,24 @@
+package com.skillsync.cooking_edition.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Document(collection = "backfill_jobs")
+public class BackfillJob {
+    @Id
+    private String id; // Name of the backfill task
+    private String status; // PENDING, RUNNING, PAUSED, COMPLETED, FAILED
+    private String cursor; // Last processed document id, checkpointed after every batch
+    private long processedCount;
+    private long updatedCount;
+    private int batchSize;
+    private int rateLimitPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+    private String lastError;
+}
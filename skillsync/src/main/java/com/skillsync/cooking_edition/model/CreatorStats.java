@@ -0,0 +1,20 @@
+package com.skillsync.cooking_edition.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Document(collection = "creator_stats")
+public class CreatorStats {
+    @Id
+    private String id; // Same as the user id
+    private long postCount;
+    private long totalLikes;
+    private long totalComments;
+    private long followerCount;
+    private LocalDateTime updatedAt;
+    private LocalDateTime reconciledAt;
+}
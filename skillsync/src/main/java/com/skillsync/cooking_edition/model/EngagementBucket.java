@@ -0,0 +1,24 @@
+package com.skillsync.cooking_edition.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Document(collection = "engagement_buckets")
+@CompoundIndex(name = "subject_range", def = "{'scope': 1, 'subjectId': 1, 'granularity': 1, 'bucketStart': 1}")
+public class EngagementBucket {
+    @Id
+    private String id; // scope:subjectId:granularity:bucketStart
+    private String scope; // POST, AUTHOR
+    private String subjectId; // Post id or author user id
+    private String granularity; // HOURLY, DAILY
+    private LocalDateTime bucketStart;
+    private long likes;
+    private long comments;
+    private long followsGained;
+    private long followsLost;
+}
@@ -2,26 +2,41 @@ package com.skillsync.cooking_edition.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 @Data
 @Document(collection = "learning_plans")
+@CompoundIndexes({
+    @CompoundIndex(name = "due", def = "{'dueDate': 1, '_id': 1}"),
+    @CompoundIndex(name = "user_due", def = "{'userId': 1, 'dueDate': 1, '_id': 1}"),
+    @CompoundIndex(name = "user_progress_due", def = "{'userId': 1, 'progress': 1, 'dueDate': 1, '_id': 1}"),
+    @CompoundIndex(name = "progress_due", def = "{'progress': 1, 'dueDate': 1, '_id': 1}"),
+    @CompoundIndex(name = "template", def = "{'templateId': 1}"),
+    @CompoundIndex(name = "milestone_due", def = "{'milestones.dueDate': 1}")
+})
 public class LearningPlan {
     @Id
     private String id;
     private String userId;
+    private String templateId; // when set, subjects hold only status and per-user overrides of the template's
     private String title;
     private String description;
     private List<Subject> subjects;
     private LocalDate startDate;
     private LocalDate dueDate;
     private String progress; // e.g., "IN_PROGRESS", "COMPLETED"
+    private LocalDateTime completedAt; // set when progress reaches COMPLETED, cleared if it is reopened
     private List<Milestone> milestones;
     private Map<String, Boolean> completedItems;
+    private long revision; // bumped by every progress write; clients echo it back on PATCH
+    private Map<String, Long> progressClock; // "item:key" / "subject:i" / "milestone:i" -> epoch ms of the last write
 
     @Data
     public static class Subject {
@@ -38,6 +53,7 @@ public class LearningPlan {
         private LocalDate dueDate;
         private boolean completed;
         private String type; // e.g., "COURSE_COMPLETION", "SKILL_MASTERY"
+        private LocalDateTime reminderSentAt; // cleared when the due date changes, so the new date is reminded again
     }
 
     public String getId() {
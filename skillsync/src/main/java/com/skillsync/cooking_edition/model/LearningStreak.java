@@ -0,0 +1,22 @@
+package com.skillsync.cooking_edition.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Snapshot of one user's leaderboard entry and streak, written periodically from memory
+@Data
+@Document(collection = "learning_streaks")
+public class LearningStreak {
+    @Id
+    private String id; // Same as the user id
+    private LocalDate weekStart; // Monday of the week weeklySubjects counts
+    private long weeklySubjects;
+    private int currentStreak; // Consecutive days, ending at lastActiveDate, with a subject completed
+    private int bestStreak;
+    private LocalDate lastActiveDate;
+    private LocalDateTime updatedAt;
+}
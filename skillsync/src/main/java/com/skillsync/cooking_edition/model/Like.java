@@ -1,5 +1,9 @@
 package com.skillsync.cooking_edition.model;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -9,6 +13,7 @@ public class Like {
     private String id;
     private String postId;
     private String userId;
+    private LocalDateTime createdAt;
 
     public String getId() {
         return id;
@@ -33,4 +38,23 @@ public class Like {
     public void setUserId(String userId) {
         this.userId = userId;
     }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    // Likes saved before createdAt existed still carry their creation second in the generated ObjectId
+    public LocalDateTime recordedAt() {
+        if (createdAt != null) {
+            return createdAt;
+        }
+        if (id != null && ObjectId.isValid(id)) {
+            return LocalDateTime.ofInstant(new ObjectId(id).getDate().toInstant(), ZoneId.systemDefault());
+        }
+        return null;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.skillsync.cooking_edition.model;
+
+import lombok.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Metadata for one stored media file; variants map a name such as "w320" or "avatar" to its URL
+@Data
+public class MediaInfo {
+    private String url;
+    private String contentType;
+    private String format; // Images only, e.g. "jpeg", as detected from the file header
+    private Integer width;
+    private Integer height;
+    private Double durationSeconds; // Videos only
+    private String codec; // Videos only, e.g. "avc1"
+    private Map<String, String> variants = new HashMap<>();
+    private String placeholder; // BlurHash shown until the image loads
+
+    public MediaInfo() {
+    }
+
+    public MediaInfo(String url, String contentType) {
+        this.url = url;
+        this.contentType = contentType;
+    }
+
+    // Smallest width variant that is at least targetWidth wide, falling back to the original
+    public String urlForWidth(int targetWidth) {
+        String best = null;
+        int bestWidth = Integer.MAX_VALUE;
+        if (variants != null) {
+            for (Map.Entry<String, String> variant : variants.entrySet()) {
+                if (!variant.getKey().startsWith("w")) {
+                    continue;
+                }
+                int width;
+                try {
+                    width = Integer.parseInt(variant.getKey().substring(1));
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                if (width >= targetWidth && width < bestWidth) {
+                    best = variant.getValue();
+                    bestWidth = width;
+                }
+            }
+        }
+        return best != null ? best : url;
+    }
+}
@@ -0,0 +1,22 @@
+package com.skillsync.cooking_edition.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Document(collection = "media_objects")
+public class MediaObject {
+    @Id
+    private String id; // SHA-256 of the stored bytes
+    @Indexed(unique = true)
+    private String storageKey; // Path relative to the uploads root
+    private String url;
+    private long size;
+    private String contentType;
+    private long refCount; // Number of posts/users referencing this object
+    private LocalDateTime createdAt;
+}
@@ -15,11 +15,12 @@ public class Notification {
     private NotificationType type;
     private String relatedPostId;
     private String relatedCommentId;
+    private String relatedPlanId;
     private boolean isRead;
     private LocalDateTime createdAt;
 
     public enum NotificationType {
-        LIKE, COMMENT, REPLY, FOLLOW, REPOST
+        LIKE, COMMENT, REPLY, FOLLOW, REPOST, MILESTONE_DUE
     }
 
     public String getId() {
@@ -86,6 +87,14 @@ public class Notification {
         this.relatedCommentId = relatedCommentId;
     }
 
+    public String getRelatedPlanId() {
+        return relatedPlanId;
+    }
+
+    public void setRelatedPlanId(String relatedPlanId) {
+        this.relatedPlanId = relatedPlanId;
+    }
+
     public boolean isRead() {
         return isRead;
     }
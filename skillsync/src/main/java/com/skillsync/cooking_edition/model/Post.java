@@ -5,11 +5,17 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
 @Document(collection = "posts")
+@CompoundIndex(name = "user_created", def = "{'userId': 1, 'createdAt': -1, '_id': -1}")
 public class Post {
+    public static final int FEED_IMAGE_WIDTH = 640;
+    public static final double MAX_VIDEO_DURATION_SECONDS = 300.0; // 5 minutes
+
     private String userPicture;
     @Id
     private String id;
@@ -20,6 +26,8 @@ public class Post {
     @Field("mediaUrls")
     private List<String> mediaUrls = new ArrayList<>(); // List of URLs for images or video
     
+    private List<MediaInfo> media = new ArrayList<>(); // Per-URL metadata such as resized variants
+    
     private String mediaType; // "video" or "image"
     private Integer videoDuration; // Duration in seconds for videos
     
@@ -82,6 +90,48 @@ public class Post {
         this.mediaUrls = mediaUrls != null ? mediaUrls : new ArrayList<>();
     }
 
+    public List<MediaInfo> getMedia() {
+        return media;
+    }
+
+    public void setMedia(List<MediaInfo> media) {
+        this.media = media != null ? media : new ArrayList<>();
+    }
+
+    // Feed-sized image URLs, one per entry in mediaUrls; originals are used until variants exist
+    @Transient
+    public List<String> getPreviewUrls() {
+        List<String> previewUrls = new ArrayList<>();
+        for (String url : mediaUrls) {
+            String previewUrl = url;
+            for (MediaInfo info : media) {
+                if (url.equals(info.getUrl())) {
+                    previewUrl = info.urlForWidth(FEED_IMAGE_WIDTH);
+                    break;
+                }
+            }
+            previewUrls.add(previewUrl);
+        }
+        return previewUrls;
+    }
+
+    // BlurHash per entry in mediaUrls, null where none has been computed (yet)
+    @Transient
+    public List<String> getPlaceholders() {
+        List<String> placeholders = new ArrayList<>();
+        for (String url : mediaUrls) {
+            String placeholder = null;
+            for (MediaInfo info : media) {
+                if (url.equals(info.getUrl())) {
+                    placeholder = info.getPlaceholder();
+                    break;
+                }
+            }
+            placeholders.add(placeholder);
+        }
+        return placeholders;
+    }
+
     public String getMediaType() {
         return mediaType;
     }
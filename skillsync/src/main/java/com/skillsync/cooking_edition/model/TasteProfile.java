@@ -0,0 +1,19 @@
+package com.skillsync.cooking_edition.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// Weighted term counts from a user's own and liked posts, maintained incrementally for template recommendations
+@Data
+@Document(collection = "taste_profiles")
+public class TasteProfile {
+    @Id
+    private String id; // Same as the user id
+    private Map<String, Double> terms; // Normalized term -> accumulated weight
+    private LocalDateTime updatedAt;
+    private LocalDateTime reconciledAt;
+}
@@ -0,0 +1,21 @@
+package com.skillsync.cooking_edition.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Document(collection = "template_stats")
+public class TemplateStats {
+    @Id
+    private String id; // Same as the template id
+    private long plans;
+    private long completed;
+    private Map<String, Long> durationHistogram; // Upper bound in days ("inf" for the last bucket) -> completed plans
+    private Map<String, Long> dropOff; // Subject index -> unfinished plans whose first open subject it is
+    private LocalDateTime updatedAt;
+    private LocalDateTime reconciledAt;
+}
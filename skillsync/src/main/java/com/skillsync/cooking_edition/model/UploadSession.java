@@ -0,0 +1,35 @@
+package com.skillsync.cooking_edition.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+@Data
+@Document(collection = "upload_sessions")
+public class UploadSession {
+    @Id
+    private String id;
+    @Indexed
+    private String userId;
+    private String filename;
+    private String contentType;
+    private long totalSize;
+    private int chunkSize; // Every chunk but the last is exactly this long and starts at a multiple of it
+    private Set<Integer> receivedChunks = new HashSet<>(); // Indexes of chunks whose checksum verified
+    private String status; // OPEN, FINALIZING, COMPLETED, EXPIRED
+    private String mediaUrl; // Set once the upload is finalized
+    private String postId; // Post the finished upload was attached to, if any
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    @Indexed
+    private LocalDateTime expiresAt;
+
+    public int getChunkCount() {
+        return chunkSize > 0 ? (int) ((totalSize + chunkSize - 1) / chunkSize) : 0;
+    }
+}
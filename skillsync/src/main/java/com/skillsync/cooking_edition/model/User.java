@@ -18,6 +18,8 @@ public class User {
     private String bio;
     private String profilePicture;
     private String coverPhoto;
+    private MediaInfo profilePictureInfo;
+    private MediaInfo coverPhotoInfo;
     private List<String> specialties;
     private List<String> favoriteRecipes;
     private List<String> following;
@@ -0,0 +1,10 @@
+package com.skillsync.cooking_edition.repository;
+
+import com.skillsync.cooking_edition.model.BackfillJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface BackfillJobRepository extends MongoRepository<BackfillJob, String> {
+    List<BackfillJob> findByStatus(String status);
+}
@@ -0,0 +1,7 @@
+package com.skillsync.cooking_edition.repository;
+
+import com.skillsync.cooking_edition.model.CreatorStats;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface CreatorStatsRepository extends MongoRepository<CreatorStats, String> {
+}
@@ -0,0 +1,8 @@
+package com.skillsync.cooking_edition.repository;
+
+import com.skillsync.cooking_edition.model.MediaObject;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface MediaObjectRepository extends MongoRepository<MediaObject, String> {
+    MediaObject findByStorageKey(String storageKey);
+}
@@ -0,0 +1,7 @@
+package com.skillsync.cooking_edition.repository;
+
+import com.skillsync.cooking_edition.model.TasteProfile;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface TasteProfileRepository extends MongoRepository<TasteProfile, String> {
+}
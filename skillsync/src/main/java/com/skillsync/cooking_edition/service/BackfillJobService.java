@@ -0,0 +1,246 @@
+package com.skillsync.cooking_edition.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.skillsync.cooking_edition.model.BackfillJob;
+import com.skillsync.cooking_edition.repository.BackfillJobRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class BackfillJobService implements StartupWarmup {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackfillJobService.class);
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_PAUSED = "PAUSED";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Autowired
+    private BackfillJobRepository jobRepository;
+
+    @Autowired(required = false)
+    private List<BackfillTask> tasks = new ArrayList<>();
+
+    @Value("${backfill.batch-size:500}")
+    private int defaultBatchSize;
+
+    @Value("${backfill.rate-limit-per-second:200}")
+    private int defaultRateLimitPerSecond;
+
+    private final Map<String, BackfillTask> tasksByName = new ConcurrentHashMap<>();
+    private final Set<String> activeJobs = ConcurrentHashMap.newKeySet();
+    private final Set<String> pauseRequests = ConcurrentHashMap.newKeySet();
+
+    // Jobs run one at a time so concurrent migrations never stack up load on the primary
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "backfill-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void registerTasks() {
+        for (BackfillTask task : tasks) {
+            tasksByName.put(task.getName(), task);
+        }
+        logger.info("Registered backfill tasks: {}", tasksByName.keySet());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupted jobs stay RUNNING in Mongo and are resumed from their checkpoint on next startup
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String getName() {
+        return "backfill-resume";
+    }
+
+    // Resumes jobs left RUNNING by the previous instance; a failed lookup is retried by the orchestrator,
+    // and a job that was already resumed is not submitted twice
+    @Override
+    public void warmUp() {
+        for (BackfillJob job : jobRepository.findByStatus(STATUS_RUNNING)) {
+            if (tasksByName.containsKey(job.getId())) {
+                logger.info("Resuming backfill job {} from cursor {}", job.getId(), job.getCursor());
+                submit(job.getId());
+            }
+        }
+    }
+
+    public Set<String> getTaskNames() {
+        return tasksByName.keySet();
+    }
+
+    public List<BackfillJob> getJobs() {
+        List<BackfillJob> jobs = new ArrayList<>();
+        for (String name : tasksByName.keySet()) {
+            jobs.add(jobRepository.findById(name).orElseGet(() -> newJob(name)));
+        }
+        return jobs;
+    }
+
+    public Optional<BackfillJob> getJob(String name) {
+        if (!tasksByName.containsKey(name)) {
+            return Optional.empty();
+        }
+        return Optional.of(jobRepository.findById(name).orElseGet(() -> newJob(name)));
+    }
+
+    public BackfillJob start(String name, Integer batchSize, Integer rateLimitPerSecond, boolean restart) {
+        if (!tasksByName.containsKey(name)) {
+            throw new IllegalArgumentException("Unknown backfill job: " + name);
+        }
+
+        BackfillJob job = jobRepository.findById(name).orElseGet(() -> newJob(name));
+        if (activeJobs.contains(name)) {
+            logger.info("Backfill job {} is already running", name);
+            return job;
+        }
+
+        if (restart || STATUS_COMPLETED.equals(job.getStatus())) {
+            job.setCursor(null);
+            job.setProcessedCount(0);
+            job.setUpdatedCount(0);
+            job.setCompletedAt(null);
+        }
+        if (batchSize != null && batchSize > 0) {
+            job.setBatchSize(batchSize);
+        }
+        if (rateLimitPerSecond != null && rateLimitPerSecond > 0) {
+            job.setRateLimitPerSecond(rateLimitPerSecond);
+        }
+        if (job.getStartedAt() == null || job.getCursor() == null) {
+            job.setStartedAt(LocalDateTime.now());
+        }
+        job.setStatus(STATUS_RUNNING);
+        job.setLastError(null);
+        job.setUpdatedAt(LocalDateTime.now());
+        BackfillJob savedJob = jobRepository.save(job);
+
+        pauseRequests.remove(name);
+        submit(name);
+        return savedJob;
+    }
+
+    public BackfillJob pause(String name) {
+        BackfillJob job = getJob(name)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown backfill job: " + name));
+        if (activeJobs.contains(name)) {
+            // The worker stops after the batch in flight and records PAUSED itself
+            pauseRequests.add(name);
+        } else if (STATUS_RUNNING.equals(job.getStatus())) {
+            job.setStatus(STATUS_PAUSED);
+            job.setUpdatedAt(LocalDateTime.now());
+            job = jobRepository.save(job);
+        }
+        return job;
+    }
+
+    private void submit(String name) {
+        if (activeJobs.add(name)) {
+            executor.submit(() -> run(name));
+        }
+    }
+
+    private void run(String name) {
+        BackfillTask task = tasksByName.get(name);
+        BackfillJob job = null;
+        try {
+            job = jobRepository.findById(name).orElseGet(() -> newJob(name));
+            logger.info("Running backfill job {} (batchSize={}, rateLimit={}/s)",
+                    name, job.getBatchSize(), job.getRateLimitPerSecond());
+
+            while (!Thread.currentThread().isInterrupted()) {
+                if (pauseRequests.remove(name)) {
+                    job.setStatus(STATUS_PAUSED);
+                    job.setUpdatedAt(LocalDateTime.now());
+                    jobRepository.save(job);
+                    logger.info("Paused backfill job {} at cursor {}", name, job.getCursor());
+                    return;
+                }
+
+                long batchStart = System.nanoTime();
+                BackfillTask.BatchResult result = task.processBatch(job.getCursor(), job.getBatchSize());
+
+                if (result.getLastCursor() != null) {
+                    job.setCursor(result.getLastCursor());
+                }
+                job.setProcessedCount(job.getProcessedCount() + result.getProcessed());
+                job.setUpdatedCount(job.getUpdatedCount() + result.getUpdated());
+                job.setUpdatedAt(LocalDateTime.now());
+                if (result.isDone()) {
+                    job.setStatus(STATUS_COMPLETED);
+                    job.setCompletedAt(LocalDateTime.now());
+                }
+                jobRepository.save(job);
+
+                if (result.isDone()) {
+                    logger.info("Backfill job {} completed: processed={}, updated={}",
+                            name, job.getProcessedCount(), job.getUpdatedCount());
+                    return;
+                }
+
+                throttle(result.getProcessed(), job.getRateLimitPerSecond(), batchStart);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.info("Backfill job {} interrupted, will resume from its checkpoint", name);
+        } catch (Exception e) {
+            logger.error("Backfill job {} failed: {}", name, e.getMessage(), e);
+            if (job != null) {
+                job.setStatus(STATUS_FAILED);
+                job.setLastError(e.getMessage());
+                job.setUpdatedAt(LocalDateTime.now());
+                try {
+                    jobRepository.save(job);
+                } catch (Exception saveError) {
+                    logger.error("Could not record failure of backfill job {}", name, saveError);
+                }
+            }
+        } finally {
+            activeJobs.remove(name);
+        }
+    }
+
+    // Sleeps long enough that the job never exceeds its documents-per-second budget
+    private void throttle(int processed, int rateLimitPerSecond, long batchStart) throws InterruptedException {
+        if (rateLimitPerSecond <= 0 || processed <= 0) {
+            return;
+        }
+        long minimumNanos = TimeUnit.SECONDS.toNanos(processed) / rateLimitPerSecond;
+        long remainingNanos = minimumNanos - (System.nanoTime() - batchStart);
+        if (remainingNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(remainingNanos);
+        }
+    }
+
+    private BackfillJob newJob(String name) {
+        BackfillJob job = new BackfillJob();
+        job.setId(name);
+        job.setStatus(STATUS_PENDING);
+        job.setBatchSize(defaultBatchSize);
+        job.setRateLimitPerSecond(defaultRateLimitPerSecond);
+        return job;
+    }
+}
@@ -0,0 +1,41 @@
+package com.skillsync.cooking_edition.service;
+
+// A data migration run in cursor-ordered batches by BackfillJobService.
+// Batches must be idempotent so a job can resume from its last checkpoint after a crash.
+public interface BackfillTask {
+
+    String getName();
+
+    // Processes up to batchSize documents strictly after the given cursor (null for the first batch)
+    BatchResult processBatch(String afterCursor, int batchSize);
+
+    class BatchResult {
+        private final String lastCursor;
+        private final int processed;
+        private final int updated;
+        private final boolean done;
+
+        public BatchResult(String lastCursor, int processed, int updated, boolean done) {
+            this.lastCursor = lastCursor;
+            this.processed = processed;
+            this.updated = updated;
+            this.done = done;
+        }
+
+        public String getLastCursor() {
+            return lastCursor;
+        }
+
+        public int getProcessed() {
+            return processed;
+        }
+
+        public int getUpdated() {
+            return updated;
+        }
+
+        public boolean isDone() {
+            return done;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.skillsync.cooking_edition.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.skillsync.cooking_edition.model.MediaInfo;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.model.UploadSession;
+import com.skillsync.cooking_edition.repository.PostRepository;
+
+// Resumable uploads: the client sends fixed-size chunks at explicit offsets, each verified by SHA-256,
+// into a sparse file under the upload root, then finalizes it into the MediaStore.
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    public static final String STATUS_OPEN = "OPEN";
+    public static final String STATUS_FINALIZING = "FINALIZING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_EXPIRED = "EXPIRED";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MediaStore mediaStore;
+
+    @Autowired
+    private Mp4Inspector mp4Inspector;
+
+    @Autowired
+    private MediaIngestService mediaIngestService;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Value("${upload.chunked.chunk-size:5242880}")
+    private int chunkSize;
+
+    @Value("${upload.chunked.max-size:524288000}")
+    private long maxSize;
+
+    @Value("${upload.chunked.session-ttl-hours:24}")
+    private long sessionTtlHours;
+
+    @Value("${upload.chunked.finalize-timeout-minutes:60}")
+    private long finalizeTimeoutMinutes;
+
+    public UploadSession create(String userId, String filename, String contentType, long totalSize) {
+        if (totalSize <= 0 || totalSize > maxSize) {
+            throw new IllegalArgumentException("Upload size must be between 1 and " + maxSize + " bytes");
+        }
+        if (contentType == null || !(contentType.startsWith("video/") || contentType.startsWith("image/"))) {
+            throw new IllegalArgumentException("Only image and video uploads are supported");
+        }
+
+        UploadSession session = new UploadSession();
+        session.setId(UUID.randomUUID().toString());
+        session.setUserId(userId);
+        session.setFilename(filename);
+        session.setContentType(contentType);
+        session.setTotalSize(totalSize);
+        session.setChunkSize(chunkSize);
+        session.setStatus(STATUS_OPEN);
+        session.setCreatedAt(LocalDateTime.now());
+        session.setUpdatedAt(session.getCreatedAt());
+        session.setExpiresAt(session.getCreatedAt().plusHours(sessionTtlHours));
+        return mongoTemplate.insert(session);
+    }
+
+    // Returns null when the session does not exist or belongs to someone else
+    public UploadSession getSession(String sessionId, String userId) {
+        UploadSession session = mongoTemplate.findById(sessionId, UploadSession.class);
+        return session != null && session.getUserId().equals(userId) ? session : null;
+    }
+
+    // Writes one chunk at its offset. Retrying a chunk overwrites the same byte range, so the chunk is
+    // un-marked first and only marked again once the new bytes have verified.
+    public UploadSession writeChunk(UploadSession session, long offset, String expectedSha256, InputStream body) throws IOException {
+        if (!STATUS_OPEN.equals(session.getStatus())) {
+            throw new IllegalStateException("Upload session is " + session.getStatus());
+        }
+        if (offset < 0 || offset >= session.getTotalSize() || offset % session.getChunkSize() != 0) {
+            throw new IllegalArgumentException("Offset must be a multiple of " + session.getChunkSize() + " within the file");
+        }
+        if (expectedSha256 == null || expectedSha256.isBlank()) {
+            throw new IllegalArgumentException("Missing chunk checksum");
+        }
+        int index = (int) (offset / session.getChunkSize());
+        long expectedLength = Math.min(session.getChunkSize(), session.getTotalSize() - offset);
+
+        UploadSession open = mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(session.getId()).and("status").is(STATUS_OPEN)),
+                new Update().pull("receivedChunks", index).set("updatedAt", LocalDateTime.now()),
+                UploadSession.class);
+        if (open == null) {
+            throw new IllegalStateException("Upload session is no longer open");
+        }
+
+        MessageDigest digest = sha256();
+        long written = 0;
+        try (ReadableByteChannel in = Channels.newChannel(body);
+             FileChannel out = FileChannel.open(partFile(session),
+                     StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                if (written + read > expectedLength) {
+                    throw new IllegalArgumentException("Chunk is longer than " + expectedLength + " bytes");
+                }
+                buffer.flip();
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    written += out.write(buffer, offset + written);
+                }
+                buffer.clear();
+            }
+        }
+        if (written != expectedLength) {
+            throw new IllegalArgumentException("Chunk must be " + expectedLength + " bytes, received " + written);
+        }
+        if (!HexFormat.of().formatHex(digest.digest()).equalsIgnoreCase(expectedSha256.trim())) {
+            throw new IllegalArgumentException("Chunk checksum mismatch");
+        }
+
+        UploadSession updated = mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(session.getId()).and("status").is(STATUS_OPEN)),
+                new Update().addToSet("receivedChunks", index).set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                UploadSession.class);
+        if (updated == null) {
+            throw new IllegalStateException("Upload session is no longer open");
+        }
+        return updated;
+    }
+
+    // Moves the assembled file into the MediaStore and attaches it to one of the user's posts. The post is
+    // required: nothing else would ever reference the file, so the media garbage collector would delete it.
+    public UploadSession complete(UploadSession session, String postId) throws IOException {
+        if (postId == null || postId.isEmpty()) {
+            throw new IllegalArgumentException("postId is required");
+        }
+        if (session.getReceivedChunks().size() < session.getChunkCount()) {
+            throw new IllegalStateException("Upload is missing " + (session.getChunkCount() - session.getReceivedChunks().size()) + " chunks");
+        }
+        Post post = postRepository.findById(postId).orElse(null);
+        if (post == null || !session.getUserId().equals(post.getUserId())) {
+            throw new IllegalArgumentException("Post not found");
+        }
+
+        // Claim the session so two finalize calls can't import the same file; the chunk count is
+        // re-checked because a retried chunk is un-marked while it is being rewritten
+        UploadSession claimed = mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(session.getId()).and("status").is(STATUS_OPEN)
+                        .and("receivedChunks").size(session.getChunkCount())),
+                new Update().set("status", STATUS_FINALIZING).set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                UploadSession.class);
+        if (claimed == null) {
+            throw new IllegalStateException("Upload session is not open or a chunk is being rewritten");
+        }
+
+        MediaInfo info;
+        try {
+            if (claimed.getContentType().startsWith("image/")) {
+                // Images get the same metadata stripping and size cap as regular uploads
+                info = mediaIngestService.ingestImage(partFile(claimed),
+                        MediaStore.extensionOf(claimed.getFilename()), claimed.getContentType());
+                Files.deleteIfExists(partFile(claimed));
+            } else {
+                StoredMedia stored = mediaStore.importFile(partFile(claimed),
+                        MediaStore.extensionOf(claimed.getFilename()), claimed.getContentType());
+                info = new MediaInfo(stored.getUrl(), claimed.getContentType());
+            }
+        } catch (IOException | RuntimeException e) {
+            // Unless the session expired as stuck meanwhile, the client may retry
+            mongoTemplate.updateFirst(
+                    new Query(Criteria.where("id").is(claimed.getId()).and("status").is(STATUS_FINALIZING)),
+                    new Update().set("status", STATUS_OPEN), UploadSession.class);
+            throw e;
+        }
+
+        if (claimed.getContentType().startsWith("video/")) {
+            VideoMetadata metadata = mp4Inspector.inspectInto(info, mediaStore.resolve(MediaStore.storageKeyOf(info.getUrl())));
+            if (metadata != null && metadata.getDurationSeconds() != null
+                    && metadata.getDurationSeconds() > Post.MAX_VIDEO_DURATION_SECONDS) {
+                mediaStore.release(info.getUrl());
+                markExpired(claimed.getId());
+                throw new IllegalArgumentException("Video duration exceeds " + Post.MAX_VIDEO_DURATION_SECONDS + " seconds");
+            }
+        }
+
+        attach(postId, info);
+
+        return mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(claimed.getId())),
+                new Update()
+                        .set("status", STATUS_COMPLETED)
+                        .set("mediaUrl", info.getUrl())
+                        .set("postId", postId)
+                        .set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                UploadSession.class);
+    }
+
+    // Sparse part files of abandoned sessions are removed; finished sessions have nothing on disk.
+    // Sessions still FINALIZING long after they were claimed were cut off by a crash or restart.
+    @Scheduled(fixedDelayString = "${upload.chunked.cleanup-interval-ms:900000}")
+    public void expireSessions() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<UploadSession> candidates = mongoTemplate.find(
+                    new Query(new Criteria().orOperator(
+                            Criteria.where("status").is(STATUS_OPEN).and("expiresAt").lt(now),
+                            Criteria.where("status").is(STATUS_FINALIZING)
+                                    .and("updatedAt").lt(now.minusMinutes(finalizeTimeoutMinutes)))),
+                    UploadSession.class);
+            int expired = 0;
+            for (UploadSession session : candidates) {
+                // Only if the session is still in the state it was found in, so a chunk write or
+                // finalize that started meanwhile keeps its part file
+                long modified = mongoTemplate.updateFirst(
+                        new Query(Criteria.where("id").is(session.getId()).and("status").is(session.getStatus())
+                                .and("updatedAt").is(session.getUpdatedAt())),
+                        new Update().set("status", STATUS_EXPIRED).set("updatedAt", now),
+                        UploadSession.class).getModifiedCount();
+                if (modified > 0) {
+                    Files.deleteIfExists(partFile(session));
+                    expired++;
+                }
+            }
+            if (expired > 0) {
+                logger.info("Expired {} abandoned upload sessions", expired);
+            }
+        } catch (Exception e) {
+            logger.warn("Could not expire upload sessions: {}", e.getMessage());
+        }
+    }
+
+    // Targeted pushes rather than saving the loaded post, so likes, comments and edits made while the
+    // upload was being finalized are kept
+    private void attach(String postId, MediaInfo info) {
+        LocalDateTime now = LocalDateTime.now();
+        long matched = mongoTemplate.updateFirst(
+                new Query(Criteria.where("id").is(postId)),
+                new Update().push("mediaUrls", info.getUrl()).push("media", info).set("updatedAt", now),
+                Post.class).getMatchedCount();
+        if (matched == 0) {
+            // Deleted meanwhile; the unreferenced file is left to the media garbage collector
+            logger.warn("Post {} disappeared before upload {} could be attached", postId, info.getUrl());
+            return;
+        }
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("id").is(postId).orOperator(
+                        Criteria.where("mediaType").is(null), Criteria.where("mediaType").is(""))),
+                new Update().set("mediaType", info.getContentType().startsWith("video/") ? "video" : "image"),
+                Post.class);
+        if (info.getDurationSeconds() != null) {
+            mongoTemplate.updateFirst(
+                    new Query(Criteria.where("id").is(postId).and("videoDuration").is(null)),
+                    new Update().set("videoDuration", (int) Math.ceil(info.getDurationSeconds())),
+                    Post.class);
+        }
+        imageVariantService.schedulePostVariants(postId, List.of(info));
+    }
+
+    private void markExpired(String sessionId) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(sessionId)),
+                new Update().set("status", STATUS_EXPIRED).set("updatedAt", LocalDateTime.now()),
+                UploadSession.class);
+    }
+
+    private Path partFile(UploadSession session) {
+        return mediaStore.resolve(MediaStore.CHUNKS_DIR + "/" + session.getId() + ".part");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
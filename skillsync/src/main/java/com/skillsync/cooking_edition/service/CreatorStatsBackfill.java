@@ -0,0 +1,52 @@
+package com.skillsync.cooking_edition.service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.skillsync.cooking_edition.model.User;
+
+// Rebuilds every creator's stats document from posts and users, one batch of users at a time
+@Component
+public class CreatorStatsBackfill implements BackfillTask {
+
+    public static final String NAME = "creator-stats-reconcile";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CreatorStatsService creatorStatsService;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public BatchResult processBatch(String afterCursor, int batchSize) {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .limit(batchSize);
+        if (afterCursor != null) {
+            query.addCriteria(Criteria.where("id").gt(afterCursor));
+        }
+        query.fields().include("id");
+
+        List<String> userIds = mongoTemplate.find(query, User.class).stream()
+                .map(User::getId)
+                .collect(Collectors.toList());
+        if (userIds.isEmpty()) {
+            return new BatchResult(afterCursor, 0, 0, true);
+        }
+
+        int updated = creatorStatsService.reconcileAll(userIds);
+        return new BatchResult(userIds.get(userIds.size() - 1), userIds.size(), updated, userIds.size() < batchSize);
+    }
+}
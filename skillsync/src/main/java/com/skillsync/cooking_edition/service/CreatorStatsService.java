@@ -0,0 +1,174 @@
+package com.skillsync.cooking_edition.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.skillsync.cooking_edition.event.EngagementEvent;
+import com.skillsync.cooking_edition.model.CreatorStats;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.model.User;
+import com.skillsync.cooking_edition.repository.CreatorStatsRepository;
+import com.skillsync.cooking_edition.repository.UserRepository;
+
+@Service
+public class CreatorStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CreatorStatsService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CreatorStatsRepository statsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    public CreatorStats getStats(String userId) {
+        // Users who predate the stats collection are rebuilt once on first read
+        return statsRepository.findById(userId).orElseGet(() -> reconcile(userId));
+    }
+
+    @EventListener
+    public void onEngagement(EngagementEvent event) {
+        if (event.getOwnerId() == null) {
+            return;
+        }
+        Update update = new Update().set("updatedAt", LocalDateTime.now());
+        switch (event.getType()) {
+            case POST_CREATED:
+                update.inc("postCount", 1);
+                break;
+            case POST_DELETED:
+                update.inc("postCount", -1)
+                        .inc("totalLikes", -event.getLikes())
+                        .inc("totalComments", -event.getComments());
+                break;
+            case LIKE_ADDED:
+                update.inc("totalLikes", 1);
+                break;
+            case LIKE_REMOVED:
+                update.inc("totalLikes", -1);
+                break;
+            case COMMENT_ADDED:
+                update.inc("totalComments", 1);
+                break;
+            case COMMENT_REMOVED:
+                update.inc("totalComments", -1);
+                break;
+            case FOLLOW_ADDED:
+                update.inc("followerCount", 1);
+                break;
+            case FOLLOW_REMOVED:
+                update.inc("followerCount", -1);
+                break;
+            default:
+                return;
+        }
+
+        try {
+            // Only counters of users that already have a stats document are incremented;
+            // the first read reconciles everyone else from source data
+            mongoTemplate.updateFirst(new Query(Criteria.where("id").is(event.getOwnerId())), update, CreatorStats.class);
+        } catch (Exception e) {
+            // Stats can drift but must never fail the interaction itself; reconciliation repairs them
+            logger.warn("Could not update creator stats for user {}: {}", event.getOwnerId(), e.getMessage());
+        }
+    }
+
+    public CreatorStats reconcile(String userId) {
+        Map<String, CreatorStats> rebuilt = rebuild(List.of(userId));
+        CreatorStats stats = rebuilt.get(userId);
+
+        Update update = new Update()
+                .set("postCount", stats.getPostCount())
+                .set("totalLikes", stats.getTotalLikes())
+                .set("totalComments", stats.getTotalComments())
+                .set("followerCount", stats.getFollowerCount())
+                .set("updatedAt", stats.getUpdatedAt())
+                .set("reconciledAt", stats.getReconciledAt());
+        CreatorStats saved = mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(userId)),
+                update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                CreatorStats.class);
+        logger.info("Reconciled creator stats for user {}", userId);
+        return saved != null ? saved : stats;
+    }
+
+    public int reconcileAll(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        Map<String, CreatorStats> rebuilt = rebuild(userIds);
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CreatorStats.class);
+        for (CreatorStats stats : rebuilt.values()) {
+            bulk.upsert(new Query(Criteria.where("id").is(stats.getId())), new Update()
+                    .set("postCount", stats.getPostCount())
+                    .set("totalLikes", stats.getTotalLikes())
+                    .set("totalComments", stats.getTotalComments())
+                    .set("followerCount", stats.getFollowerCount())
+                    .set("updatedAt", stats.getUpdatedAt())
+                    .set("reconciledAt", stats.getReconciledAt()));
+        }
+        bulk.execute();
+        return rebuilt.size();
+    }
+
+    // Recomputes post, like and comment totals with a single grouped aggregation over the users' posts
+    private Map<String, CreatorStats> rebuild(Collection<String> userIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, CreatorStats> result = new HashMap<>();
+        for (String userId : userIds) {
+            CreatorStats stats = new CreatorStats();
+            stats.setId(userId);
+            stats.setUpdatedAt(now);
+            stats.setReconciledAt(now);
+            result.put(userId, stats);
+        }
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("userId").in(userIds)),
+                Aggregation.group("userId")
+                        .count().as("postCount")
+                        .sum("likes").as("totalLikes")
+                        .sum("comments").as("totalComments"));
+        for (Document row : mongoTemplate.aggregate(aggregation, Post.class, Document.class).getMappedResults()) {
+            CreatorStats stats = result.get(row.getString("_id"));
+            if (stats != null) {
+                stats.setPostCount(toLong(row.get("postCount")));
+                stats.setTotalLikes(toLong(row.get("totalLikes")));
+                stats.setTotalComments(toLong(row.get("totalComments")));
+            }
+        }
+
+        for (User user : userRepository.findAllById(userIds)) {
+            CreatorStats stats = result.get(user.getId());
+            if (stats != null) {
+                stats.setFollowerCount(user.getFollowerCount());
+            }
+        }
+        return result;
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+}
@@ -0,0 +1,166 @@
+package com.skillsync.cooking_edition.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.skillsync.cooking_edition.event.EngagementEvent;
+import com.skillsync.cooking_edition.model.EngagementBucket;
+
+@Service
+public class EngagementAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EngagementAnalyticsService.class);
+
+    public static final String SCOPE_POST = "POST";
+    public static final String SCOPE_AUTHOR = "AUTHOR";
+    public static final String HOURLY = "HOURLY";
+    public static final String DAILY = "DAILY";
+
+    // Upper bound on buckets per request so a chart never reads more than a few hundred small documents
+    private static final int MAX_BUCKETS = 400;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @EventListener
+    public void onEngagement(EngagementEvent event) {
+        String field;
+        int delta;
+        switch (event.getType()) {
+            case LIKE_ADDED:
+                field = "likes";
+                delta = 1;
+                break;
+            case LIKE_REMOVED:
+                field = "likes";
+                delta = -1;
+                break;
+            case COMMENT_ADDED:
+                field = "comments";
+                delta = 1;
+                break;
+            case COMMENT_REMOVED:
+                field = "comments";
+                delta = -1;
+                break;
+            case FOLLOW_ADDED:
+                field = "followsGained";
+                delta = 1;
+                break;
+            case FOLLOW_REMOVED:
+                field = "followsLost";
+                delta = 1;
+                break;
+            default:
+                return;
+        }
+
+        // Removals undo the bucket the like or comment was counted in, and only while it still holds a count:
+        // likes and comments made before buckets existed were never counted, so there is nothing to undo
+        LocalDateTime at = event.getRecordedAt();
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EngagementBucket.class);
+            if (event.getPostId() != null) {
+                addIncrement(bulk, SCOPE_POST, event.getPostId(), HOURLY, at, field, delta);
+                addIncrement(bulk, SCOPE_POST, event.getPostId(), DAILY, at, field, delta);
+            }
+            if (event.getOwnerId() != null) {
+                addIncrement(bulk, SCOPE_AUTHOR, event.getOwnerId(), HOURLY, at, field, delta);
+                addIncrement(bulk, SCOPE_AUTHOR, event.getOwnerId(), DAILY, at, field, delta);
+            }
+            bulk.execute();
+        } catch (Exception e) {
+            logger.warn("Could not record engagement bucket for {}: {}", event.getType(), e.getMessage());
+        }
+    }
+
+    // Returns one entry per bucket in [from, to), with zero-filled gaps so charts can plot it directly
+    public List<Map<String, Object>> getSeries(String scope, String subjectId, String granularity,
+                                               LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = bucketStart(granularity, from);
+        LocalDateTime end = to;
+        ChronoUnit unit = HOURLY.equals(granularity) ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+        if (unit.between(start, end) > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Time range too large: at most " + MAX_BUCKETS + " buckets");
+        }
+
+        Query query = new Query(Criteria.where("scope").is(scope)
+                .and("subjectId").is(subjectId)
+                .and("granularity").is(granularity)
+                .and("bucketStart").gte(start).lt(end))
+                .with(Sort.by(Sort.Direction.ASC, "bucketStart"));
+        Map<LocalDateTime, EngagementBucket> buckets = new HashMap<>();
+        for (EngagementBucket bucket : mongoTemplate.find(query, EngagementBucket.class)) {
+            buckets.put(bucket.getBucketStart(), bucket);
+        }
+
+        List<Map<String, Object>> series = new ArrayList<>();
+        for (LocalDateTime cursor = start; cursor.isBefore(end); cursor = cursor.plus(1, unit)) {
+            EngagementBucket bucket = buckets.get(cursor);
+            Map<String, Object> point = new HashMap<>();
+            point.put("bucketStart", cursor);
+            point.put("likes", bucket != null ? bucket.getLikes() : 0L);
+            point.put("comments", bucket != null ? bucket.getComments() : 0L);
+            point.put("followsGained", bucket != null ? bucket.getFollowsGained() : 0L);
+            point.put("followsLost", bucket != null ? bucket.getFollowsLost() : 0L);
+            series.add(point);
+        }
+        return series;
+    }
+
+    // Net followers gained by an author over the trailing window, from the timestamped daily buckets
+    public long getFollowerGrowth(String userId, Duration window) {
+        LocalDateTime from = bucketStart(DAILY, LocalDateTime.now().minus(window));
+        Query query = new Query(Criteria.where("scope").is(SCOPE_AUTHOR)
+                .and("subjectId").is(userId)
+                .and("granularity").is(DAILY)
+                .and("bucketStart").gte(from));
+        query.fields().include("followsGained", "followsLost");
+        long growth = 0;
+        for (EngagementBucket bucket : mongoTemplate.find(query, EngagementBucket.class)) {
+            growth += bucket.getFollowsGained() - bucket.getFollowsLost();
+        }
+        return growth;
+    }
+
+    public static Duration defaultRange(String granularity) {
+        return HOURLY.equals(granularity) ? Duration.ofHours(24) : Duration.ofDays(30);
+    }
+
+    private void addIncrement(BulkOperations bulk, String scope, String subjectId, String granularity,
+                              LocalDateTime occurredAt, String field, int delta) {
+        LocalDateTime start = bucketStart(granularity, occurredAt);
+        String id = scope + ":" + subjectId + ":" + granularity + ":" + start;
+        if (delta < 0) {
+            bulk.updateOne(new Query(Criteria.where("id").is(id).and(field).gte(-delta)), new Update().inc(field, delta));
+            return;
+        }
+        bulk.upsert(new Query(Criteria.where("id").is(id)), new Update()
+                .inc(field, delta)
+                .setOnInsert("scope", scope)
+                .setOnInsert("subjectId", subjectId)
+                .setOnInsert("granularity", granularity)
+                .setOnInsert("bucketStart", start));
+    }
+
+    private static LocalDateTime bucketStart(String granularity, LocalDateTime time) {
+        return time.truncatedTo(HOURLY.equals(granularity) ? ChronoUnit.HOURS : ChronoUnit.DAYS);
+    }
+}
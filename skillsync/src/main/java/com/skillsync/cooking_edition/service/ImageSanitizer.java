@@ -0,0 +1,532 @@
+package com.skillsync.cooking_edition.service;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.IntBinaryOperator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Upload-time clean-up of images. JPEG and PNG are rewritten segment by segment without decoding:
+// EXIF, XMP, comments, text chunks and embedded thumbnails are dropped, while everything needed to
+// render the pixels (tables, ICC profile, Adobe colour transform, transparency, gamma) is kept.
+// EXIF orientation survives as a minimal EXIF block. Only images over the size cap are re-encoded.
+// Files are streamed from disk to disk, so a large upload is never held in memory.
+@Component
+public class ImageSanitizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageSanitizer.class);
+
+    private static final byte[] JPEG_SIGNATURE = { (byte) 0xFF, (byte) 0xD8 };
+    private static final byte[] PNG_SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+    private static final Set<String> PNG_KEPT_ANCILLARY = Set.of(
+            "tRNS", "gAMA", "cHRM", "sRGB", "iCCP", "sBIT", "acTL", "fcTL", "fdAT");
+    // Anything larger is not decoded, even subsampled
+    private static final long MAX_DECODE_PIXELS = 200_000_000L;
+    // JPEG segments before the first scan are held until the orientation is known; real files need
+    // well under a megabyte even with a large ICC profile
+    private static final int MAX_JPEG_HEADER_BYTES = 4 * 1024 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Value("${media.images.max-dimension:2048}")
+    private int maxDimension;
+
+    @Value("${media.images.jpeg-quality:0.85}")
+    private float jpegQuality;
+
+    // Writes the cleaned-up image to target. Data that can't be parsed is copied unchanged with
+    // unknown dimensions; only I/O errors on the files themselves are thrown.
+    public SanitizedImage sanitize(Path source, Path target) throws IOException {
+        long originalSize = Files.size(source);
+        byte[] signature;
+        try (InputStream in = Files.newInputStream(source)) {
+            signature = in.readNBytes(PNG_SIGNATURE.length);
+        }
+        try {
+            if (startsWith(signature, JPEG_SIGNATURE)) {
+                return sanitizeJpeg(source, target, originalSize);
+            }
+            if (startsWith(signature, PNG_SIGNATURE)) {
+                return sanitizePng(source, target, originalSize);
+            }
+            SanitizedImage described = describeOther(source, originalSize);
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+            return described;
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not sanitize image: {}", e.getMessage());
+        }
+        Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        return new SanitizedImage(null, null, null, originalSize, originalSize);
+    }
+
+    // EXIF orientation (1-8) of a JPEG, given at least its leading segments; 1 for anything else
+    static int orientationOf(byte[] data) {
+        try {
+            return startsWith(data, JPEG_SIGNATURE) ? scanJpeg(data).orientation : 1;
+        } catch (IOException | RuntimeException e) {
+            return 1;
+        }
+    }
+
+    private SanitizedImage sanitizeJpeg(Path source, Path target, long originalSize) throws IOException {
+        JpegHeader header;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(source), BUFFER_SIZE);
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), BUFFER_SIZE)) {
+            header = stripJpeg(in, out, -1);
+        }
+        int width = header.width;
+        int height = header.height;
+
+        if (Math.max(width, height) > maxDimension) {
+            BufferedImage scaled = decodeScaled(source);
+            if (scaled != null) {
+                // The pixels are still unrotated, so the orientation tag goes back on the new file
+                try (InputStream in = new ByteArrayInputStream(encodeJpeg(scaled));
+                     OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), BUFFER_SIZE)) {
+                    stripJpeg(in, out, header.orientation);
+                }
+                width = scaled.getWidth();
+                height = scaled.getHeight();
+            }
+        }
+
+        // Orientations 5-8 rotate by 90 degrees, so the displayed size is transposed
+        boolean transposed = header.orientation >= 5 && header.orientation <= 8;
+        return new SanitizedImage("jpeg", transposed ? height : width, transposed ? width : height,
+                originalSize, Files.size(target));
+    }
+
+    private SanitizedImage sanitizePng(Path source, Path target, long originalSize) throws IOException {
+        PngHeader header;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(source), BUFFER_SIZE);
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), BUFFER_SIZE)) {
+            header = stripPng(in, out);
+        }
+        int width = header.width;
+        int height = header.height;
+
+        // Animated PNGs would lose their frames
+        if (Math.max(width, height) > maxDimension && !header.animated) {
+            BufferedImage scaled = decodeScaled(source);
+            if (scaled != null) {
+                ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+                ImageIO.write(scaled, "png", encoded);
+                try (InputStream in = new ByteArrayInputStream(encoded.toByteArray());
+                     OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), BUFFER_SIZE)) {
+                    PngHeader reencoded = stripPng(in, out);
+                    width = reencoded.width;
+                    height = reencoded.height;
+                }
+            }
+        }
+        return new SanitizedImage("png", width, height, originalSize, Files.size(target));
+    }
+
+    // Other formats (GIF, WebP, ...) are stored as-is; ImageIO only reads the header for the size
+    private SanitizedImage describeOther(Path source, long originalSize) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return new SanitizedImage(null, null, null, originalSize, originalSize);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                return new SanitizedImage(reader.getFormatName().toLowerCase(Locale.ROOT),
+                        reader.getWidth(0), reader.getHeight(0), originalSize, originalSize);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Decodes with source subsampling so a huge image never needs a full-resolution raster,
+    // then finishes with the same resampling the variant generator uses
+    private BufferedImage decodeScaled(Path source) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            BufferedImage decoded = decodeSubsampled(in,
+                    (width, height) -> Math.max(1, Math.max(width, height) / (maxDimension * 2)));
+            if (decoded == null) {
+                return null;
+            }
+            double scale = (double) maxDimension / Math.max(decoded.getWidth(), decoded.getHeight());
+            int targetWidth = Math.max(1, (int) Math.round(decoded.getWidth() * scale));
+            int targetHeight = Math.max(1, (int) Math.round(decoded.getHeight() * scale));
+            return ImageVariantService.resize(decoded, targetWidth, targetHeight, decoded.getColorModel().hasAlpha());
+        } catch (IOException | RuntimeException e) {
+            // e.g. CMYK JPEGs, which ImageIO can't decode; the stripped original is kept
+            logger.debug("Could not re-encode oversized image: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Reads the first image of in, skipping pixels by the factor subsampling picks from the source
+    // width and height. Null if there is no reader; images over MAX_DECODE_PIXELS are refused unread.
+    static BufferedImage decodeSubsampled(ImageInputStream in, IntBinaryOperator subsampling) throws IOException {
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(in, true, true);
+            int width = reader.getWidth(0);
+            int height = reader.getHeight(0);
+            if ((long) width * height > MAX_DECODE_PIXELS) {
+                throw new IOException("Image too large to decode: " + width + "x" + height);
+            }
+            ImageReadParam param = reader.getDefaultReadParam();
+            int factor = Math.max(1, subsampling.applyAsInt(width, height));
+            param.setSourceSubsampling(factor, factor, 0, 0);
+            return reader.read(0, param);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(encoded)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return encoded.toByteArray();
+    }
+
+    private static class JpegHeader {
+        int width;
+        int height;
+        int orientation = 1;
+    }
+
+    // Header-only scan of a JPEG held in memory; stops at the first scan
+    private static JpegHeader scanJpeg(byte[] data) throws IOException {
+        JpegHeader header = new JpegHeader();
+        int position = 2;
+        while (position + 4 <= data.length) {
+            int marker = marker(data, position);
+            if (marker == 0xD9 || marker == 0xDA) {
+                break;
+            }
+            int length = u16(data, position + 2);
+            int payload = position + 4;
+            if (isStartOfFrame(marker) && length >= 7) {
+                header.height = u16(data, payload + 1);
+                header.width = u16(data, payload + 3);
+            } else if (marker == 0xE1 && hasPrefix(data, payload, "Exif\0\0")) {
+                header.orientation = exifOrientation(data, payload + 6, position + 2 + length);
+            }
+            position += 2 + length;
+        }
+        if (header.width == 0 || header.height == 0) {
+            throw new IOException("No JPEG frame header");
+        }
+        return header;
+    }
+
+    // Copies every segment needed to decode the image and drops metadata; data after EOI
+    // (e.g. secondary images of multi-picture files) is dropped too. The segments before the first
+    // scan are held back until the EXIF orientation has been read; a negative orientation keeps the
+    // one found in the file, anything else replaces it.
+    private static JpegHeader stripJpeg(InputStream in, OutputStream out, int orientation) throws IOException {
+        if (!startsWith(in.readNBytes(2), JPEG_SIGNATURE)) {
+            throw new IOException("Not a JPEG");
+        }
+        out.write(JPEG_SIGNATURE);
+        JpegHeader header = new JpegHeader();
+        List<byte[]> held = new ArrayList<>();
+        int heldBytes = 0;
+        int orientationAt = -1; // Number of held segments that go before the orientation block
+        boolean headerWritten = false;
+
+        int marker = readMarker(in);
+        while (marker != 0xD9) {
+            int length = (readByte(in) << 8) | readByte(in);
+            if (length < 2) {
+                throw new IOException("Truncated JPEG segment");
+            }
+            byte[] segment = new byte[length + 2];
+            segment[0] = (byte) 0xFF;
+            segment[1] = (byte) marker;
+            segment[2] = (byte) (length >> 8);
+            segment[3] = (byte) length;
+            if (in.readNBytes(segment, 4, length - 2) != length - 2) {
+                throw new IOException("Truncated JPEG segment");
+            }
+
+            if (!headerWritten) {
+                if (isStartOfFrame(marker) && length >= 7) {
+                    header.height = u16(segment, 5);
+                    header.width = u16(segment, 7);
+                } else if (marker == 0xE1 && hasPrefix(segment, 4, "Exif\0\0")) {
+                    header.orientation = exifOrientation(segment, 10, segment.length);
+                }
+                if (orientationAt < 0 && marker != 0xE0) {
+                    orientationAt = held.size();
+                }
+            }
+            if (keepJpegSegment(marker, segment, 4)) {
+                if (headerWritten) {
+                    out.write(segment);
+                } else {
+                    heldBytes += segment.length;
+                    if (heldBytes > MAX_JPEG_HEADER_BYTES) {
+                        throw new IOException("JPEG header too large");
+                    }
+                    held.add(segment);
+                }
+            }
+
+            if (marker != 0xDA) {
+                marker = readMarker(in);
+                continue;
+            }
+            if (!headerWritten) {
+                writeHeader(out, held, orientationAt, orientation >= 0 ? orientation : header.orientation);
+                headerWritten = true;
+            }
+            // Entropy-coded data runs until the next marker that is not a stuffed byte or restart
+            int current = readByte(in);
+            while (true) {
+                if (current != 0xFF) {
+                    out.write(current);
+                    current = readByte(in);
+                    continue;
+                }
+                int next = readByte(in);
+                if (next == 0x00 || (next >= 0xD0 && next <= 0xD7)) {
+                    out.write(0xFF);
+                    out.write(next);
+                    current = readByte(in);
+                } else if (next == 0xFF) {
+                    out.write(0xFF);
+                    current = next;
+                } else {
+                    marker = next;
+                    break;
+                }
+            }
+        }
+
+        if (header.width == 0 || header.height == 0) {
+            throw new IOException("No JPEG frame header");
+        }
+        if (!headerWritten) {
+            writeHeader(out, held, orientationAt, orientation >= 0 ? orientation : header.orientation);
+        }
+        out.write(0xFF);
+        out.write(0xD9);
+        if (orientation >= 0) {
+            header.orientation = orientation;
+        }
+        return header;
+    }
+
+    private static void writeHeader(OutputStream out, List<byte[]> held, int orientationAt, int orientation) throws IOException {
+        int split = orientationAt < 0 ? held.size() : orientationAt;
+        for (int i = 0; i < split; i++) {
+            out.write(held.get(i));
+        }
+        if (orientation > 1 && orientation <= 8) {
+            writeOrientationSegment(out, orientation);
+        }
+        for (int i = split; i < held.size(); i++) {
+            out.write(held.get(i));
+        }
+    }
+
+    private static boolean keepJpegSegment(int marker, byte[] data, int payload) {
+        if (marker == 0xE0 || marker == 0xEE) {
+            return true; // JFIF, Adobe colour transform
+        }
+        if (marker == 0xE2) {
+            return hasPrefix(data, payload, "ICC_PROFILE\0");
+        }
+        return !(marker >= 0xE1 && marker <= 0xEF) && marker != 0xFE;
+    }
+
+    // A big-endian TIFF block holding only the orientation tag (0x0112)
+    private static void writeOrientationSegment(OutputStream out, int orientation) throws IOException {
+        byte[] segment = {
+                (byte) 0xFF, (byte) 0xE1, 0, 34,
+                'E', 'x', 'i', 'f', 0, 0,
+                'M', 'M', 0, 42, 0, 0, 0, 8,
+                0, 1,
+                0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, (byte) orientation, 0, 0,
+                0, 0, 0, 0
+        };
+        out.write(segment);
+    }
+
+    private static int exifOrientation(byte[] data, int tiff, int end) {
+        if (tiff + 8 > end) {
+            return 1;
+        }
+        boolean littleEndian = data[tiff] == 'I';
+        int ifd = tiff + (int) u32(data, tiff + 4, littleEndian);
+        if (ifd < tiff || ifd + 2 > end) {
+            return 1;
+        }
+        int entries = u16(data, ifd, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > end) {
+                break;
+            }
+            if (u16(data, entry, littleEndian) == 0x0112) {
+                int value = u16(data, entry + 8, littleEndian);
+                return value >= 1 && value <= 8 ? value : 1;
+            }
+        }
+        return 1;
+    }
+
+    private static class PngHeader {
+        int width;
+        int height;
+        boolean animated;
+    }
+
+    // Chunk by chunk; image data is copied through a fixed buffer however large the chunk
+    private static PngHeader stripPng(InputStream in, OutputStream out) throws IOException {
+        if (!startsWith(in.readNBytes(PNG_SIGNATURE.length), PNG_SIGNATURE)) {
+            throw new IOException("Not a PNG");
+        }
+        out.write(PNG_SIGNATURE);
+        PngHeader header = new PngHeader();
+        byte[] chunkHeader = new byte[8];
+        byte[] buffer = new byte[BUFFER_SIZE];
+        while (in.readNBytes(chunkHeader, 0, 8) == 8) {
+            long length = u32(chunkHeader, 0, false);
+            String type = new String(chunkHeader, 4, 4, StandardCharsets.ISO_8859_1);
+            // Critical chunks have an upper-case first letter
+            boolean kept = Character.isUpperCase(type.charAt(0)) || PNG_KEPT_ANCILLARY.contains(type);
+            if (kept) {
+                out.write(chunkHeader);
+            }
+            if ("acTL".equals(type)) {
+                header.animated = true;
+            }
+
+            long remaining = length + 4; // Payload and CRC
+            if ("IHDR".equals(type) && length >= 8) {
+                byte[] size = in.readNBytes(8);
+                if (size.length < 8) {
+                    throw new IOException("Truncated PNG chunk " + type);
+                }
+                header.width = (int) u32(size, 0, false);
+                header.height = (int) u32(size, 4, false);
+                out.write(size);
+                remaining -= 8;
+            }
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read == -1) {
+                    throw new IOException("Truncated PNG chunk " + type);
+                }
+                if (kept) {
+                    out.write(buffer, 0, read);
+                }
+                remaining -= read;
+            }
+
+            if ("IEND".equals(type)) {
+                return header;
+            }
+        }
+        throw new IOException("PNG has no IEND chunk");
+    }
+
+    private static boolean isStartOfFrame(int marker) {
+        return marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC;
+    }
+
+    private static int marker(byte[] data, int position) throws IOException {
+        if ((data[position] & 0xFF) != 0xFF) {
+            throw new IOException("Expected JPEG marker at " + position);
+        }
+        return data[position + 1] & 0xFF;
+    }
+
+    private static int readMarker(InputStream in) throws IOException {
+        if (readByte(in) != 0xFF) {
+            throw new IOException("Expected JPEG marker");
+        }
+        return readByte(in);
+    }
+
+    // A JPEG that ends before its EOI is kept as it was rather than guessed at
+    private static int readByte(InputStream in) throws IOException {
+        int value = in.read();
+        if (value == -1) {
+            throw new EOFException("JPEG has no end marker");
+        }
+        return value;
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        return data.length >= prefix.length && Arrays.equals(data, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static boolean hasPrefix(byte[] data, int offset, String prefix) {
+        if (offset + prefix.length() > data.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (data[offset + i] != (byte) prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int u16(byte[] data, int offset) {
+        return u16(data, offset, false);
+    }
+
+    private static int u16(byte[] data, int offset, boolean littleEndian) {
+        int a = data[offset] & 0xFF;
+        int b = data[offset + 1] & 0xFF;
+        return littleEndian ? (b << 8) | a : (a << 8) | b;
+    }
+
+    private static long u32(byte[] data, int offset, boolean littleEndian) {
+        long high = u16(data, littleEndian ? offset + 2 : offset, littleEndian);
+        long low = u16(data, littleEndian ? offset : offset + 2, littleEndian);
+        return (high << 16) | low;
+    }
+}
@@ -0,0 +1,340 @@
+package com.skillsync.cooking_edition.service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.skillsync.cooking_edition.model.MediaInfo;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.model.User;
+
+// Generates resized copies of uploaded images on a bounded worker pool and records them on the owning document
+@Service
+public class ImageVariantService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantService.class);
+
+    public static final String AVATAR_VARIANT = "avatar";
+    private static final float JPEG_QUALITY = 0.82f;
+    private static final int PLACEHOLDER_SOURCE_WIDTH = 32;
+    private static final int ORIENTATION_SCAN_BYTES = 256 * 1024;
+
+    @Autowired
+    private MediaStore mediaStore;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    @Qualifier("imageProcessingExecutor")
+    private ExecutorService imageProcessingExecutor;
+
+    @Value("${media.variants.widths:320,640,1080}")
+    private List<Integer> variantWidths;
+
+    @Value("${media.variants.profile-widths:320}")
+    private List<Integer> profileWidths;
+
+    @Value("${media.variants.cover-widths:640,1280}")
+    private List<Integer> coverWidths;
+
+    @Value("${media.variants.avatar-size:96}")
+    private int avatarSize;
+
+    public void schedulePostVariants(String postId, List<MediaInfo> media) {
+        for (MediaInfo info : media) {
+            if (!isImage(info)) {
+                continue;
+            }
+            submit(() -> {
+                generate(info, variantWidths, false);
+                if (!info.getVariants().isEmpty() || info.getPlaceholder() != null) {
+                    mongoTemplate.updateFirst(
+                            new Query(Criteria.where("id").is(postId).and("media.url").is(info.getUrl())),
+                            new Update()
+                                    .set("media.$.variants", info.getVariants())
+                                    .set("media.$.placeholder", info.getPlaceholder()),
+                            Post.class);
+                }
+            });
+        }
+    }
+
+    // type is "profilePicture" or "coverPhoto", matching the User field the URL was stored in
+    public void scheduleUserImageVariants(String userId, String type, MediaInfo info) {
+        String url = info.getUrl();
+        boolean profilePicture = "profilePicture".equals(type);
+        if (!isImage(info) || (!profilePicture && !"coverPhoto".equals(type))) {
+            return;
+        }
+        submit(() -> {
+            if (profilePicture) {
+                generate(info, profileWidths, true);
+            } else {
+                generate(info, coverWidths, false);
+            }
+            // Guarded on the URL so a slow job never overwrites metadata for a newer image
+            mongoTemplate.updateFirst(
+                    new Query(Criteria.where("id").is(userId).and(type).is(url)),
+                    new Update().set(type + "Info", info),
+                    User.class);
+        });
+    }
+
+    private void submit(Runnable job) {
+        try {
+            imageProcessingExecutor.execute(() -> {
+                try {
+                    job.run();
+                } catch (Exception e) {
+                    logger.error("Image variant generation failed: {}", e.getMessage(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Originals keep working; variants can be regenerated later
+            logger.warn("Image processing queue is full, skipping variant generation");
+        }
+    }
+
+    // Fills in the variants and placeholder of info; whatever could not be produced is left unset
+    void generate(MediaInfo info, List<Integer> widths, boolean withAvatar) {
+        Map<String, String> variants = new LinkedHashMap<>();
+        info.setVariants(variants);
+        String storageKey = MediaStore.storageKeyOf(info.getUrl());
+        if (storageKey == null) {
+            return;
+        }
+
+        Path file = mediaStore.resolve(storageKey);
+        try {
+            // EXIF sits in the first segments, so the orientation is read from a prefix of the file
+            int orientation;
+            try (InputStream in = Files.newInputStream(file)) {
+                orientation = ImageSanitizer.orientationOf(in.readNBytes(ORIENTATION_SCAN_BYTES));
+            }
+            boolean transposed = orientation >= 5 && orientation <= 8;
+            int largestWidth = widths.stream().mapToInt(Integer::intValue).max().orElse(PLACEHOLDER_SOURCE_WIDTH);
+
+            // Subsampled so the decoded image keeps at least twice the largest variant width (and
+            // avatar size) for the final resize, rather than holding the full resolution in memory
+            BufferedImage decoded;
+            try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+                decoded = ImageSanitizer.decodeSubsampled(in, (width, height) -> {
+                    int factor = (transposed ? height : width) / (largestWidth * 2);
+                    return withAvatar ? Math.min(factor, Math.min(width, height) / (avatarSize * 2)) : factor;
+                });
+            }
+            if (decoded == null) {
+                logger.debug("No ImageIO reader for {}, skipping variants", storageKey);
+                return;
+            }
+            // Variants carry no EXIF, so the orientation tag kept on the original is applied to the pixels
+            BufferedImage original = orient(decoded, orientation);
+            boolean alpha = original.getColorModel().hasAlpha();
+            String baseKey = stripExtension(storageKey);
+            String extension = alpha ? ".png" : ".jpg";
+
+            for (int width : widths) {
+                if (width >= original.getWidth()) {
+                    continue;
+                }
+                String variantKey = baseKey + "_w" + width + extension;
+                int height = Math.max(1, Math.round((float) original.getHeight() * width / original.getWidth()));
+                writeIfAbsent(variantKey, () -> resize(original, width, height, alpha), alpha);
+                variants.put("w" + width, MediaStore.URL_PREFIX + variantKey);
+            }
+
+            if (withAvatar) {
+                String variantKey = baseKey + "_avatar" + extension;
+                writeIfAbsent(variantKey, () -> squareCrop(original, avatarSize, alpha), alpha);
+                variants.put(AVATAR_VARIANT, MediaStore.URL_PREFIX + variantKey);
+            }
+
+            info.setPlaceholder(placeholder(original));
+        } catch (IOException e) {
+            logger.error("Could not generate variants for {}: {}", storageKey, e.getMessage());
+        }
+    }
+
+    // BlurHash of a tiny copy: the DCT cost grows with pixel count, so the image is first shrunk
+    // to PLACEHOLDER_SOURCE_WIDTH (cheap with the halving resize) and then hashed
+    static String placeholder(BufferedImage image) {
+        int width = Math.min(PLACEHOLDER_SOURCE_WIDTH, image.getWidth());
+        int height = Math.max(1, Math.round((float) image.getHeight() * width / image.getWidth()));
+        BufferedImage small = resize(image, width, height, false);
+        boolean portrait = image.getHeight() > image.getWidth();
+        return BlurHash.encode(small, portrait ? 3 : 4, portrait ? 4 : 3);
+    }
+
+    // Variants are derived from content-addressed originals, so an existing file is always current
+    private void writeIfAbsent(String variantKey, ImageSupplier image, boolean alpha) throws IOException {
+        Path target = mediaStore.resolve(variantKey);
+        if (Files.exists(target)) {
+            return;
+        }
+        Path tempFile = Files.createTempFile(mediaStore.resolve("tmp"), "variant-", ".part");
+        try {
+            BufferedImage resized = image.get();
+            if (alpha) {
+                ImageIO.write(resized, "png", tempFile.toFile());
+            } else {
+                writeJpeg(resized, tempFile);
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    static BufferedImage resize(BufferedImage source, int width, int height, boolean alpha) {
+        // Halve repeatedly before the final bilinear pass so large downscales don't alias
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        while (currentWidth / 2 >= width) {
+            currentWidth /= 2;
+            currentHeight = Math.max(1, currentHeight / 2);
+            current = draw(current, currentWidth, currentHeight, alpha);
+        }
+        return draw(current, width, height, alpha);
+    }
+
+    static BufferedImage orient(BufferedImage source, int orientation) {
+        if (orientation < 2 || orientation > 8) {
+            return source;
+        }
+        int width = source.getWidth();
+        int height = source.getHeight();
+        AffineTransform transform = new AffineTransform();
+        switch (orientation) {
+            case 2: // mirrored
+                transform.translate(width, 0);
+                transform.scale(-1, 1);
+                break;
+            case 3: // upside down
+                transform.translate(width, height);
+                transform.rotate(Math.PI);
+                break;
+            case 4: // mirrored upside down
+                transform.translate(0, height);
+                transform.scale(1, -1);
+                break;
+            case 5: // transposed
+                transform.rotate(-Math.PI / 2);
+                transform.scale(-1, 1);
+                break;
+            case 6: // rotated 90 degrees clockwise
+                transform.translate(height, 0);
+                transform.rotate(Math.PI / 2);
+                break;
+            case 7: // transversed
+                transform.translate(height, width);
+                transform.scale(-1, -1);
+                transform.rotate(-Math.PI / 2);
+                transform.scale(-1, 1);
+                break;
+            default: // 8, rotated 90 degrees counter-clockwise
+                transform.translate(0, width);
+                transform.rotate(-Math.PI / 2);
+                break;
+        }
+        boolean transposed = orientation >= 5;
+        boolean alpha = source.getColorModel().hasAlpha();
+        BufferedImage target = new BufferedImage(transposed ? height : width, transposed ? width : height,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.drawImage(source, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static BufferedImage squareCrop(BufferedImage source, int size, boolean alpha) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        int x = (source.getWidth() - side) / 2;
+        int y = (source.getHeight() - side) / 2;
+        BufferedImage square = source.getSubimage(x, y, side, side);
+        return side > size ? resize(square, size, size, alpha) : draw(square, side, side, alpha);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, boolean alpha) {
+        BufferedImage target = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static boolean isImage(MediaInfo info) {
+        return info.getContentType() != null && info.getContentType().startsWith("image/")
+                && !info.getContentType().equals("image/gif");
+    }
+
+    private static String stripExtension(String storageKey) {
+        int dot = storageKey.lastIndexOf('.');
+        int slash = storageKey.lastIndexOf('/');
+        return dot > slash ? storageKey.substring(0, dot) : storageKey;
+    }
+
+    @FunctionalInterface
+    private interface ImageSupplier {
+        BufferedImage get();
+    }
+}
@@ -1,8 +1,10 @@
 package com.skillsync.cooking_edition.service;
 
+import com.skillsync.cooking_edition.event.EngagementEvent;
 import com.skillsync.cooking_edition.model.*;
 import com.skillsync.cooking_edition.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
@@ -31,6 +33,9 @@ public class InteractionService {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Transactional
     public void toggleLike(String postId, String userId) {
         try {
@@ -58,6 +63,7 @@ public class InteractionService {
                 Like like = new Like();
                 like.setPostId(postId);
                 like.setUserId(userId);
+                like.setCreatedAt(LocalDateTime.now());
                 likeRepository.save(like);
                 post.setLikes(post.getLikes() + 1);
 
@@ -79,6 +85,9 @@ public class InteractionService {
 
             // Save updated post
             postRepository.save(post);
+            eventPublisher.publishEvent(existingLike == null
+                    ? EngagementEvent.likeAdded(post, userId)
+                    : EngagementEvent.likeRemoved(post, existingLike));
             logger.info("Service: Successfully toggled like for post: {} and user: {}", postId, userId);
         } catch (Exception e) {
             logger.error("Service: Error toggling like for post: {} and user: {}", postId, userId, e);
@@ -123,6 +132,7 @@ public class InteractionService {
         // Update post comment count
         post.setComments(post.getComments() + 1);
         postRepository.save(post);
+        eventPublisher.publishEvent(EngagementEvent.commentAdded(post, userId));
         logger.info("Updated post comment count: {}", post.getComments());
 
         // Create notification
@@ -207,6 +217,7 @@ public class InteractionService {
         postRepository.save(post);
         
         commentRepository.deleteById(commentId);
+        eventPublisher.publishEvent(EngagementEvent.commentRemoved(post, comment));
     }
 
     public List<Notification> getUserNotifications(String userId) {
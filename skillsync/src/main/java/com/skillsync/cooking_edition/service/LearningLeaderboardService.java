@@ -0,0 +1,284 @@
+package com.skillsync.cooking_edition.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.skillsync.cooking_edition.event.LearningPlanEvent;
+import com.skillsync.cooking_edition.model.LearningStreak;
+import com.skillsync.cooking_edition.model.User;
+import com.skillsync.cooking_edition.repository.UserRepository;
+
+// Weekly most-completed-subjects leaderboard and daily streaks, kept in memory from LearningPlanEvents.
+// Scores live in a RankedSet, so reads are O(log n); changed users are snapshotted to learning_streaks
+// every few seconds and reloaded on startup. Events between the last snapshot and a crash are lost.
+@Service
+public class LearningLeaderboardService implements StartupWarmup {
+
+    private static final Logger logger = LoggerFactory.getLogger(LearningLeaderboardService.class);
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final int LOAD_BATCH = 500;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // All state below is guarded by this
+    private LocalDate weekStart = currentWeekStart();
+    private RankedSet weekly = new RankedSet();
+    private final Map<String, Streak> streaks = new HashMap<>();
+    private final Set<String> dirty = new HashSet<>();
+    // Snapshots already merged by a warmup attempt, so a retry doesn't count them twice; null once loaded
+    private Set<String> merged = new HashSet<>();
+
+    private static final class Streak {
+        int current;
+        int best;
+        LocalDate lastActive;
+    }
+
+    @Override
+    public String getName() {
+        return "learning-leaderboard";
+    }
+
+    // Ranks served before the snapshots are in would be missing everyone's earlier progress
+    @Override
+    public boolean isCritical() {
+        return true;
+    }
+
+    @Override
+    public void warmUp() {
+        Query query = new Query();
+        query.fields().include("weekStart", "weeklySubjects", "currentStreak", "bestStreak", "lastActiveDate");
+        int loaded = 0;
+        // The collection is read outside the lock and merged in batches, so progress events keep flowing
+        List<LearningStreak> batch = new ArrayList<>(LOAD_BATCH);
+        try (Stream<LearningStreak> snapshots = mongoTemplate.stream(query, LearningStreak.class)) {
+            for (LearningStreak snapshot : (Iterable<LearningStreak>) snapshots::iterator) {
+                batch.add(snapshot);
+                if (batch.size() == LOAD_BATCH) {
+                    loaded += mergeSnapshots(batch);
+                    batch.clear();
+                }
+            }
+        }
+        loaded += mergeSnapshots(batch);
+        synchronized (this) {
+            merged = null;
+        }
+        logger.info("Loaded {} learning streak snapshots", loaded);
+    }
+
+    // Events that arrived before the load only hold progress made since startup, so both sides are combined
+    private synchronized int mergeSnapshots(List<LearningStreak> batch) {
+        rollWeek();
+        int count = 0;
+        for (LearningStreak snapshot : batch) {
+            if (!merged.add(snapshot.getId())) {
+                continue;
+            }
+            if (weekStart.equals(snapshot.getWeekStart())) {
+                weekly.increment(snapshot.getId(), snapshot.getWeeklySubjects());
+            }
+            Streak streak = streaks.computeIfAbsent(snapshot.getId(), id -> new Streak());
+            mergeStreak(streak, snapshot.getCurrentStreak(), snapshot.getBestStreak(), snapshot.getLastActiveDate());
+            count++;
+        }
+        return count;
+    }
+
+    // Joins the streak saved before startup with one built from later events; they form a single run
+    // when the saved one reaches the day before the later one began
+    private static void mergeStreak(Streak streak, int savedCurrent, int savedBest, LocalDate savedLastActive) {
+        streak.best = Math.max(streak.best, savedBest);
+        if (savedLastActive == null) {
+            return;
+        }
+        if (streak.lastActive == null) {
+            streak.current = savedCurrent;
+            streak.lastActive = savedLastActive;
+            return;
+        }
+        LocalDate began = streak.lastActive.minusDays(streak.current - 1L);
+        if (!savedLastActive.isBefore(began.minusDays(1))) {
+            LocalDate savedBegan = savedLastActive.minusDays(savedCurrent - 1L);
+            LocalDate end = savedLastActive.isAfter(streak.lastActive) ? savedLastActive : streak.lastActive;
+            LocalDate start = savedBegan.isBefore(began) ? savedBegan : began;
+            streak.current = (int) (end.toEpochDay() - start.toEpochDay()) + 1;
+            streak.lastActive = end;
+        }
+        streak.best = Math.max(streak.best, streak.current);
+    }
+
+    @EventListener
+    public void onPlanEvent(LearningPlanEvent event) {
+        if (event.getUserId() == null || event.getAfter() == null) {
+            return;
+        }
+        int before = event.getBefore() != null ? event.getBefore().getCompletedSubjects() : 0;
+        int delta = event.getAfter().getCompletedSubjects() - before;
+        if (delta == 0) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        synchronized (this) {
+            rollWeek();
+            weekly.increment(event.getUserId(), delta);
+            if (delta > 0) {
+                Streak streak = streaks.computeIfAbsent(event.getUserId(), id -> new Streak());
+                if (streak.lastActive == null || streak.lastActive.isBefore(today.minusDays(1))) {
+                    streak.current = 1;
+                } else if (streak.lastActive.isBefore(today)) {
+                    streak.current++;
+                }
+                streak.lastActive = today;
+                streak.best = Math.max(streak.best, streak.current);
+            }
+            dirty.add(event.getUserId());
+        }
+    }
+
+    public Map<String, Object> leaderboard(int offset, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        int start = Math.max(offset, 0);
+        Map<String, Object> response = new LinkedHashMap<>();
+        List<Map<String, Object>> entries = new ArrayList<>();
+        synchronized (this) {
+            rollWeek();
+            LocalDate today = LocalDate.now();
+            List<Map.Entry<String, Long>> page = weekly.range(start, pageSize);
+            for (int i = 0; i < page.size(); i++) {
+                Streak streak = streaks.get(page.get(i).getKey());
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("rank", start + i + 1);
+                entry.put("userId", page.get(i).getKey());
+                entry.put("weeklySubjects", page.get(i).getValue());
+                entry.put("currentStreak", streak != null ? liveStreak(streak, today) : 0);
+                entries.add(entry);
+            }
+            response.put("weekStart", weekStart);
+            response.put("total", weekly.size());
+        }
+
+        // Names are looked up outside the lock so progress events never wait on the user query
+        Map<String, User> users = new HashMap<>();
+        for (User user : userRepository.findAllById(entries.stream().map(entry -> (String) entry.get("userId")).toList())) {
+            users.put(user.getId(), user);
+        }
+        for (Map<String, Object> entry : entries) {
+            User user = users.get(entry.get("userId"));
+            entry.put("name", user != null ? user.getName() : null);
+            entry.put("profilePicture", user != null ? user.getProfilePicture() : null);
+        }
+        response.put("entries", entries);
+        return response;
+    }
+
+    public synchronized Map<String, Object> standing(String userId) {
+        rollWeek();
+        Streak streak = streaks.get(userId);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("userId", userId);
+        response.put("weekStart", weekStart);
+        int rank = weekly.rank(userId);
+        response.put("rank", rank > 0 ? rank : null);
+        response.put("weeklySubjects", weekly.score(userId));
+        response.put("total", weekly.size());
+        response.put("currentStreak", streak != null ? liveStreak(streak, LocalDate.now()) : 0);
+        response.put("bestStreak", streak != null ? streak.best : 0);
+        return response;
+    }
+
+    @Scheduled(fixedDelayString = "${learning.leaderboard.snapshot-interval-ms:30000}")
+    public void snapshot() {
+        List<LearningStreak> changed = new ArrayList<>();
+        synchronized (this) {
+            rollWeek();
+            // Until the load is done, a snapshot would overwrite saved scores with only what came since startup
+            if (merged != null || dirty.isEmpty()) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            for (String userId : dirty) {
+                Streak streak = streaks.get(userId);
+                LearningStreak snapshot = new LearningStreak();
+                snapshot.setId(userId);
+                snapshot.setWeekStart(weekStart);
+                snapshot.setWeeklySubjects(weekly.score(userId));
+                snapshot.setCurrentStreak(streak != null ? streak.current : 0);
+                snapshot.setBestStreak(streak != null ? streak.best : 0);
+                snapshot.setLastActiveDate(streak != null ? streak.lastActive : null);
+                snapshot.setUpdatedAt(now);
+                changed.add(snapshot);
+            }
+            dirty.clear();
+        }
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LearningStreak.class);
+            for (LearningStreak snapshot : changed) {
+                bulk.upsert(new Query(Criteria.where("id").is(snapshot.getId())), new Update()
+                        .set("weekStart", snapshot.getWeekStart())
+                        .set("weeklySubjects", snapshot.getWeeklySubjects())
+                        .set("currentStreak", snapshot.getCurrentStreak())
+                        .set("bestStreak", snapshot.getBestStreak())
+                        .set("lastActiveDate", snapshot.getLastActiveDate())
+                        .set("updatedAt", snapshot.getUpdatedAt()));
+            }
+            bulk.execute();
+        } catch (Exception e) {
+            // Retried with the next snapshot
+            synchronized (this) {
+                changed.forEach(snapshot -> dirty.add(snapshot.getId()));
+            }
+            logger.warn("Could not snapshot learning leaderboard: {}", e.getMessage());
+        }
+    }
+
+    // A streak not extended yesterday or today is already broken, even if nobody has written since
+    private static int liveStreak(Streak streak, LocalDate today) {
+        return streak.lastActive != null && !streak.lastActive.isBefore(today.minusDays(1)) ? streak.current : 0;
+    }
+
+    private void rollWeek() {
+        LocalDate current = currentWeekStart();
+        if (!current.equals(weekStart)) {
+            // Weekly scores of everyone ranked last week are reset in their snapshots too
+            Map<String, Long> finished = weekly.snapshot();
+            dirty.addAll(finished.keySet());
+            logger.info("Learning leaderboard week {} closed with {} ranked users", weekStart, finished.size());
+            weekStart = current;
+            weekly = new RankedSet();
+        }
+    }
+
+    private static LocalDate currentWeekStart() {
+        return LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
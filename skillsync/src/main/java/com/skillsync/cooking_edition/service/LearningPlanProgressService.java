@@ -0,0 +1,409 @@
+package com.skillsync.cooking_edition.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.skillsync.cooking_edition.event.LearningPlanEvent;
+import com.skillsync.cooking_edition.model.LearningPlan;
+
+// Applies checklist toggles to a learning plan as targeted $set paths instead of rewriting the document.
+// Writes are conditional on the revision the client last saw; progress is recomputed inside Mongo.
+@Service
+public class LearningPlanProgressService {
+
+    public static final Set<String> SUBJECT_STATUSES = Set.of("NOT_STARTED", "IN_PROGRESS", "COMPLETED");
+
+    private static final int MAX_CHANGES = 500;
+    private static final int MAX_SYNC_EVENTS = 2000;
+    private static final int MAX_SYNC_ATTEMPTS = 3;
+
+    // NOT_STARTED / IN_PROGRESS / COMPLETED from the share of subjects marked COMPLETED
+    private static final AggregationOperation RECOMPUTE_PROGRESS = context -> new Document("$set",
+            new Document("progress", new Document("$let", new Document()
+                    .append("vars", new Document()
+                            .append("total", new Document("$size", new Document("$ifNull", List.of("$subjects", List.of()))))
+                            .append("done", new Document("$size", new Document("$filter", new Document()
+                                    .append("input", new Document("$ifNull", List.of("$subjects", List.of())))
+                                    .append("as", "subject")
+                                    .append("cond", new Document("$eq", List.of("$$subject.status", "COMPLETED")))))))
+                    .append("in", new Document("$switch", new Document()
+                            .append("branches", List.of(
+                                    new Document("case", new Document("$eq", List.of("$$done", 0))).append("then", "NOT_STARTED"),
+                                    new Document("case", new Document("$lt", List.of("$$done", "$$total"))).append("then", "IN_PROGRESS")))
+                            .append("default", "COMPLETED"))))));
+
+    // Runs after RECOMPUTE_PROGRESS: keeps the first completion time, clears it if the plan is reopened
+    private static final AggregationOperation STAMP_COMPLETION = context -> new Document("$set",
+            new Document("completedAt", new Document("$cond", List.of(
+                    new Document("$eq", List.of("$progress", "COMPLETED")),
+                    new Document("$ifNull", List.of("$completedAt", "$$NOW")),
+                    "$$REMOVE"))));
+
+    private static final String[] EVENT_FIELDS = { "revision", "progress", "completedItems", "userId", "templateId",
+            "subjects.status", "startDate", "completedAt" };
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Returns the plan's id, revision, progress and completedItems after the change, or null if the plan does not exist
+    public LearningPlan applyDelta(String planId, long expectedRevision,
+                                   Map<String, Boolean> items,
+                                   Map<Integer, String> subjectStatuses,
+                                   Map<Integer, Boolean> milestoneCompletions) {
+        int changes = size(items) + size(subjectStatuses) + size(milestoneCompletions);
+        if (changes == 0) {
+            throw new IllegalArgumentException("No changes given");
+        }
+        if (changes > MAX_CHANGES) {
+            throw new IllegalArgumentException("At most " + MAX_CHANGES + " changes per request");
+        }
+
+        long now = System.currentTimeMillis();
+        Update update = new Update().inc("revision", 1);
+        if (items != null) {
+            items.forEach((key, completed) -> {
+                update.set("completedItems." + checkItemKey(key), Boolean.TRUE.equals(completed));
+                update.set("progressClock." + ProgressEvent.ITEM + ":" + key, now);
+            });
+        }
+        if (subjectStatuses != null) {
+            subjectStatuses.forEach((index, status) -> {
+                if (!SUBJECT_STATUSES.contains(status)) {
+                    throw new IllegalArgumentException("Invalid subject status: " + status);
+                }
+                update.set("subjects." + checkIndex(index) + ".status", status);
+                update.set("progressClock." + ProgressEvent.SUBJECT + ":" + index, now);
+            });
+        }
+        if (milestoneCompletions != null) {
+            milestoneCompletions.forEach((index, completed) -> {
+                update.set("milestones." + checkIndex(index) + ".completed", Boolean.TRUE.equals(completed));
+                update.set("progressClock." + ProgressEvent.MILESTONE + ":" + index, now);
+            });
+        }
+
+        // Matching on the highest index touched keeps $set from padding the arrays with nulls
+        Criteria criteria = Criteria.where("id").is(planId).andOperator(revisionIs(expectedRevision));
+        if (subjectStatuses != null && !subjectStatuses.isEmpty()) {
+            criteria = criteria.and("subjects." + maxIndex(subjectStatuses)).exists(true);
+        }
+        if (milestoneCompletions != null && !milestoneCompletions.isEmpty()) {
+            criteria = criteria.and("milestones." + maxIndex(milestoneCompletions)).exists(true);
+        }
+
+        // The pre-image feeds the analytics event; the post-image follows from the delta
+        Query query = new Query(criteria);
+        query.fields().include(EVENT_FIELDS);
+        LearningPlan before = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(false), LearningPlan.class);
+        if (before == null) {
+            rejectDelta(planId, expectedRevision);
+            return null;
+        }
+        LearningPlan updated = summary(before);
+        updated.setRevision(before.getRevision() + 1);
+        Map<String, Boolean> completedItems = before.getCompletedItems() != null ? new HashMap<>(before.getCompletedItems()) : new HashMap<>();
+        if (items != null) {
+            items.forEach((key, completed) -> completedItems.put(key, Boolean.TRUE.equals(completed)));
+        }
+        updated.setCompletedItems(completedItems);
+
+        if (subjectStatuses == null || subjectStatuses.isEmpty()) {
+            return updated;
+        }
+        // Not scoped to a revision: the pipeline only reads the current subjects, so it is right to run whatever
+        // landed in between, and a later delta that changes no subject never recomputes
+        Query recompute = new Query(Criteria.where("id").is(planId));
+        recompute.fields().include(EVENT_FIELDS);
+        LearningPlan recomputed = mongoTemplate.findAndModify(recompute,
+                AggregationUpdate.from(List.of(RECOMPUTE_PROGRESS, STAMP_COMPLETION)),
+                FindAndModifyOptions.options().returnNew(true), LearningPlan.class);
+        if (recomputed == null) {
+            // Deleted in between
+            return updated;
+        }
+        if (recomputed.getRevision() != updated.getRevision()) {
+            // Another write landed in between and publishes its own transition, so this event stops at the
+            // state this delta produced; the client keeps its revision and refetches on the next 409
+            eventPublisher.publishEvent(LearningPlanEvent.changed(before, afterDelta(before, subjectStatuses)));
+            return updated;
+        }
+        eventPublisher.publishEvent(LearningPlanEvent.changed(before, recomputed));
+        return summary(recomputed);
+    }
+
+    // Replaces a whole plan, but only while it is still at the revision it was read at; null if it was
+    // written in between (or deleted), so a concurrent PATCH or sync is never silently overwritten
+    public LearningPlan replace(LearningPlan plan, long readRevision) {
+        Query query = new Query(Criteria.where("id").is(plan.getId()).andOperator(revisionIs(readRevision)));
+        return mongoTemplate.findAndReplace(query, plan, FindAndReplaceOptions.options().returnNew());
+    }
+
+    // The event fields of a plan as the first write of applyDelta left it, progress included
+    private static LearningPlan afterDelta(LearningPlan before, Map<Integer, String> subjectStatuses) {
+        LearningPlan after = summary(before);
+        after.setRevision(before.getRevision() + 1);
+        after.setUserId(before.getUserId());
+        after.setTemplateId(before.getTemplateId());
+        after.setStartDate(before.getStartDate());
+        List<LearningPlan.Subject> subjects = new ArrayList<>();
+        List<String> statuses = new ArrayList<>();
+        List<LearningPlan.Subject> previous = before.getSubjects() != null ? before.getSubjects() : List.of();
+        for (int i = 0; i < previous.size(); i++) {
+            LearningPlan.Subject subject = new LearningPlan.Subject();
+            subject.setStatus(subjectStatuses.getOrDefault(i, previous.get(i).getStatus()));
+            subjects.add(subject);
+            statuses.add(subject.getStatus());
+        }
+        after.setSubjects(subjects);
+        after.setProgress(progressOf(statuses));
+        after.setCompletedAt(completedAt(after.getProgress(), before.getCompletedAt()));
+        return after;
+    }
+
+    // Replays offline checklist events for any number of plans. Per entry the latest timestamp wins, against
+    // both the rest of the batch and whatever the plan already holds; each plan then gets a single write.
+    public List<ProgressSyncResult> sync(List<ProgressEvent> events) {
+        if (events.isEmpty()) {
+            throw new IllegalArgumentException("No events given");
+        }
+        if (events.size() > MAX_SYNC_EVENTS) {
+            throw new IllegalArgumentException("At most " + MAX_SYNC_EVENTS + " events per sync");
+        }
+        Map<String, List<ProgressEvent>> byPlan = new LinkedHashMap<>();
+        for (ProgressEvent event : events) {
+            if (event.getPlanId() == null || event.getPlanId().isEmpty()) {
+                throw new IllegalArgumentException("Every event needs a planId");
+            }
+            byPlan.computeIfAbsent(event.getPlanId(), id -> new ArrayList<>()).add(event);
+        }
+
+        Map<String, LearningPlan> plans = new HashMap<>();
+        for (LearningPlan plan : mongoTemplate.find(syncQuery(Criteria.where("id").in(byPlan.keySet())), LearningPlan.class)) {
+            plans.put(plan.getId(), plan);
+        }
+
+        long now = System.currentTimeMillis();
+        List<ProgressSyncResult> results = new ArrayList<>();
+        for (Map.Entry<String, List<ProgressEvent>> entry : byPlan.entrySet()) {
+            results.add(syncPlan(entry.getKey(), plans.get(entry.getKey()), entry.getValue(), now));
+        }
+        return results;
+    }
+
+    private ProgressSyncResult syncPlan(String planId, LearningPlan plan, List<ProgressEvent> events, long now) {
+        for (int attempt = 1; plan != null; attempt++) {
+            SyncMerge merge = new SyncMerge(plan, events, now);
+            if (merge.applied == 0) {
+                return merge.result(ProgressSyncResult.APPLIED, plan);
+            }
+            Query query = syncQuery(Criteria.where("id").is(planId).andOperator(revisionIs(plan.getRevision())));
+            LearningPlan written = mongoTemplate.findAndModify(query, merge.update,
+                    FindAndModifyOptions.options().returnNew(true), LearningPlan.class);
+            if (written != null) {
+                if (merge.progressChanged) {
+                    eventPublisher.publishEvent(LearningPlanEvent.changed(plan, written));
+                }
+                return merge.result(ProgressSyncResult.APPLIED, written);
+            }
+            if (attempt == MAX_SYNC_ATTEMPTS) {
+                return merge.result(ProgressSyncResult.CONFLICT, null);
+            }
+            // Someone wrote in between: merge again against what is there now
+            plan = mongoTemplate.findOne(syncQuery(Criteria.where("id").is(planId)), LearningPlan.class);
+        }
+        return new ProgressSyncResult(planId, ProgressSyncResult.NOT_FOUND, 0, 0, events.size(), null);
+    }
+
+    private static Query syncQuery(Criteria criteria) {
+        Query query = new Query(criteria);
+        query.fields().include("revision", "progress", "completedItems", "subjects", "milestones", "progressClock",
+                "userId", "templateId", "startDate", "completedAt");
+        return query;
+    }
+
+    // Winning events for one plan, and the update that writes them
+    static class SyncMerge {
+        final Update update = new Update();
+        final String planId;
+        boolean progressChanged;
+        int applied;
+        int superseded;
+        int rejected;
+
+        SyncMerge(LearningPlan plan, List<ProgressEvent> events, long now) {
+            planId = plan.getId();
+            List<LearningPlan.Subject> subjects = plan.getSubjects() != null ? plan.getSubjects() : List.of();
+            int milestones = plan.getMilestones() != null ? plan.getMilestones().size() : 0;
+            Map<String, Long> clock = plan.getProgressClock() != null ? plan.getProgressClock() : Map.of();
+
+            // Stable sort, so among equal timestamps the later event in the batch wins
+            List<ProgressEvent> ordered = new ArrayList<>(events);
+            ordered.sort(Comparator.comparingLong(event -> Math.min(event.getTimestamp(), now)));
+            Map<String, ProgressEvent> winners = new LinkedHashMap<>();
+            for (ProgressEvent event : ordered) {
+                if (!valid(event, subjects.size(), milestones)) {
+                    rejected++;
+                } else if (winners.put(event.clockKey(), event) != null) {
+                    superseded++;
+                }
+            }
+
+            Map<Integer, String> statuses = new HashMap<>();
+            for (ProgressEvent event : winners.values()) {
+                // Client clocks can run ahead; a future timestamp would otherwise pin the entry
+                long timestamp = Math.min(event.getTimestamp(), now);
+                Long current = clock.get(event.clockKey());
+                if (current != null && current >= timestamp) {
+                    superseded++;
+                    continue;
+                }
+                switch (event.getType()) {
+                    case ProgressEvent.ITEM -> update.set("completedItems." + event.getKey(), event.getValue());
+                    case ProgressEvent.SUBJECT -> {
+                        update.set("subjects." + event.getKey() + ".status", event.getValue());
+                        statuses.put(Integer.parseInt(event.getKey()), (String) event.getValue());
+                    }
+                    default -> update.set("milestones." + event.getKey() + ".completed", event.getValue());
+                }
+                update.set("progressClock." + event.clockKey(), timestamp);
+                applied++;
+            }
+            if (applied > 0) {
+                update.inc("revision", 1);
+                if (!statuses.isEmpty()) {
+                    List<String> merged = new ArrayList<>();
+                    for (int i = 0; i < subjects.size(); i++) {
+                        merged.add(statuses.getOrDefault(i, subjects.get(i).getStatus()));
+                    }
+                    String progress = progressOf(merged);
+                    update.set("progress", progress);
+                    LocalDateTime completedAt = completedAt(progress, plan.getCompletedAt());
+                    if (completedAt != null) {
+                        update.set("completedAt", completedAt);
+                    } else {
+                        update.unset("completedAt");
+                    }
+                    progressChanged = true;
+                }
+            }
+        }
+
+        ProgressSyncResult result(String status, LearningPlan plan) {
+            return new ProgressSyncResult(planId, status, applied, superseded, rejected, plan);
+        }
+
+        private static boolean valid(ProgressEvent event, int subjects, int milestones) {
+            if (event.getType() == null || event.getKey() == null) {
+                return false;
+            }
+            try {
+                return switch (event.getType()) {
+                    case ProgressEvent.ITEM -> checkItemKey(event.getKey()) != null && event.getValue() instanceof Boolean;
+                    case ProgressEvent.SUBJECT -> inRange(event.getKey(), subjects) && SUBJECT_STATUSES.contains(event.getValue());
+                    case ProgressEvent.MILESTONE -> inRange(event.getKey(), milestones) && event.getValue() instanceof Boolean;
+                    default -> false;
+                };
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+
+        private static boolean inRange(String key, int size) {
+            int index = Integer.parseInt(key);
+            return index >= 0 && index < size && key.equals(String.valueOf(index));
+        }
+    }
+
+    // Same rule as the progress pipeline: nothing completed, some completed, or all completed
+    static String progressOf(List<String> subjectStatuses) {
+        long done = subjectStatuses.stream().filter("COMPLETED"::equals).count();
+        if (done == 0) {
+            return "NOT_STARTED";
+        }
+        return done < subjectStatuses.size() ? "IN_PROGRESS" : "COMPLETED";
+    }
+
+    // When a plan whose progress is now the given value was completed: kept from before, now, or never
+    public static LocalDateTime completedAt(String progress, LocalDateTime previous) {
+        if (!"COMPLETED".equals(progress)) {
+            return null;
+        }
+        return previous != null ? previous : LocalDateTime.now();
+    }
+
+    // Plans written before revisions existed have no field; they count as revision 0
+    static Criteria revisionIs(long revision) {
+        if (revision == 0) {
+            return new Criteria().orOperator(Criteria.where("revision").is(0L), Criteria.where("revision").exists(false));
+        }
+        return Criteria.where("revision").is(revision);
+    }
+
+    // Works out why the conditional update matched nothing; a missing plan is left to the caller
+    private void rejectDelta(String planId, long expectedRevision) {
+        Query query = new Query(Criteria.where("id").is(planId));
+        query.fields().include("revision");
+        LearningPlan current = mongoTemplate.findOne(query, LearningPlan.class);
+        if (current == null) {
+            return;
+        }
+        if (current.getRevision() != expectedRevision) {
+            throw new IllegalStateException("Plan was modified; current revision is " + current.getRevision());
+        }
+        throw new IllegalArgumentException("Subject or milestone index out of range");
+    }
+
+    private static LearningPlan summary(LearningPlan plan) {
+        LearningPlan summary = new LearningPlan();
+        summary.setId(plan.getId());
+        summary.setRevision(plan.getRevision());
+        summary.setProgress(plan.getProgress());
+        summary.setCompletedItems(plan.getCompletedItems());
+        return summary;
+    }
+
+    private static String checkItemKey(String key) {
+        if (key == null || key.isEmpty() || key.length() > 200 || key.contains(".") || key.startsWith("$")) {
+            throw new IllegalArgumentException("Invalid item key: " + key);
+        }
+        return key;
+    }
+
+    private static int checkIndex(Integer index) {
+        if (index == null || index < 0) {
+            throw new IllegalArgumentException("Invalid index: " + index);
+        }
+        return index;
+    }
+
+    private static int maxIndex(Map<Integer, ?> changes) {
+        return changes.keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    private static int size(Map<?, ?> map) {
+        return map == null ? 0 : map.size();
+    }
+}
@@ -0,0 +1,98 @@
+package com.skillsync.cooking_edition.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.skillsync.cooking_edition.model.LearningPlan;
+
+@Service
+public class LearningPlanQueryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // What a summary row carries: no subjects, materials, milestones or per-item progress
+    private static final String[] SUMMARY_FIELDS = { "userId", "templateId", "title", "description",
+            "startDate", "dueDate", "progress", "completedAt", "revision" };
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Plans ordered by due date (undated first), then id; every filter combination has a matching
+    // (equality..., dueDate, _id) index on learning_plans
+    public CursorPage<LearningPlan> findPlans(String userId, String progress, LocalDate dueFrom, LocalDate dueTo,
+                                             String cursor, Integer limit, boolean summary) {
+        int pageSize = CursorPage.clampLimit(limit, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        if (dueFrom != null && dueTo != null && dueFrom.isAfter(dueTo)) {
+            throw new IllegalArgumentException("dueFrom must not be after dueTo");
+        }
+
+        List<Criteria> filters = new ArrayList<>();
+        if (userId != null && !userId.isEmpty()) {
+            filters.add(Criteria.where("userId").is(userId));
+        }
+        if (progress != null && !progress.isEmpty()) {
+            if (!LearningPlanProgressService.SUBJECT_STATUSES.contains(progress)) {
+                throw new IllegalArgumentException("progress must be NOT_STARTED, IN_PROGRESS or COMPLETED");
+            }
+            filters.add(Criteria.where("progress").is(progress));
+        }
+        if (dueFrom != null || dueTo != null) {
+            Criteria due = Criteria.where("dueDate");
+            if (dueFrom != null) {
+                due = due.gte(dueFrom);
+            }
+            if (dueTo != null) {
+                due = due.lte(dueTo);
+            }
+            filters.add(due);
+        }
+        if (cursor != null && !cursor.isEmpty()) {
+            filters.add(after(CursorPage.decodeCursor(cursor)));
+        }
+
+        Query query = new Query(filters.isEmpty() ? new Criteria() : new Criteria().andOperator(filters))
+                .with(Sort.by(Sort.Direction.ASC, "dueDate").and(Sort.by(Sort.Direction.ASC, "id")))
+                .limit(pageSize + 1);
+        if (summary) {
+            query.fields().include(SUMMARY_FIELDS);
+        }
+        List<LearningPlan> plans = mongoTemplate.find(query, LearningPlan.class);
+
+        String nextCursor = null;
+        if (plans.size() > pageSize) {
+            plans = plans.subList(0, pageSize);
+            LearningPlan last = plans.get(pageSize - 1);
+            nextCursor = CursorPage.encodeCursor(last.getDueDate() != null ? last.getDueDate().toString() : "", last.getId());
+        }
+        return new CursorPage<>(plans, nextCursor);
+    }
+
+    // Undated plans sort before every dated one, so an undated cursor continues into all dated plans
+    private static Criteria after(String[] position) {
+        String id = position[1];
+        if (position[0].isEmpty()) {
+            return new Criteria().orOperator(
+                    Criteria.where("dueDate").is(null).and("id").gt(id),
+                    Criteria.where("dueDate").ne(null));
+        }
+        LocalDate dueDate;
+        try {
+            dueDate = LocalDate.parse(position[0]);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        return new Criteria().orOperator(
+                Criteria.where("dueDate").gt(dueDate),
+                Criteria.where("dueDate").is(dueDate).and("id").gt(id));
+    }
+}
@@ -0,0 +1,75 @@
+package com.skillsync.cooking_edition.service;
+
+// Open-addressing set of 64-bit keys: about 16 bytes per entry instead of ~100 for a HashSet<String>.
+// Zero marks an empty slot, so a zero key is stored as one.
+class LongHashSet {
+
+    private long[] slots;
+    private int size;
+
+    LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        slots = new long[capacity];
+    }
+
+    void add(long key) {
+        if (key == 0) {
+            key = 1;
+        }
+        if ((size + 1) * 2 > slots.length) {
+            grow();
+        }
+        if (insert(slots, key)) {
+            size++;
+        }
+    }
+
+    boolean contains(long key) {
+        if (key == 0) {
+            key = 1;
+        }
+        int mask = slots.length - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            if (slots[i] == key) {
+                return true;
+            }
+            if (slots[i] == 0) {
+                return false;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] larger = new long[slots.length * 2];
+        for (long key : slots) {
+            if (key != 0) {
+                insert(larger, key);
+            }
+        }
+        slots = larger;
+    }
+
+    private static boolean insert(long[] table, long key) {
+        int mask = table.length - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            if (table[i] == key) {
+                return false;
+            }
+            if (table[i] == 0) {
+                table[i] = key;
+                return true;
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -0,0 +1,364 @@
+package com.skillsync.cooking_edition.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.skillsync.cooking_edition.model.Comment;
+import com.skillsync.cooking_edition.model.CookingPost;
+import com.skillsync.cooking_edition.model.MediaInfo;
+import com.skillsync.cooking_edition.model.MediaObject;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.model.User;
+
+import jakarta.annotation.PreDestroy;
+
+// Mark-and-sweep collection of media files no post, user or comment references any more.
+// Mark streams every referenced URL into a set of 64-bit key hashes; sweep walks the store and
+// removes unreferenced files older than the grace period, which protects uploads still in flight.
+@Service
+public class MediaGarbageCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaGarbageCollector.class);
+
+    private static final int DELETE_BATCH = 500;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MediaStore mediaStore;
+
+    @Value("${media.gc.enabled:true}")
+    private boolean scheduledEnabled;
+
+    @Value("${media.gc.grace-period-hours:24}")
+    private long gracePeriodHours;
+
+    @Value("${media.gc.quarantine:true}")
+    private boolean quarantine;
+
+    @Value("${media.gc.quarantine-retention-days:7}")
+    private long quarantineRetentionDays;
+
+    @Value("${media.gc.rate-limit-per-second:100}")
+    private int rateLimitPerSecond;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile MediaGcReport lastReport;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "media-gc");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Returns false when a collection is already running
+    public boolean start(boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                lastReport = collect(dryRun);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public MediaGcReport getLastReport() {
+        return lastReport;
+    }
+
+    @Scheduled(cron = "${media.gc.cron:0 30 3 * * *}")
+    public void scheduledCollect() {
+        if (scheduledEnabled && start(false)) {
+            logger.info("Started scheduled media garbage collection");
+        }
+    }
+
+    MediaGcReport collect(boolean dryRun) {
+        MediaGcReport report = new MediaGcReport(dryRun);
+        try {
+            LongHashSet referenced = mark();
+            report.setReferencedUrls(referenced.size());
+            sweep(referenced, report);
+            if (!dryRun) {
+                purgeQuarantine();
+                purgeStaleTempFiles();
+            }
+            logger.info("Media GC {}: scanned {} files, removed {} ({} quarantined), reclaimed {} bytes",
+                    dryRun ? "dry run" : "finished", report.getFilesScanned(),
+                    report.getFilesDeleted() + report.getFilesQuarantined(), report.getFilesQuarantined(),
+                    report.getBytesReclaimed());
+        } catch (Exception e) {
+            logger.error("Media GC failed", e);
+            report.setError(e.getMessage());
+        }
+        report.setFinishedAt(LocalDateTime.now());
+        return report;
+    }
+
+    private LongHashSet mark() {
+        LongHashSet referenced = new LongHashSet(1 << 16);
+
+        Query posts = new Query();
+        posts.fields().include("mediaUrls", "media", "userPicture");
+        try (Stream<Post> stream = mongoTemplate.stream(posts, Post.class)) {
+            stream.forEach(post -> {
+                if (post.getMediaUrls() != null) {
+                    post.getMediaUrls().forEach(url -> markUrl(referenced, url));
+                }
+                if (post.getMedia() != null) {
+                    post.getMedia().forEach(info -> markInfo(referenced, info));
+                }
+                markUrl(referenced, post.getUserPicture());
+            });
+        }
+
+        Query users = new Query();
+        users.fields().include("profilePicture", "coverPhoto", "profilePictureInfo", "coverPhotoInfo");
+        try (Stream<User> stream = mongoTemplate.stream(users, User.class)) {
+            stream.forEach(user -> {
+                markUrl(referenced, user.getProfilePicture());
+                markUrl(referenced, user.getCoverPhoto());
+                markInfo(referenced, user.getProfilePictureInfo());
+                markInfo(referenced, user.getCoverPhotoInfo());
+            });
+        }
+
+        // Comments keep a copy of the commenter's picture URL
+        Query comments = new Query();
+        comments.fields().include("userPicture");
+        try (Stream<Comment> stream = mongoTemplate.stream(comments, Comment.class)) {
+            stream.forEach(comment -> markUrl(referenced, comment.getUserPicture()));
+        }
+
+        Query cookingPosts = new Query();
+        cookingPosts.fields().include("mediaUrls");
+        try (Stream<CookingPost> stream = mongoTemplate.stream(cookingPosts, CookingPost.class)) {
+            stream.forEach(post -> {
+                if (post.getMediaUrls() != null) {
+                    post.getMediaUrls().forEach(url -> markUrl(referenced, url));
+                }
+            });
+        }
+        return referenced;
+    }
+
+    private static void markInfo(LongHashSet referenced, MediaInfo info) {
+        if (info == null) {
+            return;
+        }
+        markUrl(referenced, info.getUrl());
+        if (info.getVariants() != null) {
+            info.getVariants().values().forEach(url -> markUrl(referenced, url));
+        }
+    }
+
+    // A flat URL may refer to a file that has since moved into its shard, so both keys are kept
+    private static void markUrl(LongHashSet referenced, String url) {
+        String storageKey = MediaStore.storageKeyOf(url);
+        if (storageKey == null) {
+            return;
+        }
+        referenced.add(hash(storageKey));
+        if (!MediaStore.isSharded(storageKey)) {
+            referenced.add(hash(MediaStore.shardedKey(storageKey)));
+        }
+    }
+
+    private void sweep(LongHashSet referenced, MediaGcReport report) throws IOException {
+        Path root = mediaStore.getRoot();
+        long cutoff = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(gracePeriodHours);
+        List<String> removedKeys = new ArrayList<>();
+        long[] window = { System.nanoTime(), 0 };
+
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) {
+                if (dir.getParent() != null && dir.getParent().equals(root) && isWorkingDirectory(dir.getFileName().toString())) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                if (!attributes.isRegularFile()) {
+                    return FileVisitResult.CONTINUE;
+                }
+                report.scanned();
+                String storageKey = root.relativize(file).toString().replace('\\', '/');
+                if (referenced.contains(hash(storageKey))) {
+                    report.kept();
+                    return FileVisitResult.CONTINUE;
+                }
+                if (attributes.lastModifiedTime().toMillis() > cutoff) {
+                    report.tooYoung();
+                    return FileVisitResult.CONTINUE;
+                }
+
+                if (report.isDryRun()) {
+                    report.deleted(attributes.size());
+                } else if (quarantine) {
+                    moveToQuarantine(file, storageKey);
+                    report.quarantined(attributes.size());
+                } else {
+                    Files.deleteIfExists(file);
+                    report.deleted(attributes.size());
+                }
+                if (!report.isDryRun()) {
+                    removedKeys.add(storageKey);
+                    if (removedKeys.size() >= DELETE_BATCH) {
+                        report.setMediaObjectsRemoved(report.getMediaObjectsRemoved() + removeMediaObjects(removedKeys));
+                        removedKeys.clear();
+                    }
+                    throttle(window);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                logger.warn("Media GC could not read {}: {}", file, e.getMessage());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        if (!removedKeys.isEmpty()) {
+            report.setMediaObjectsRemoved(report.getMediaObjectsRemoved() + removeMediaObjects(removedKeys));
+        }
+    }
+
+    // The dedup index must not point at files that are gone
+    private long removeMediaObjects(List<String> storageKeys) {
+        return mongoTemplate.remove(new Query(Criteria.where("storageKey").in(storageKeys)), MediaObject.class)
+                .getDeletedCount();
+    }
+
+    private void moveToQuarantine(Path file, String storageKey) throws IOException {
+        Path target = mediaStore.resolve(MediaStore.QUARANTINE_DIR + "/" + LocalDate.now() + "/" + storageKey);
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Quarantine is kept per day so a bad run can be undone by moving a day's directory back
+    private void purgeQuarantine() throws IOException {
+        Path quarantineRoot = mediaStore.resolve(MediaStore.QUARANTINE_DIR);
+        if (!Files.isDirectory(quarantineRoot)) {
+            return;
+        }
+        LocalDate oldestKept = LocalDate.now().minusDays(quarantineRetentionDays);
+        try (Stream<Path> days = Files.list(quarantineRoot)) {
+            for (Path day : (Iterable<Path>) days::iterator) {
+                try {
+                    if (LocalDate.parse(day.getFileName().toString()).isBefore(oldestKept)) {
+                        deleteTree(day);
+                    }
+                } catch (DateTimeParseException e) {
+                    logger.warn("Ignoring unexpected quarantine entry {}", day);
+                }
+            }
+        }
+    }
+
+    // Temp files left behind by a crash mid-upload or mid-resize
+    private void purgeStaleTempFiles() throws IOException {
+        Path tempDir = mediaStore.resolve(MediaStore.TEMP_DIR);
+        if (!Files.isDirectory(tempDir)) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(gracePeriodHours);
+        try (Stream<Path> files = Files.list(tempDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.isRegularFile(file) && Files.getLastModifiedTime(file).toMillis() < cutoff) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static void deleteTree(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private void throttle(long[] window) {
+        if (rateLimitPerSecond <= 0 || ++window[1] < rateLimitPerSecond) {
+            return;
+        }
+        long elapsed = System.nanoTime() - window[0];
+        long remaining = Duration.ofSeconds(1).toNanos() - elapsed;
+        if (remaining > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        window[0] = System.nanoTime();
+        window[1] = 0;
+    }
+
+    private static boolean isWorkingDirectory(String name) {
+        return Set.of(MediaStore.TEMP_DIR, MediaStore.CHUNKS_DIR, MediaStore.QUARANTINE_DIR).contains(name);
+    }
+
+    // 64-bit FNV-1a; a collision can only make the collector keep a file, never delete one
+    private static long hash(String storageKey) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : storageKey.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
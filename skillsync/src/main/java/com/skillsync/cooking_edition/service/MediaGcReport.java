@@ -0,0 +1,110 @@
+package com.skillsync.cooking_edition.service;
+
+import java.time.LocalDateTime;
+
+// Outcome of one media garbage collection run
+public class MediaGcReport {
+
+    private final boolean dryRun;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private LocalDateTime finishedAt;
+    private long referencedUrls;
+    private long filesScanned;
+    private long filesKept;
+    private long filesTooYoung;
+    private long filesDeleted;
+    private long filesQuarantined;
+    private long bytesReclaimed;
+    private long mediaObjectsRemoved;
+    private String error;
+
+    public MediaGcReport(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public long getReferencedUrls() {
+        return referencedUrls;
+    }
+
+    public void setReferencedUrls(long referencedUrls) {
+        this.referencedUrls = referencedUrls;
+    }
+
+    public long getFilesScanned() {
+        return filesScanned;
+    }
+
+    public long getFilesKept() {
+        return filesKept;
+    }
+
+    public long getFilesTooYoung() {
+        return filesTooYoung;
+    }
+
+    public long getFilesDeleted() {
+        return filesDeleted;
+    }
+
+    public long getFilesQuarantined() {
+        return filesQuarantined;
+    }
+
+    public long getBytesReclaimed() {
+        return bytesReclaimed;
+    }
+
+    public long getMediaObjectsRemoved() {
+        return mediaObjectsRemoved;
+    }
+
+    public void setMediaObjectsRemoved(long mediaObjectsRemoved) {
+        this.mediaObjectsRemoved = mediaObjectsRemoved;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    void scanned() {
+        filesScanned++;
+    }
+
+    void kept() {
+        filesKept++;
+    }
+
+    void tooYoung() {
+        filesTooYoung++;
+    }
+
+    void deleted(long bytes) {
+        filesDeleted++;
+        bytesReclaimed += bytes;
+    }
+
+    void quarantined(long bytes) {
+        filesQuarantined++;
+        bytesReclaimed += bytes;
+    }
+}
@@ -0,0 +1,177 @@
+package com.skillsync.cooking_edition.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.skillsync.cooking_edition.model.MediaInfo;
+
+// Stores the files of one post upload, in parallel when there are several. Either every file is
+// stored or none is: on any failure or timeout the references already taken are released.
+@Service
+public class MediaIngestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaIngestService.class);
+
+    @Autowired
+    private MediaStore mediaStore;
+
+    @Autowired
+    private Mp4Inspector mp4Inspector;
+
+    @Autowired
+    private ImageSanitizer imageSanitizer;
+
+    @Autowired
+    @Qualifier("mediaIngestExecutor")
+    private ExecutorService mediaIngestExecutor;
+
+    @Value("${media.ingest.parallel:true}")
+    private boolean parallel;
+
+    @Value("${media.ingest.timeout-seconds:30}")
+    private long timeoutSeconds;
+
+    // Returns one MediaInfo per file, in upload order. Throws RejectedExecutionException when the
+    // ingest pool is saturated; nothing is stored in that case.
+    public List<MediaInfo> ingest(List<MultipartFile> files) throws IOException {
+        if (!parallel || files.size() < 2) {
+            List<MediaInfo> ingested = new ArrayList<>();
+            try {
+                for (MultipartFile file : files) {
+                    ingested.add(ingestOne(file));
+                }
+            } catch (IOException | RuntimeException e) {
+                ingested.forEach(info -> mediaStore.release(info.getUrl()));
+                throw e;
+            }
+            return ingested;
+        }
+
+        // Guarded by itself: a file either lands in stored before the abort, or releases itself after it
+        List<MediaInfo> stored = new ArrayList<>();
+        boolean[] aborted = { false };
+        List<Future<MediaInfo>> futures = new ArrayList<>(files.size());
+        List<MediaInfo> ingested = new ArrayList<>(files.size());
+        Exception failure = null;
+        try {
+            for (MultipartFile file : files) {
+                futures.add(mediaIngestExecutor.submit(() -> {
+                    MediaInfo info = ingestOne(file);
+                    synchronized (stored) {
+                        if (aborted[0]) {
+                            mediaStore.release(info.getUrl());
+                            return null;
+                        }
+                        stored.add(info);
+                    }
+                    return info;
+                }));
+            }
+        } catch (RejectedExecutionException e) {
+            // Saturated: fail fast rather than doing the work on the request thread
+            failure = e;
+        }
+
+        // One deadline for the whole upload, not one timeout per file
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        for (int i = 0; i < futures.size() && failure == null; i++) {
+            try {
+                ingested.add(futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                failure = new IOException("Timed out storing " + files.get(i).getOriginalFilename());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                failure = cause instanceof IOException ? (IOException) cause
+                        : new IOException("Failed to store " + files.get(i).getOriginalFilename(), cause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = new IOException("Interrupted while storing media", e);
+            }
+        }
+
+        if (failure != null) {
+            futures.forEach(future -> future.cancel(true));
+            int released;
+            synchronized (stored) {
+                aborted[0] = true;
+                stored.forEach(info -> mediaStore.release(info.getUrl()));
+                released = stored.size();
+            }
+            logger.warn("Media ingestion failed, released {} stored files: {}", released, failure.getMessage());
+            if (failure instanceof RejectedExecutionException) {
+                throw (RejectedExecutionException) failure;
+            }
+            throw (IOException) failure;
+        }
+        return ingested;
+    }
+
+    // Stores a single file on the calling thread
+    public MediaInfo ingest(MultipartFile file) throws IOException {
+        return ingestOne(file);
+    }
+
+    // Sanitizes an image file that is already on disk and stores the result; source is left in place
+    public MediaInfo ingestImage(Path source, String extension, String contentType) throws IOException {
+        Path sanitized = Files.createTempFile(mediaStore.resolve(MediaStore.TEMP_DIR), "sanitized-", ".part");
+        try {
+            // Metadata is stripped before hashing so identical pictures dedupe regardless of EXIF
+            SanitizedImage image = imageSanitizer.sanitize(source, sanitized);
+            StoredMedia stored = mediaStore.importFile(sanitized, extension, contentType);
+            MediaInfo info = new MediaInfo(stored.getUrl(), contentType);
+            info.setFormat(image.getFormat());
+            info.setWidth(image.getWidth());
+            info.setHeight(image.getHeight());
+            if (image.getSize() < image.getOriginalSize()) {
+                logger.debug("Sanitized {}: {} -> {} bytes", stored.getUrl(), image.getOriginalSize(), image.getSize());
+            }
+            return info;
+        } finally {
+            Files.deleteIfExists(sanitized);
+        }
+    }
+
+    private MediaInfo ingestOne(MultipartFile file) throws IOException {
+        String contentType = file.getContentType();
+        if (contentType != null && contentType.startsWith("image/")) {
+            // Spooled to disk rather than read into a byte array, so large images never sit on the heap
+            Path upload = Files.createTempFile(mediaStore.resolve(MediaStore.TEMP_DIR), "upload-", ".part");
+            try {
+                try (InputStream in = file.getInputStream()) {
+                    Files.copy(in, upload, StandardCopyOption.REPLACE_EXISTING);
+                }
+                return ingestImage(upload, MediaStore.extensionOf(file.getOriginalFilename()), contentType);
+            } finally {
+                Files.deleteIfExists(upload);
+            }
+        }
+
+        StoredMedia stored = mediaStore.store(file);
+        MediaInfo info = new MediaInfo(stored.getUrl(), contentType);
+        if (contentType != null && contentType.startsWith("video/")) {
+            if (mp4Inspector.inspectInto(info, mediaStore.resolve(stored.getStorageKey())) == null) {
+                logger.info("No MP4 metadata found for {}", stored.getUrl());
+            }
+        }
+        return info;
+    }
+}
@@ -0,0 +1,69 @@
+package com.skillsync.cooking_edition.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.skillsync.cooking_edition.model.MediaInfo;
+
+// Rewrites media URLs into the sharded layout for one migration batch, moving each file at most once
+class MediaRelocation {
+
+    private final MediaStore mediaStore;
+    private final Map<String, String> relocated = new HashMap<>();
+
+    MediaRelocation(MediaStore mediaStore) {
+        this.mediaStore = mediaStore;
+    }
+
+    String url(String url) {
+        if (url == null) {
+            return null;
+        }
+        return relocated.computeIfAbsent(url, original -> {
+            try {
+                return mediaStore.relocate(original);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not relocate " + original, e);
+            }
+        });
+    }
+
+    List<String> urls(List<String> urls) {
+        List<String> result = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            result.add(url(url));
+        }
+        return result;
+    }
+
+    MediaInfo info(MediaInfo info) {
+        if (info == null) {
+            return null;
+        }
+        MediaInfo result = new MediaInfo(url(info.getUrl()), info.getContentType());
+        result.setFormat(info.getFormat());
+        result.setWidth(info.getWidth());
+        result.setHeight(info.getHeight());
+        result.setDurationSeconds(info.getDurationSeconds());
+        result.setCodec(info.getCodec());
+        result.setPlaceholder(info.getPlaceholder());
+        Map<String, String> variants = new HashMap<>();
+        if (info.getVariants() != null) {
+            info.getVariants().forEach((name, url) -> variants.put(name, url(url)));
+        }
+        result.setVariants(variants);
+        return result;
+    }
+
+    List<MediaInfo> infos(List<MediaInfo> infos) {
+        List<MediaInfo> result = new ArrayList<>(infos.size());
+        for (MediaInfo info : infos) {
+            result.add(info(info));
+        }
+        return result;
+    }
+}
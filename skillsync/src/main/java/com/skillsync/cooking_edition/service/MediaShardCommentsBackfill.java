@@ -0,0 +1,68 @@
+package com.skillsync.cooking_edition.service;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.skillsync.cooking_edition.model.Comment;
+
+// Moves the commenter pictures copied onto comments from the flat uploads directory into shards
+@Component
+public class MediaShardCommentsBackfill implements BackfillTask {
+
+    public static final String NAME = "media-shard-comments";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MediaStore mediaStore;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public BatchResult processBatch(String afterCursor, int batchSize) {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .limit(batchSize);
+        if (afterCursor != null) {
+            query.addCriteria(Criteria.where("id").gt(afterCursor));
+        }
+        query.fields().include("id", "userPicture");
+
+        List<Comment> comments = mongoTemplate.find(query, Comment.class);
+        if (comments.isEmpty()) {
+            return new BatchResult(afterCursor, 0, 0, true);
+        }
+
+        MediaRelocation relocation = new MediaRelocation(mediaStore);
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Comment.class);
+        boolean hasUpdates = false;
+        for (Comment comment : comments) {
+            String userPicture = relocation.url(comment.getUserPicture());
+            if (Objects.equals(userPicture, comment.getUserPicture())) {
+                continue;
+            }
+            // Guarded on the old value so a picture refreshed mid-migration is left alone
+            bulk.updateOne(new Query(Criteria.where("id").is(comment.getId())
+                            .and("userPicture").is(comment.getUserPicture())),
+                    new Update().set("userPicture", userPicture));
+            hasUpdates = true;
+        }
+        int updated = hasUpdates ? bulk.execute().getModifiedCount() : 0;
+
+        String lastCursor = comments.get(comments.size() - 1).getId();
+        return new BatchResult(lastCursor, comments.size(), updated, comments.size() < batchSize);
+    }
+}
@@ -0,0 +1,77 @@
+package com.skillsync.cooking_edition.service;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.skillsync.cooking_edition.model.MediaInfo;
+import com.skillsync.cooking_edition.model.Post;
+
+// Moves post media (and the author pictures copied onto posts) from the flat uploads directory into shards
+@Component
+public class MediaShardPostsBackfill implements BackfillTask {
+
+    public static final String NAME = "media-shard-posts";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MediaStore mediaStore;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public BatchResult processBatch(String afterCursor, int batchSize) {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .limit(batchSize);
+        if (afterCursor != null) {
+            query.addCriteria(Criteria.where("id").gt(afterCursor));
+        }
+        query.fields().include("id", "mediaUrls", "media", "userPicture");
+
+        List<Post> posts = mongoTemplate.find(query, Post.class);
+        if (posts.isEmpty()) {
+            return new BatchResult(afterCursor, 0, 0, true);
+        }
+
+        MediaRelocation relocation = new MediaRelocation(mediaStore);
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class);
+        boolean hasUpdates = false;
+        for (Post post : posts) {
+            List<String> mediaUrls = relocation.urls(post.getMediaUrls());
+            List<MediaInfo> media = relocation.infos(post.getMedia());
+            String userPicture = relocation.url(post.getUserPicture());
+            if (mediaUrls.equals(post.getMediaUrls()) && media.equals(post.getMedia())
+                    && Objects.equals(userPicture, post.getUserPicture())) {
+                continue;
+            }
+            // Guarded on the old URLs so a post edited mid-migration is left alone
+            Criteria criteria = Criteria.where("id").is(post.getId());
+            if (!post.getMediaUrls().isEmpty()) {
+                criteria = criteria.and("mediaUrls").is(post.getMediaUrls());
+            }
+            bulk.updateOne(new Query(criteria), new Update()
+                    .set("mediaUrls", mediaUrls)
+                    .set("media", media)
+                    .set("userPicture", userPicture));
+            hasUpdates = true;
+        }
+        int updated = hasUpdates ? bulk.execute().getModifiedCount() : 0;
+
+        String lastCursor = posts.get(posts.size() - 1).getId();
+        return new BatchResult(lastCursor, posts.size(), updated, posts.size() < batchSize);
+    }
+}
@@ -0,0 +1,80 @@
+package com.skillsync.cooking_edition.service;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.skillsync.cooking_edition.model.MediaInfo;
+import com.skillsync.cooking_edition.model.User;
+
+// Moves profile and cover pictures from the flat uploads directory into shards
+@Component
+public class MediaShardUsersBackfill implements BackfillTask {
+
+    public static final String NAME = "media-shard-users";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MediaStore mediaStore;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public BatchResult processBatch(String afterCursor, int batchSize) {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .limit(batchSize);
+        if (afterCursor != null) {
+            query.addCriteria(Criteria.where("id").gt(afterCursor));
+        }
+        query.fields().include("id", "profilePicture", "coverPhoto", "profilePictureInfo", "coverPhotoInfo");
+
+        List<User> users = mongoTemplate.find(query, User.class);
+        if (users.isEmpty()) {
+            return new BatchResult(afterCursor, 0, 0, true);
+        }
+
+        MediaRelocation relocation = new MediaRelocation(mediaStore);
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        boolean hasUpdates = false;
+        for (User user : users) {
+            String profilePicture = relocation.url(user.getProfilePicture());
+            String coverPhoto = relocation.url(user.getCoverPhoto());
+            MediaInfo profilePictureInfo = relocation.info(user.getProfilePictureInfo());
+            MediaInfo coverPhotoInfo = relocation.info(user.getCoverPhotoInfo());
+            if (Objects.equals(profilePicture, user.getProfilePicture())
+                    && Objects.equals(coverPhoto, user.getCoverPhoto())
+                    && Objects.equals(profilePictureInfo, user.getProfilePictureInfo())
+                    && Objects.equals(coverPhotoInfo, user.getCoverPhotoInfo())) {
+                continue;
+            }
+            // Guarded on the old values so a picture changed mid-migration is left alone
+            bulk.updateOne(new Query(Criteria.where("id").is(user.getId())
+                            .and("profilePicture").is(user.getProfilePicture())
+                            .and("coverPhoto").is(user.getCoverPhoto())),
+                    new Update()
+                            .set("profilePicture", profilePicture)
+                            .set("coverPhoto", coverPhoto)
+                            .set("profilePictureInfo", profilePictureInfo)
+                            .set("coverPhotoInfo", coverPhotoInfo));
+            hasUpdates = true;
+        }
+        int updated = hasUpdates ? bulk.execute().getModifiedCount() : 0;
+
+        String lastCursor = users.get(users.size() - 1).getId();
+        return new BatchResult(lastCursor, users.size(), updated, users.size() < batchSize);
+    }
+}
@@ -0,0 +1,345 @@
+package com.skillsync.cooking_edition.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.skillsync.cooking_edition.model.MediaObject;
+
+import jakarta.annotation.PostConstruct;
+
+// Content-addressed store for uploaded media: identical bytes are kept once and reference-counted
+@Service
+public class MediaStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaStore.class);
+
+    public static final String URL_PREFIX = "/uploads/";
+    public static final String TEMP_DIR = "tmp";
+    public static final String CHUNKS_DIR = "chunks";
+    public static final String QUARANTINE_DIR = "quarantine";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${upload.path:uploads}")
+    private String uploadPath;
+
+    private Path root;
+    private Path tempDir;
+
+    @PostConstruct
+    public void init() {
+        root = Paths.get(uploadPath).toAbsolutePath().normalize();
+        tempDir = root.resolve(TEMP_DIR);
+        try {
+            Files.createDirectories(tempDir);
+            Files.createDirectories(root.resolve(CHUNKS_DIR));
+        } catch (IOException e) {
+            logger.error("Could not create upload directories under {}", root, e);
+        }
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public StoredMedia store(MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return store(in, extensionOf(file.getOriginalFilename()), file.getContentType());
+        }
+    }
+
+    // Streams the bytes through a SHA-256 channel into a temp file, then moves it to its content address
+    public StoredMedia store(InputStream in, String extension, String contentType) throws IOException {
+        Path tempFile = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            HashingChannel out;
+            try (ReadableByteChannel source = Channels.newChannel(in);
+                 FileChannel target = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                out = new HashingChannel(target);
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                while (source.read(buffer) != -1) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+            return commit(tempFile, out.digestHex(), out.getBytesWritten(), extension, contentType);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    // Adopts a file that is already on disk (e.g. an assembled chunked upload); the source is moved, not copied
+    public StoredMedia importFile(Path source, String extension, String contentType) throws IOException {
+        HashingChannel hasher = new HashingChannel(null);
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                hasher.write(buffer);
+                buffer.clear();
+            }
+        }
+        try {
+            return commit(source, hasher.digestHex(), hasher.getBytesWritten(), extension, contentType);
+        } finally {
+            Files.deleteIfExists(source);
+        }
+    }
+
+    // Drops one reference; unreferenced objects are reclaimed by the media garbage collector
+    public void release(String url) {
+        String storageKey = storageKeyOf(url);
+        if (storageKey == null) {
+            return;
+        }
+        // URLs written before the sharded layout may still point at the flat key
+        Criteria key = isSharded(storageKey)
+                ? Criteria.where("storageKey").is(storageKey)
+                : Criteria.where("storageKey").in(storageKey, shardedKey(storageKey));
+        try {
+            mongoTemplate.updateFirst(
+                    new Query(key.and("refCount").gt(0)),
+                    new Update().inc("refCount", -1),
+                    MediaObject.class);
+        } catch (Exception e) {
+            logger.warn("Could not release media {}: {}", url, e.getMessage());
+        }
+    }
+
+    public Path resolve(String storageKey) {
+        Path path = root.resolve(storageKey).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid media path: " + storageKey);
+        }
+        return path;
+    }
+
+    // Moves a file from the old flat layout into its shard and repoints its MediaObject.
+    // Returns the URL to reference from now on; URLs that are already sharded or whose file is missing come back unchanged.
+    public String relocate(String url) throws IOException {
+        String storageKey = storageKeyOf(url);
+        if (storageKey == null || isSharded(storageKey)) {
+            return url;
+        }
+        String newKey = shardedKey(storageKey);
+        Path flat = resolve(storageKey);
+        Path sharded = resolve(newKey);
+        if (Files.exists(flat)) {
+            Files.createDirectories(sharded.getParent());
+            try {
+                Files.move(flat, sharded, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(flat, sharded, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } else if (!Files.exists(sharded)) {
+            return url;
+        }
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("storageKey").is(storageKey)),
+                new Update().set("storageKey", newKey).set("url", URL_PREFIX + newKey),
+                MediaObject.class);
+        return URL_PREFIX + newKey;
+    }
+
+    // Two levels of 256-way fan-out ("ab/cd/<name>") keep every directory small. Content hashes and the
+    // UUIDs of older uploads start with hex digits; any other name is placed by the hash of the name.
+    public static String shardedKey(String filename) {
+        String prefix = filename.length() >= 4 && filename.substring(0, 4).chars().allMatch(c -> Character.digit(c, 16) >= 0)
+                ? filename.substring(0, 4).toLowerCase(Locale.ROOT)
+                : sha256Hex(filename).substring(0, 4);
+        return prefix.substring(0, 2) + "/" + prefix.substring(2, 4) + "/" + filename;
+    }
+
+    public static boolean isSharded(String storageKey) {
+        return storageKey.indexOf('/') != -1;
+    }
+
+    // Working directories under the root are never served
+    public static boolean isInternal(String storageKey) {
+        return storageKey.startsWith(TEMP_DIR + "/") || storageKey.startsWith(CHUNKS_DIR + "/")
+                || storageKey.startsWith(QUARANTINE_DIR + "/");
+    }
+
+    public static String storageKeyOf(String url) {
+        if (url == null || !url.startsWith(URL_PREFIX) || url.length() == URL_PREFIX.length()) {
+            return null;
+        }
+        return url.substring(URL_PREFIX.length());
+    }
+
+    public static String extensionOf(String filename) {
+        if (filename == null || filename.lastIndexOf('.') == -1) {
+            return "";
+        }
+        String extension = filename.substring(filename.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        if (extension.isEmpty() || extension.length() > 10 || !extension.chars().allMatch(Character::isLetterOrDigit)) {
+            return "";
+        }
+        return "." + extension;
+    }
+
+    private StoredMedia commit(Path tempFile, String sha256, long size, String extension, String contentType) throws IOException {
+        String candidateKey = shardedKey(sha256 + (extension != null ? extension : ""));
+
+        // The first upload of these bytes fixes the storage key; later uploads only add a reference
+        MediaObject media = mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(sha256)),
+                new Update()
+                        .inc("refCount", 1)
+                        .setOnInsert("storageKey", candidateKey)
+                        .setOnInsert("url", URL_PREFIX + candidateKey)
+                        .setOnInsert("size", size)
+                        .setOnInsert("contentType", contentType)
+                        .setOnInsert("createdAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                MediaObject.class);
+
+        Path target = resolve(media.getStorageKey());
+        boolean deduplicated;
+        try {
+            deduplicated = touch(target);
+            if (!deduplicated) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile, target);
+                } catch (FileAlreadyExistsException e) {
+                    // A concurrent upload of the same bytes won the race
+                    deduplicated = touch(target);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // The file this reference was counted for never made it into the store
+            releaseReference(sha256);
+            throw e;
+        }
+
+        if (deduplicated) {
+            logger.info("Deduplicated upload {} ({} bytes)", media.getStorageKey(), size);
+        }
+        return new StoredMedia(media.getUrl(), media.getStorageKey(), sha256, size, media.getContentType(), deduplicated);
+    }
+
+    // Refreshes the mtime of an existing file so the garbage collector's grace period starts over
+    // for the new reference; false if there is no file (or it was just collected)
+    private static boolean touch(Path target) throws IOException {
+        try {
+            Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private void releaseReference(String sha256) {
+        try {
+            mongoTemplate.updateFirst(
+                    new Query(Criteria.where("id").is(sha256).and("refCount").gt(0)),
+                    new Update().inc("refCount", -1),
+                    MediaObject.class);
+        } catch (Exception e) {
+            logger.warn("Could not roll back reference to media {}: {}", sha256, e.getMessage());
+        }
+    }
+
+    private static String sha256Hex(String value) {
+        HashingChannel hasher = new HashingChannel(null);
+        try {
+            hasher.write(ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return hasher.digestHex();
+    }
+
+    // Write-through channel that hashes every byte it passes on; a null target only hashes
+    private static class HashingChannel implements WritableByteChannel {
+
+        private final WritableByteChannel target;
+        private final MessageDigest digest;
+        private long bytesWritten;
+
+        HashingChannel(WritableByteChannel target) {
+            this.target = target;
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            ByteBuffer view = src.duplicate();
+            int written;
+            if (target != null) {
+                written = target.write(src);
+            } else {
+                written = src.remaining();
+                src.position(src.limit());
+            }
+            view.limit(view.position() + written);
+            digest.update(view);
+            bytesWritten += written;
+            return written;
+        }
+
+        long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        String digestHex() {
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        @Override
+        public boolean isOpen() {
+            return target == null || target.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (target != null) {
+                target.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.skillsync.cooking_edition.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.skillsync.cooking_edition.model.LearningPlan;
+import com.skillsync.cooking_edition.model.LearningPlanTemplate;
+import com.skillsync.cooking_edition.model.Notification;
+
+// Sends a notification ahead of each open milestone's due date. Only the next few hours of reminders are held,
+// in a timing wheel, loaded a due-date window at a time through the milestones.dueDate index. Nothing in memory
+// is authoritative: a reminder is claimed by setting reminderSentAt on the milestone when it fires, so plan
+// edits, completed milestones and restarts are all settled against the database at that point.
+@Service
+public class MilestoneReminderService implements StartupWarmup {
+
+    private static final Logger logger = LoggerFactory.getLogger(MilestoneReminderService.class);
+
+    static final String SENDER_NAME = "SkillSync";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TemplateCatalog templateCatalog;
+
+    // Run on one instance only; claims keep a second one from sending duplicates but not from doing the work
+    @Value("${milestones.reminders.enabled:true}")
+    private boolean enabled;
+
+    @Value("${milestones.reminders.lead-days:1}")
+    private int leadDays;
+
+    @Value("${milestones.reminders.hour:9}")
+    private int reminderHour;
+
+    @Value("${milestones.reminders.horizon-hours:6}")
+    private long horizonHours;
+
+    @Value("${milestones.reminders.tick-ms:60000}")
+    private long tickMillis;
+
+    @Value("${milestones.reminders.batch-size:500}")
+    private int batchSize;
+
+    private volatile TimingWheel<Reminder> wheel;
+    private final Queue<Reminder> overdue = new ConcurrentLinkedQueue<>();
+    private LocalDate loadedUntil; // Exclusive due-date bound of what the wheel holds; guarded by this
+
+    private static final class Reminder {
+        final String planId;
+        final int index;
+        final LocalDate dueDate;
+
+        Reminder(String planId, int index, LocalDate dueDate) {
+            this.planId = planId;
+            this.index = index;
+            this.dueDate = dueDate;
+        }
+
+        String key() {
+            return planId + ":" + index + ":" + dueDate;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "milestone-reminders";
+    }
+
+    // Retried by the orchestrator until it succeeds; until then nothing is scheduled
+    @Override
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            synchronized (this) {
+                wheel = new TimingWheel<>(tickMillis, System.currentTimeMillis());
+                // Anything due from today on that was never reminded, including reminders missed while down
+                loadedUntil = LocalDate.now();
+                extendWindow();
+            }
+            logger.info("Milestone reminders started with {} pending", wheel.size() + overdue.size());
+        } catch (Exception e) {
+            wheel = null;
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${milestones.reminders.tick-ms:60000}")
+    public void tick() {
+        TimingWheel<Reminder> current = wheel;
+        if (current == null) {
+            return;
+        }
+        try {
+            synchronized (this) {
+                extendWindow();
+            }
+            List<Reminder> due = current.advance(System.currentTimeMillis());
+            Reminder reminder;
+            while ((reminder = overdue.poll()) != null) {
+                due.add(reminder);
+            }
+            for (int from = 0; from < due.size(); from += batchSize) {
+                send(due.subList(from, Math.min(due.size(), from + batchSize)));
+            }
+        } catch (Exception e) {
+            logger.warn("Milestone reminder tick failed: {}", e.getMessage());
+        }
+    }
+
+    // Called after a plan is created or edited, so milestones inside the already-loaded window are not missed
+    public void planChanged(LearningPlan plan) {
+        if (wheel == null || plan.getId() == null) {
+            return;
+        }
+        synchronized (this) {
+            schedule(plan, LocalDate.now(), loadedUntil);
+        }
+    }
+
+    public int pending() {
+        TimingWheel<Reminder> current = wheel;
+        return (current != null ? current.size() : 0) + overdue.size();
+    }
+
+    // Loads due dates whose reminders fall before now + horizon and are not yet in the wheel
+    private void extendWindow() {
+        LocalDateTime limit = LocalDateTime.now().plusHours(horizonHours);
+        LocalDate until = limit.toLocalDate().plusDays(leadDays);
+        while (!remindAt(until).isAfter(limit)) {
+            until = until.plusDays(1);
+        }
+        if (!until.isAfter(loadedUntil)) {
+            return;
+        }
+        Query query = new Query(Criteria.where("milestones").elemMatch(Criteria.where("dueDate").gte(loadedUntil).lt(until)
+                .and("completed").is(false)
+                .and("reminderSentAt").is(null)));
+        // Sub-field projection keeps every array element, so milestone positions stay valid
+        query.fields().include("milestones.dueDate", "milestones.completed", "milestones.reminderSentAt");
+        LocalDate from = loadedUntil;
+        LocalDate to = until;
+        try (Stream<LearningPlan> plans = mongoTemplate.stream(query, LearningPlan.class)) {
+            plans.forEach(plan -> schedule(plan, from, to));
+        }
+        loadedUntil = until;
+    }
+
+    private void schedule(LearningPlan plan, LocalDate from, LocalDate to) {
+        if (plan.getMilestones() == null) {
+            return;
+        }
+        for (int i = 0; i < plan.getMilestones().size(); i++) {
+            LearningPlan.Milestone milestone = plan.getMilestones().get(i);
+            if (milestone == null || milestone.getDueDate() == null || milestone.isCompleted()
+                    || milestone.getReminderSentAt() != null
+                    || milestone.getDueDate().isBefore(from) || !milestone.getDueDate().isBefore(to)) {
+                continue;
+            }
+            Reminder reminder = new Reminder(plan.getId(), i, milestone.getDueDate());
+            long deadline = remindAt(milestone.getDueDate()).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            if (!wheel.schedule(deadline, reminder)) {
+                overdue.add(reminder);
+            }
+        }
+    }
+
+    private LocalDateTime remindAt(LocalDate dueDate) {
+        return dueDate.minusDays(leadDays).atTime(reminderHour, 0);
+    }
+
+    // Re-reads the plans, claims the milestones that still qualify and inserts their notifications together
+    private void send(List<Reminder> batch) {
+        Map<String, Reminder> unique = new LinkedHashMap<>();
+        for (Reminder reminder : batch) {
+            unique.putIfAbsent(reminder.key(), reminder);
+        }
+        List<String> planIds = unique.values().stream().map(reminder -> reminder.planId).distinct().toList();
+        Query plansQuery = new Query(Criteria.where("id").in(planIds));
+        plansQuery.fields().include("userId", "title", "templateId", "milestones");
+        Map<String, LearningPlan> plans = new HashMap<>();
+        for (LearningPlan plan : mongoTemplate.find(plansQuery, LearningPlan.class)) {
+            plans.put(plan.getId(), plan);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> notifications = new ArrayList<>();
+        for (Reminder reminder : unique.values()) {
+            LearningPlan plan = plans.get(reminder.planId);
+            LearningPlan.Milestone milestone = plan != null && plan.getMilestones() != null
+                    && reminder.index < plan.getMilestones().size() ? plan.getMilestones().get(reminder.index) : null;
+            // Edited, completed, deleted or already reminded since it was scheduled
+            if (milestone == null || !reminder.dueDate.equals(milestone.getDueDate())
+                    || milestone.isCompleted() || milestone.getReminderSentAt() != null) {
+                continue;
+            }
+            // Only the instance whose claim modified the milestone notifies; a concurrent edit, completion or
+            // second instance leaves it unmatched. Claimed before notifying: a crash in between loses
+            // reminders rather than sending them twice.
+            String path = "milestones." + reminder.index;
+            long claimed = mongoTemplate.updateFirst(new Query(Criteria.where("id").is(reminder.planId)
+                            .and(path + ".dueDate").is(reminder.dueDate)
+                            .and(path + ".completed").is(false)
+                            .and(path + ".reminderSentAt").is(null)),
+                    new Update().set(path + ".reminderSentAt", now), LearningPlan.class).getModifiedCount();
+            if (claimed > 0) {
+                notifications.add(notification(plan, milestone, now));
+            }
+        }
+        if (notifications.isEmpty()) {
+            return;
+        }
+        mongoTemplate.insert(notifications, Notification.class);
+        logger.info("Sent {} milestone reminders", notifications.size());
+    }
+
+    private Notification notification(LearningPlan plan, LearningPlan.Milestone milestone, LocalDateTime now) {
+        String planTitle = plan.getTitle();
+        if (planTitle == null && plan.getTemplateId() != null) {
+            LearningPlanTemplate template = templateCatalog.current().get(plan.getTemplateId());
+            planTitle = template != null ? template.getTitle() : null;
+        }
+        long days = ChronoUnit.DAYS.between(now.toLocalDate(), milestone.getDueDate());
+        String when = days <= 0 ? "today" : days == 1 ? "tomorrow" : "on " + milestone.getDueDate();
+
+        Notification notification = new Notification();
+        notification.setUserId(plan.getUserId());
+        notification.setSenderName(SENDER_NAME);
+        notification.setMessage("Milestone \"" + milestone.getTitle() + "\""
+                + (planTitle != null ? " in \"" + planTitle + "\"" : "") + " is due " + when);
+        notification.setType(Notification.NotificationType.MILESTONE_DUE);
+        notification.setRelatedPlanId(plan.getId());
+        notification.setCreatedAt(now);
+        notification.setRead(false);
+        return notification;
+    }
+}
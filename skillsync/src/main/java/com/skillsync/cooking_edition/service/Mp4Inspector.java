@@ -0,0 +1,214 @@
+package com.skillsync.cooking_edition.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.skillsync.cooking_edition.model.MediaInfo;
+
+// Reads duration, dimensions and codec from an ISO-BMFF (MP4/MOV) file by walking box headers.
+// Only headers and the few small boxes under moov are read; mdat is skipped over, wherever it sits.
+@Component
+public class Mp4Inspector {
+
+    private static final Logger logger = LoggerFactory.getLogger(Mp4Inspector.class);
+
+    private static final int MAX_BOXES = 10_000;
+    private static final int MAX_BOX_READ = 4096;
+
+    // Copies what the headers declare onto the media entry; returns null when nothing could be read
+    public VideoMetadata inspectInto(MediaInfo info, Path file) {
+        VideoMetadata metadata = inspect(file);
+        if (metadata != null) {
+            info.setDurationSeconds(metadata.getDurationSeconds());
+            info.setWidth(metadata.getWidth());
+            info.setHeight(metadata.getHeight());
+            info.setCodec(metadata.getCodec());
+        }
+        return metadata;
+    }
+
+    // Returns null when the file is not a readable MP4 container
+    public VideoMetadata inspect(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Walk walk = new Walk(channel);
+            Box moov = walk.find(0, channel.size(), "moov");
+            if (moov == null) {
+                return null;
+            }
+
+            Double duration = null;
+            Box mvhd = walk.find(moov.payloadStart, moov.end, "mvhd");
+            if (mvhd != null) {
+                duration = parseMvhd(walk.read(mvhd));
+            }
+
+            Integer width = null;
+            Integer height = null;
+            String codec = null;
+            long position = moov.payloadStart;
+            Box trak;
+            while ((trak = walk.find(position, moov.end, "trak")) != null) {
+                position = trak.end;
+                Box mdia = walk.find(trak.payloadStart, trak.end, "mdia");
+                Box hdlr = mdia != null ? walk.find(mdia.payloadStart, mdia.end, "hdlr") : null;
+                if (hdlr == null || !"vide".equals(handlerType(walk.read(hdlr)))) {
+                    continue;
+                }
+                Box tkhd = walk.find(trak.payloadStart, trak.end, "tkhd");
+                if (tkhd != null) {
+                    int[] size = parseTkhdSize(walk.read(tkhd));
+                    if (size != null) {
+                        width = size[0];
+                        height = size[1];
+                    }
+                }
+                Box stsd = walk.path(mdia, "minf", "stbl", "stsd");
+                if (stsd != null) {
+                    codec = sampleEntryFormat(walk.read(stsd));
+                }
+                break;
+            }
+            return new VideoMetadata(duration, width, height, codec);
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not inspect {} as MP4: {}", file.getFileName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static Double parseMvhd(ByteBuffer payload) {
+        int version = payload.get(0) & 0xFF;
+        long timescale;
+        long duration;
+        if (version == 1) {
+            timescale = Integer.toUnsignedLong(payload.getInt(20));
+            duration = payload.getLong(24);
+        } else {
+            timescale = Integer.toUnsignedLong(payload.getInt(12));
+            duration = Integer.toUnsignedLong(payload.getInt(16));
+        }
+        // All-ones duration means "unknown" (e.g. fragmented files)
+        if (timescale == 0 || duration < 0 || duration == 0xFFFFFFFFL) {
+            return null;
+        }
+        return (double) duration / timescale;
+    }
+
+    private static int[] parseTkhdSize(ByteBuffer payload) {
+        int version = payload.get(0) & 0xFF;
+        // version/flags, times, track id, reserved, duration, reserved, layer, group, volume, reserved, matrix
+        int offset = (version == 1 ? 4 + 8 + 8 + 4 + 4 + 8 : 4 + 4 + 4 + 4 + 4 + 4) + 8 + 2 + 2 + 2 + 2 + 36;
+        if (payload.limit() < offset + 8) {
+            return null;
+        }
+        // 16.16 fixed point
+        return new int[] { payload.getInt(offset) >>> 16, payload.getInt(offset + 4) >>> 16 };
+    }
+
+    private static String handlerType(ByteBuffer payload) {
+        return payload.limit() >= 12 ? fourCc(payload, 8) : null;
+    }
+
+    private static String sampleEntryFormat(ByteBuffer payload) {
+        // version/flags, entry count, then the first sample entry's size and format
+        return payload.limit() >= 16 && payload.getInt(4) > 0 ? fourCc(payload, 12) : null;
+    }
+
+    private static String fourCc(ByteBuffer buffer, int offset) {
+        byte[] bytes = new byte[4];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private static class Box {
+        final String type;
+        final long payloadStart;
+        final long end;
+
+        Box(String type, long payloadStart, long end) {
+            this.type = type;
+            this.payloadStart = payloadStart;
+            this.end = end;
+        }
+    }
+
+    // Positional reads over one open file; counts boxes visited so a corrupt file can't loop forever
+    private static class Walk {
+        private final FileChannel channel;
+        private final ByteBuffer header = ByteBuffer.allocate(16);
+        private int visited;
+
+        Walk(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        Box find(long from, long to, String type) throws IOException {
+            long position = from;
+            while (position + 8 <= to) {
+                if (++visited > MAX_BOXES) {
+                    throw new IOException("Too many boxes");
+                }
+                header.clear();
+                header.limit(16);
+                readFully(position, header, 8);
+                long size = Integer.toUnsignedLong(header.getInt(0));
+                String boxType = fourCc(header, 4);
+                int headerSize = 8;
+                if (size == 1) {
+                    readFully(position + 8, header, 8);
+                    size = header.getLong(8);
+                    headerSize = 16;
+                } else if (size == 0) {
+                    size = to - position;
+                }
+                if (size < headerSize || position + size > to) {
+                    throw new IOException("Malformed box " + boxType + " at " + position);
+                }
+                if (boxType.equals(type)) {
+                    return new Box(boxType, position + headerSize, position + size);
+                }
+                position += size;
+            }
+            return null;
+        }
+
+        Box path(Box parent, String... types) throws IOException {
+            Box current = parent;
+            for (String type : types) {
+                current = find(current.payloadStart, current.end, type);
+                if (current == null) {
+                    return null;
+                }
+            }
+            return current;
+        }
+
+        ByteBuffer read(Box box) throws IOException {
+            int length = (int) Math.min(box.end - box.payloadStart, MAX_BOX_READ);
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(box.payloadStart, payload, length);
+            payload.flip();
+            return payload;
+        }
+
+        private void readFully(long position, ByteBuffer buffer, int length) throws IOException {
+            int target = buffer.position() + length;
+            buffer.limit(target);
+            long offset = position;
+            while (buffer.position() < target) {
+                int read = channel.read(buffer, offset);
+                if (read < 0) {
+                    throw new IOException("Unexpected end of file");
+                }
+                offset += read;
+            }
+        }
+    }
+}
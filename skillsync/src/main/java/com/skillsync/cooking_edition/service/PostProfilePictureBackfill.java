@@ -0,0 +1,83 @@
+package com.skillsync.cooking_edition.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.model.User;
+import com.skillsync.cooking_edition.repository.UserRepository;
+
+// Copies the author's profile picture onto posts that were created without one
+@Component
+public class PostProfilePictureBackfill implements BackfillTask {
+
+    public static final String NAME = "post-profile-pictures";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public BatchResult processBatch(String afterCursor, int batchSize) {
+        Criteria criteria = Criteria.where("userPicture").is(null).and("userId").ne(null);
+        if (afterCursor != null) {
+            criteria = criteria.and("id").gt(afterCursor);
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .limit(batchSize);
+        query.fields().include("id", "userId");
+
+        List<Post> posts = mongoTemplate.find(query, Post.class);
+        if (posts.isEmpty()) {
+            return new BatchResult(afterCursor, 0, 0, true);
+        }
+
+        // One lookup for all authors in the batch instead of one per post
+        Set<String> userIds = posts.stream().map(Post::getUserId).collect(Collectors.toSet());
+        Map<String, String> pictures = new HashMap<>();
+        for (User user : userRepository.findAllById(userIds)) {
+            if (user.getProfilePicture() != null) {
+                pictures.put(user.getId(), user.getProfilePicture());
+            }
+        }
+
+        int updated = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class);
+        boolean hasUpdates = false;
+        for (Post post : posts) {
+            String picture = pictures.get(post.getUserId());
+            if (picture != null) {
+                bulk.updateOne(
+                        new Query(Criteria.where("id").is(post.getId()).and("userPicture").is(null)),
+                        new Update().set("userPicture", picture));
+                hasUpdates = true;
+            }
+        }
+        if (hasUpdates) {
+            updated = bulk.execute().getModifiedCount();
+        }
+
+        String lastCursor = posts.get(posts.size() - 1).getId();
+        return new BatchResult(lastCursor, posts.size(), updated, posts.size() < batchSize);
+    }
+}
@@ -0,0 +1,67 @@
+package com.skillsync.cooking_edition.service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.skillsync.cooking_edition.model.Post;
+
+@Service
+public class PostQueryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 50;
+
+    // Cursor sort key for posts without createdAt, which sort after every dated post
+    private static final String UNDATED = "-";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Newest-first page of a user's posts, resolved through the (userId, createdAt, _id) index.
+    // Undated posts come last, ordered by id, so a page boundary among them still advances.
+    public CursorPage<Post> findUserPosts(String userId, String cursor, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] position = CursorPage.decodeCursor(cursor);
+            if (UNDATED.equals(position[0])) {
+                criteria = criteria.and("createdAt").is(null).and("id").lt(position[1]);
+            } else {
+                LocalDateTime createdAt;
+                try {
+                    createdAt = LocalDateTime.parse(position[0]);
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException("Invalid cursor", e);
+                }
+                // $lt never matches a missing date, so the undated tail is included explicitly
+                criteria = criteria.orOperator(
+                        Criteria.where("createdAt").lt(createdAt),
+                        Criteria.where("createdAt").is(createdAt).and("id").lt(position[1]),
+                        Criteria.where("createdAt").is(null));
+            }
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")))
+                .limit(pageSize + 1);
+        List<Post> posts = mongoTemplate.find(query, Post.class);
+
+        String nextCursor = null;
+        if (posts.size() > pageSize) {
+            posts = posts.subList(0, pageSize);
+            Post last = posts.get(pageSize - 1);
+            nextCursor = CursorPage.encodeCursor(
+                    last.getCreatedAt() != null ? last.getCreatedAt().toString() : UNDATED, last.getId());
+        }
+        return new CursorPage<>(posts, nextCursor);
+    }
+}
@@ -0,0 +1,51 @@
+package com.skillsync.cooking_edition.service;
+
+// One offline checklist change: which plan entry was toggled, to what, and when the client did it
+public class ProgressEvent {
+
+    public static final String ITEM = "item";
+    public static final String SUBJECT = "subject";
+    public static final String MILESTONE = "milestone";
+
+    private final String planId;
+    private final String type;
+    private final String key;
+    private final Object value;
+    private final long timestamp;
+
+    public ProgressEvent(String planId, String type, String key, Object value, long timestamp) {
+        this.planId = planId;
+        this.type = type;
+        this.key = key;
+        this.value = value;
+        this.timestamp = timestamp;
+    }
+
+    public String getPlanId() {
+        return planId;
+    }
+
+    // item, subject or milestone
+    public String getType() {
+        return type;
+    }
+
+    // The completedItems key, or the subject/milestone index
+    public String getKey() {
+        return key;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    // Epoch milliseconds on the client's clock
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    // The progressClock entry this event competes for
+    String clockKey() {
+        return type + ":" + key;
+    }
+}
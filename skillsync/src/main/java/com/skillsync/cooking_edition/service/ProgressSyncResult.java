@@ -0,0 +1,54 @@
+package com.skillsync.cooking_edition.service;
+
+import com.skillsync.cooking_edition.model.LearningPlan;
+
+// What a batch sync did to one plan; plan holds the merged progress state when the write went through
+public class ProgressSyncResult {
+
+    public static final String APPLIED = "APPLIED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String CONFLICT = "CONFLICT";
+
+    private final String planId;
+    private final String status;
+    private final int applied;
+    private final int superseded;
+    private final int rejected;
+    private final LearningPlan plan;
+
+    public ProgressSyncResult(String planId, String status, int applied, int superseded, int rejected, LearningPlan plan) {
+        this.planId = planId;
+        this.status = status;
+        this.applied = applied;
+        this.superseded = superseded;
+        this.rejected = rejected;
+        this.plan = plan;
+    }
+
+    public String getPlanId() {
+        return planId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    // Events that won and were written
+    public int getApplied() {
+        return applied;
+    }
+
+    // Events older than a later event in the batch or than what the plan already holds
+    public int getSuperseded() {
+        return superseded;
+    }
+
+    // Events naming an unknown entry or carrying an invalid value
+    public int getRejected() {
+        return rejected;
+    }
+
+    public LearningPlan getPlan() {
+        return plan;
+    }
+}
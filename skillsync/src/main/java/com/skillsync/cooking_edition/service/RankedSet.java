@@ -0,0 +1,188 @@
+package com.skillsync.cooking_edition.service;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Members ordered by score, highest first, ties by member id. A skip list whose links record how many
+// nodes they jump over, so rank lookups and rank-offset ranges are O(log n) like a sorted set's.
+// Only positive scores are kept. Not thread-safe.
+final class RankedSet {
+
+    private static final int MAX_LEVEL = 32;
+    private static final double P = 0.25;
+
+    private static final class Node {
+        final String member;
+        final long score;
+        final Node[] next;
+        final int[] span;
+
+        Node(String member, long score, int level) {
+            this.member = member;
+            this.score = score;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+
+    private final Node head = new Node(null, Long.MAX_VALUE, MAX_LEVEL);
+    private final Map<String, Long> scores = new HashMap<>();
+    private int level = 1;
+    private int length;
+
+    int size() {
+        return length;
+    }
+
+    long score(String member) {
+        return scores.getOrDefault(member, 0L);
+    }
+
+    long increment(String member, long delta) {
+        long score = Math.max(0, score(member) + delta);
+        set(member, score);
+        return score;
+    }
+
+    void set(String member, long score) {
+        Long current = scores.get(member);
+        if (current != null) {
+            if (current == score) {
+                return;
+            }
+            delete(member, current);
+            scores.remove(member);
+        }
+        if (score > 0) {
+            insert(member, score);
+            scores.put(member, score);
+        }
+    }
+
+    // 1-based position, or 0 when the member has no score
+    int rank(String member) {
+        Long score = scores.get(member);
+        if (score == null) {
+            return 0;
+        }
+        int rank = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && !after(x.next[i], score, member)) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+            if (member.equals(x.member)) {
+                return rank;
+            }
+        }
+        return 0;
+    }
+
+    // Up to count members starting at the given 0-based rank offset
+    List<Map.Entry<String, Long>> range(int offset, int count) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>();
+        if (offset < 0 || offset >= length || count <= 0) {
+            return entries;
+        }
+        int traversed = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= offset + 1) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+        }
+        while (x != null && entries.size() < count) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(x.member, x.score));
+            x = x.next[0];
+        }
+        return entries;
+    }
+
+    Map<String, Long> snapshot() {
+        return new HashMap<>(scores);
+    }
+
+    // Whether node sorts after (score, member); equal counts as not after
+    private static boolean after(Node node, long score, String member) {
+        return node.score < score || (node.score == score && node.member.compareTo(member) > 0);
+    }
+
+    private static boolean before(Node node, long score, String member) {
+        return node.score > score || (node.score == score && node.member.compareTo(member) < 0);
+    }
+
+    private void insert(String member, long score) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && before(x.next[i], score, member)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = length;
+            }
+            level = nodeLevel;
+        }
+        Node node = new Node(member, score, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        length++;
+    }
+
+    private void delete(String member, long score) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && before(x.next[i], score, member)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        Node node = x.next[0];
+        if (node == null || !member.equals(node.member)) {
+            return;
+        }
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == node) {
+                update[i].span[i] += node.span[i] - 1;
+                update[i].next[i] = node.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        length--;
+    }
+
+    private static int randomLevel() {
+        int nodeLevel = 1;
+        while (nodeLevel < MAX_LEVEL && ThreadLocalRandom.current().nextDouble() < P) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+}
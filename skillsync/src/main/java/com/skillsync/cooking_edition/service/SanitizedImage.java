@@ -0,0 +1,39 @@
+package com.skillsync.cooking_edition.service;
+
+// What the headers of a sanitized image said about it; width/height are as displayed
+public class SanitizedImage {
+
+    private final String format;
+    private final Integer width;
+    private final Integer height;
+    private final long originalSize;
+    private final long size;
+
+    public SanitizedImage(String format, Integer width, Integer height, long originalSize, long size) {
+        this.format = format;
+        this.width = width;
+        this.height = height;
+        this.originalSize = originalSize;
+        this.size = size;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public Integer getWidth() {
+        return width;
+    }
+
+    public Integer getHeight() {
+        return height;
+    }
+
+    public long getOriginalSize() {
+        return originalSize;
+    }
+
+    public long getSize() {
+        return size;
+    }
+}
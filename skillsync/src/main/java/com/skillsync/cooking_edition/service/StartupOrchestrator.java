@@ -0,0 +1,189 @@
+package com.skillsync.cooking_edition.service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+// Runs every StartupWarmup in parallel on background threads once the context is up, so seeding and
+// cache loads never hold up (or fail) startup. Readiness stays REFUSING_TRAFFIC until the critical
+// warmups have succeeded; failed warmups are retried with exponential backoff until they do.
+@Service
+public class StartupOrchestrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupOrchestrator.class);
+
+    @Autowired
+    private List<StartupWarmup> warmups;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${startup.warmup.threads:4}")
+    private int threads;
+
+    @Value("${startup.warmup.retry-initial-delay-ms:1000}")
+    private long retryInitialDelayMillis;
+
+    @Value("${startup.warmup.retry-max-delay-ms:30000}")
+    private long retryMaxDelayMillis;
+
+    private final Map<String, WarmupStatus> statuses = new LinkedHashMap<>();
+    private ExecutorService executor;
+    private boolean criticalReady;
+    private Long contextStartupMillis;
+    private Long readyAfterMillis; // JVM start until critical warmups finished
+    private Long warmupMillis; // Orchestrator start until every warmup finished
+
+    private static final class WarmupStatus {
+        private final boolean critical;
+        private volatile String state = "PENDING";
+        private final AtomicInteger attempts = new AtomicInteger();
+        private volatile Long durationMillis; // Of the successful attempt
+        private volatile String lastError;
+
+        private WarmupStatus(boolean critical) {
+            this.critical = critical;
+        }
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        Duration timeTaken = event.getTimeTaken();
+        long started = System.nanoTime();
+        List<CompletableFuture<Void>> critical = new ArrayList<>();
+        List<CompletableFuture<Void>> all = new ArrayList<>();
+
+        synchronized (this) {
+            contextStartupMillis = timeTaken != null ? timeTaken.toMillis() : null;
+            executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, warmups.size())), runnable -> {
+                Thread thread = new Thread(runnable, "startup-warmup");
+                thread.setDaemon(true);
+                return thread;
+            });
+            for (StartupWarmup warmup : warmups) {
+                WarmupStatus status = new WarmupStatus(warmup.isCritical());
+                statuses.put(warmup.getName(), status);
+                CompletableFuture<Void> future = CompletableFuture.runAsync(() -> run(warmup, status), executor);
+                all.add(future);
+                if (status.critical) {
+                    critical.add(future);
+                }
+            }
+        }
+        logger.info("Context started in {} ms; warming up {} ({} critical)",
+                contextStartupMillis, statuses.keySet(), critical.size());
+
+        CompletableFuture.allOf(critical.toArray(new CompletableFuture[0])).thenRun(this::markReady);
+        CompletableFuture.allOf(all.toArray(new CompletableFuture[0])).thenRun(() -> {
+            synchronized (this) {
+                warmupMillis = (System.nanoTime() - started) / 1_000_000;
+                executor.shutdown();
+            }
+            logger.info("All startup warmups finished in {} ms", warmupMillis);
+        });
+    }
+
+    // Spring Boot accepts traffic right after ApplicationReadyEvent; hold that back until warmed up
+    @EventListener
+    public synchronized void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC && !criticalReady) {
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public synchronized Map<String, Object> getReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("ready", criticalReady);
+        report.put("contextStartupMs", contextStartupMillis);
+        report.put("readyAfterMs", readyAfterMillis);
+        report.put("warmupMs", warmupMillis);
+        List<Map<String, Object>> details = new ArrayList<>();
+        statuses.forEach((name, status) -> {
+            Map<String, Object> detail = new LinkedHashMap<>();
+            detail.put("name", name);
+            detail.put("critical", status.critical);
+            detail.put("state", status.state);
+            detail.put("attempts", status.attempts.get());
+            detail.put("durationMs", status.durationMillis);
+            detail.put("lastError", status.lastError);
+            details.add(detail);
+        });
+        report.put("warmups", details);
+        return report;
+    }
+
+    private void run(StartupWarmup warmup, WarmupStatus status) {
+        long delay = retryInitialDelayMillis;
+        while (true) {
+            status.state = "RUNNING";
+            status.attempts.incrementAndGet();
+            long started = System.nanoTime();
+            try {
+                warmup.warmUp();
+                status.durationMillis = (System.nanoTime() - started) / 1_000_000;
+                status.state = "DONE";
+                logger.info("Startup warmup {} finished in {} ms", warmup.getName(), status.durationMillis);
+                return;
+            } catch (Exception e) {
+                status.state = "RETRYING";
+                status.lastError = e.getMessage();
+                logger.warn("Startup warmup {} failed (attempt {}), retrying in {} ms: {}",
+                        warmup.getName(), status.attempts.get(), delay, e.getMessage());
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                // Shutting down before the warmup ever succeeded
+                status.state = "CANCELLED";
+                Thread.currentThread().interrupt();
+                return;
+            }
+            delay = Math.min(retryMaxDelayMillis, delay * 2);
+        }
+    }
+
+    private void markReady() {
+        synchronized (this) {
+            if (criticalReady) {
+                return;
+            }
+            for (WarmupStatus status : statuses.values()) {
+                if (status.critical && !"DONE".equals(status.state)) {
+                    // A critical warmup was cancelled by shutdown
+                    return;
+                }
+            }
+            criticalReady = true;
+            readyAfterMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        }
+        logger.info("Critical startup warmups finished; accepting traffic {} ms after JVM start", readyAfterMillis);
+    }
+}
@@ -0,0 +1,15 @@
+package com.skillsync.cooking_edition.service;
+
+// Work run in the background by StartupOrchestrator once the application is up.
+// Failures are retried with backoff, so warmUp must be safe to call again after it throws.
+public interface StartupWarmup {
+
+    String getName();
+
+    // Critical warmups keep the instance out of rotation (readiness REFUSING_TRAFFIC) until they succeed
+    default boolean isCritical() {
+        return false;
+    }
+
+    void warmUp() throws Exception;
+}
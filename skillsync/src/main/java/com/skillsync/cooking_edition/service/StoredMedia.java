@@ -0,0 +1,45 @@
+package com.skillsync.cooking_edition.service;
+
+// Result of putting a file into the MediaStore
+public class StoredMedia {
+
+    private final String url;
+    private final String storageKey;
+    private final String sha256;
+    private final long size;
+    private final String contentType;
+    private final boolean deduplicated; // True when identical bytes were already stored
+
+    public StoredMedia(String url, String storageKey, String sha256, long size, String contentType, boolean deduplicated) {
+        this.url = url;
+        this.storageKey = storageKey;
+        this.sha256 = sha256;
+        this.size = size;
+        this.contentType = contentType;
+        this.deduplicated = deduplicated;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public boolean isDeduplicated() {
+        return deduplicated;
+    }
+}
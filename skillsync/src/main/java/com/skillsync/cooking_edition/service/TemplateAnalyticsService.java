@@ -0,0 +1,325 @@
+package com.skillsync.cooking_edition.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.skillsync.cooking_edition.event.LearningPlanEvent;
+import com.skillsync.cooking_edition.model.LearningPlan;
+import com.skillsync.cooking_edition.model.LearningPlanTemplate;
+import com.skillsync.cooking_edition.model.TemplateStats;
+import com.skillsync.cooking_edition.repository.TemplateStatsRepository;
+
+// Per-template completion counters, time-to-complete histogram and drop-off subject. Kept current by
+// incrementing on LearningPlanEvents; a nightly aggregation over learning_plans rebuilds them from scratch.
+@Service
+public class TemplateAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TemplateAnalyticsService.class);
+
+    // Upper bounds in days; anything longer lands in "inf"
+    static final long[] DURATION_BUCKETS = { 1, 2, 3, 5, 7, 10, 14, 21, 30, 45, 60, 90, 180, 365 };
+    static final String OVERFLOW_BUCKET = "inf";
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TemplateStatsRepository statsRepository;
+
+    @Autowired
+    private TemplateCatalog templateCatalog;
+
+    public TemplateStats getStats(String templateId) {
+        // Templates without a stats document yet are rebuilt once on first read
+        return statsRepository.findById(templateId).orElseGet(() -> reconcile(templateId));
+    }
+
+    public List<TemplateStats> getAllStats() {
+        Set<String> templateIds = new LinkedHashSet<>();
+        for (LearningPlanTemplate template : templateCatalog.current().getTemplates()) {
+            templateIds.add(template.getId());
+        }
+        Map<String, TemplateStats> stats = new HashMap<>();
+        for (TemplateStats existing : statsRepository.findAllById(templateIds)) {
+            stats.put(existing.getId(), existing);
+        }
+        Set<String> missing = new LinkedHashSet<>(templateIds);
+        missing.removeAll(stats.keySet());
+        if (!missing.isEmpty()) {
+            stats.putAll(reconcileAll(missing));
+        }
+        List<TemplateStats> ordered = new ArrayList<>();
+        for (String templateId : templateIds) {
+            ordered.add(stats.get(templateId));
+        }
+        return ordered;
+    }
+
+    @EventListener
+    public void onPlanEvent(LearningPlanEvent event) {
+        if (event.getTemplateId() == null) {
+            return;
+        }
+        LearningPlanEvent.State before = event.getBefore();
+        LearningPlanEvent.State after = event.getAfter();
+        Update update = new Update().set("updatedAt", LocalDateTime.now());
+        boolean changed = false;
+
+        if (before == null || after == null) {
+            update.inc("plans", before == null ? 1 : -1);
+            changed = true;
+        }
+        boolean wasCompleted = before != null && before.isCompleted();
+        boolean isCompleted = after != null && after.isCompleted();
+        if (wasCompleted != isCompleted) {
+            update.inc("completed", isCompleted ? 1 : -1);
+            changed = true;
+        }
+        Integer fromSubject = before != null ? before.getFrontier() : null;
+        Integer toSubject = after != null ? after.getFrontier() : null;
+        if (!Objects.equals(fromSubject, toSubject)) {
+            if (fromSubject != null) {
+                update.inc("dropOff." + fromSubject, -1);
+            }
+            if (toSubject != null) {
+                update.inc("dropOff." + toSubject, 1);
+            }
+            changed = true;
+        }
+        String fromBucket = before != null ? bucketOf(before.getDurationDays()) : null;
+        String toBucket = after != null ? bucketOf(after.getDurationDays()) : null;
+        if (!Objects.equals(fromBucket, toBucket)) {
+            if (fromBucket != null) {
+                update.inc("durationHistogram." + fromBucket, -1);
+            }
+            if (toBucket != null) {
+                update.inc("durationHistogram." + toBucket, 1);
+            }
+            changed = true;
+        }
+        if (!changed) {
+            return;
+        }
+
+        try {
+            // Like creator stats: only existing documents are incremented, first read reconciles the rest
+            mongoTemplate.updateFirst(new Query(Criteria.where("id").is(event.getTemplateId())), update, TemplateStats.class);
+        } catch (Exception e) {
+            // Analytics can drift but must never fail the plan update itself; the nightly rebuild repairs them
+            logger.warn("Could not update template stats for template {}: {}", event.getTemplateId(), e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${templates.analytics.recompute-cron:0 0 4 * * *}")
+    public void recomputeAll() {
+        try {
+            Set<String> templateIds = new LinkedHashSet<>();
+            for (LearningPlanTemplate template : templateCatalog.current().getTemplates()) {
+                templateIds.add(template.getId());
+            }
+            Map<String, TemplateStats> rebuilt = rebuild(Criteria.where("templateId").ne(null), templateIds);
+            write(rebuilt.values());
+            logger.info("Recomputed learning analytics for {} templates", rebuilt.size());
+        } catch (Exception e) {
+            logger.warn("Could not recompute template analytics: {}", e.getMessage());
+        }
+    }
+
+    public TemplateStats reconcile(String templateId) {
+        TemplateStats stats = rebuild(Criteria.where("templateId").is(templateId), List.of(templateId)).get(templateId);
+        write(List.of(stats));
+        logger.info("Reconciled learning analytics for template {}", templateId);
+        return stats;
+    }
+
+    private Map<String, TemplateStats> reconcileAll(Collection<String> templateIds) {
+        Map<String, TemplateStats> rebuilt = rebuild(Criteria.where("templateId").in(templateIds), templateIds);
+        write(rebuilt.values());
+        return rebuilt;
+    }
+
+    // Completion rate, median days to complete (upper bound of the bucket holding the median) and the
+    // subject most unfinished plans are stuck on
+    public Map<String, Object> report(TemplateStats stats) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        LearningPlanTemplate template = templateCatalog.current().get(stats.getId());
+        report.put("templateId", stats.getId());
+        report.put("title", template != null ? template.getTitle() : null);
+        report.put("plans", stats.getPlans());
+        report.put("completed", stats.getCompleted());
+        report.put("completionRate", stats.getPlans() > 0 ? (double) stats.getCompleted() / stats.getPlans() : 0.0);
+
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        Map<String, Long> stored = stats.getDurationHistogram() != null ? stats.getDurationHistogram() : Map.of();
+        for (long bound : DURATION_BUCKETS) {
+            histogram.put(String.valueOf(bound), Math.max(0, stored.getOrDefault(String.valueOf(bound), 0L)));
+        }
+        histogram.put(OVERFLOW_BUCKET, Math.max(0, stored.getOrDefault(OVERFLOW_BUCKET, 0L)));
+        report.put("durationHistogram", histogram);
+        report.put("medianDaysToComplete", median(histogram));
+
+        String dropOffSubject = null;
+        long dropOffPlans = 0;
+        if (stats.getDropOff() != null) {
+            for (Map.Entry<String, Long> entry : stats.getDropOff().entrySet()) {
+                if (entry.getValue() != null && entry.getValue() > dropOffPlans) {
+                    dropOffSubject = entry.getKey();
+                    dropOffPlans = entry.getValue();
+                }
+            }
+        }
+        if (dropOffSubject != null) {
+            int index = Integer.parseInt(dropOffSubject);
+            Map<String, Object> dropOff = new LinkedHashMap<>();
+            dropOff.put("index", index);
+            dropOff.put("name", template != null && template.getSubjects() != null && index < template.getSubjects().size()
+                    ? template.getSubjects().get(index).getName() : null);
+            dropOff.put("plans", dropOffPlans);
+            report.put("dropOffSubject", dropOff);
+        } else {
+            report.put("dropOffSubject", null);
+        }
+        report.put("updatedAt", stats.getUpdatedAt());
+        report.put("reconciledAt", stats.getReconciledAt());
+        return report;
+    }
+
+    static String bucketOf(Long days) {
+        if (days == null) {
+            return null;
+        }
+        for (long bound : DURATION_BUCKETS) {
+            if (days <= bound) {
+                return String.valueOf(bound);
+            }
+        }
+        return OVERFLOW_BUCKET;
+    }
+
+    private static Long median(Map<String, Long> histogram) {
+        long total = histogram.values().stream().mapToLong(Long::longValue).sum();
+        if (total == 0) {
+            return null;
+        }
+        long seen = 0;
+        for (Map.Entry<String, Long> bucket : histogram.entrySet()) {
+            seen += bucket.getValue();
+            if (seen * 2 >= total) {
+                return OVERFLOW_BUCKET.equals(bucket.getKey()) ? null : Long.valueOf(bucket.getKey());
+            }
+        }
+        return null;
+    }
+
+    // One grouped aggregation: plans collapse to (template, completed, first open subject, days taken) rows
+    private Map<String, TemplateStats> rebuild(Criteria match, Collection<String> templateIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, TemplateStats> result = new HashMap<>();
+        for (String templateId : templateIds) {
+            result.put(templateId, emptyStats(templateId, now));
+        }
+
+        AggregationOperation project = context -> new Document("$project", new Document()
+                .append("templateId", 1)
+                .append("completed", new Document("$eq", List.of("$progress", "COMPLETED")))
+                .append("frontier", new Document("$indexOfArray", List.of(
+                        new Document("$map", new Document()
+                                .append("input", new Document("$ifNull", List.of("$subjects", List.of())))
+                                .append("as", "subject")
+                                .append("in", new Document("$eq", List.of("$$subject.status", "COMPLETED")))),
+                        false)))
+                .append("duration", new Document("$cond", List.of(
+                        new Document("$eq", List.of("$progress", "COMPLETED")),
+                        new Document("$floor", new Document("$divide", List.of(
+                                new Document("$subtract", List.of("$completedAt", "$startDate")), DAY_MILLIS))),
+                        "$$REMOVE"))));
+        AggregationOperation group = context -> new Document("$group", new Document()
+                .append("_id", new Document()
+                        .append("templateId", "$templateId")
+                        .append("completed", "$completed")
+                        .append("frontier", "$frontier")
+                        .append("duration", "$duration"))
+                .append("plans", new Document("$sum", 1)));
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.match(match), project, group);
+
+        for (Document row : mongoTemplate.aggregate(aggregation, LearningPlan.class, Document.class).getMappedResults()) {
+            Document key = row.get("_id", Document.class);
+            String templateId = key.getString("templateId");
+            TemplateStats stats = result.computeIfAbsent(templateId, id -> emptyStats(id, now));
+            long plans = toLong(row.get("plans"));
+            boolean completed = Boolean.TRUE.equals(key.getBoolean("completed"));
+            stats.setPlans(stats.getPlans() + plans);
+            if (completed) {
+                stats.setCompleted(stats.getCompleted() + plans);
+                Object duration = key.get("duration");
+                String bucket = duration instanceof Number ? bucketOf(Math.max(0, ((Number) duration).longValue())) : null;
+                if (bucket != null) {
+                    stats.getDurationHistogram().merge(bucket, plans, Long::sum);
+                }
+            } else {
+                // -1 when every subject is done but progress was never recomputed; no open subject to blame
+                Object frontier = key.get("frontier");
+                if (frontier instanceof Number && ((Number) frontier).intValue() >= 0) {
+                    stats.getDropOff().merge(String.valueOf(((Number) frontier).intValue()), plans, Long::sum);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void write(Collection<TemplateStats> stats) {
+        if (stats.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TemplateStats.class);
+        for (TemplateStats entry : stats) {
+            bulk.upsert(new Query(Criteria.where("id").is(entry.getId())), new Update()
+                    .set("plans", entry.getPlans())
+                    .set("completed", entry.getCompleted())
+                    .set("durationHistogram", entry.getDurationHistogram())
+                    .set("dropOff", entry.getDropOff())
+                    .set("updatedAt", entry.getUpdatedAt())
+                    .set("reconciledAt", entry.getReconciledAt()));
+        }
+        bulk.execute();
+    }
+
+    private static TemplateStats emptyStats(String templateId, LocalDateTime now) {
+        TemplateStats stats = new TemplateStats();
+        stats.setId(templateId);
+        stats.setDurationHistogram(new HashMap<>());
+        stats.setDropOff(new HashMap<>());
+        stats.setUpdatedAt(now);
+        stats.setReconciledAt(now);
+        return stats;
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+}
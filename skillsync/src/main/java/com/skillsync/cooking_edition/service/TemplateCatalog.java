@@ -0,0 +1,348 @@
+package com.skillsync.cooking_edition.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillsync.cooking_edition.model.LearningPlanTemplate;
+import com.skillsync.cooking_edition.repository.LearningPlanTemplateRepository;
+
+// All learning plan templates, held in memory as an immutable snapshot. Reads are a single volatile
+// load and never touch Mongo; writes build a new snapshot and swap it in. Templates handed out are
+// shared between requests and must not be modified.
+@Service
+public class TemplateCatalog implements StartupWarmup {
+
+    private static final Logger logger = LoggerFactory.getLogger(TemplateCatalog.class);
+
+    @Autowired
+    private LearningPlanTemplateRepository templateRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public static final class Snapshot {
+        private final List<LearningPlanTemplate> templates;
+        private final Map<String, LearningPlanTemplate> byId;
+        private final Map<String, List<LearningPlanTemplate>> byCategory;
+        private final Map<String, List<LearningPlanTemplate>> byDifficulty;
+        private final byte[] allJson;
+        private final Map<String, byte[]> jsonById;
+        private final Map<String, byte[]> jsonByCategory;
+        private final Map<String, byte[]> jsonByDifficulty;
+
+        private Snapshot(List<LearningPlanTemplate> templates, ObjectMapper objectMapper) throws JsonProcessingException {
+            Map<String, LearningPlanTemplate> ids = new LinkedHashMap<>();
+            Map<String, List<LearningPlanTemplate>> categories = new HashMap<>();
+            Map<String, List<LearningPlanTemplate>> difficulties = new HashMap<>();
+            Map<String, byte[]> idJson = new HashMap<>();
+            for (LearningPlanTemplate template : templates) {
+                ids.put(template.getId(), template);
+                idJson.put(template.getId(), objectMapper.writeValueAsBytes(template));
+                if (template.getCategory() != null) {
+                    categories.computeIfAbsent(template.getCategory(), key -> new ArrayList<>()).add(template);
+                }
+                if (template.getDifficulty() != null) {
+                    difficulties.computeIfAbsent(template.getDifficulty(), key -> new ArrayList<>()).add(template);
+                }
+            }
+            this.templates = List.copyOf(templates);
+            this.byId = Collections.unmodifiableMap(ids);
+            this.byCategory = freeze(categories);
+            this.byDifficulty = freeze(difficulties);
+            this.allJson = objectMapper.writeValueAsBytes(this.templates);
+            this.jsonById = Map.copyOf(idJson);
+            this.jsonByCategory = serializeGroups(this.byCategory, objectMapper);
+            this.jsonByDifficulty = serializeGroups(this.byDifficulty, objectMapper);
+        }
+
+        public List<LearningPlanTemplate> getTemplates() {
+            return templates;
+        }
+
+        public LearningPlanTemplate get(String id) {
+            return byId.get(id);
+        }
+
+        public List<LearningPlanTemplate> byCategory(String category) {
+            return byCategory.getOrDefault(category, List.of());
+        }
+
+        public List<LearningPlanTemplate> byDifficulty(String difficulty) {
+            return byDifficulty.getOrDefault(difficulty, List.of());
+        }
+
+        public byte[] allJson() {
+            return allJson;
+        }
+
+        public byte[] jsonById(String id) {
+            return jsonById.get(id);
+        }
+
+        public byte[] jsonByCategory(String category) {
+            return jsonByCategory.get(category);
+        }
+
+        public byte[] jsonByDifficulty(String difficulty) {
+            return jsonByDifficulty.get(difficulty);
+        }
+
+        private static Map<String, List<LearningPlanTemplate>> freeze(Map<String, List<LearningPlanTemplate>> groups) {
+            Map<String, List<LearningPlanTemplate>> frozen = new HashMap<>();
+            groups.forEach((key, list) -> frozen.put(key, List.copyOf(list)));
+            return Map.copyOf(frozen);
+        }
+
+        private static Map<String, byte[]> serializeGroups(Map<String, List<LearningPlanTemplate>> groups,
+                                                           ObjectMapper objectMapper) throws JsonProcessingException {
+            Map<String, byte[]> json = new HashMap<>();
+            for (Map.Entry<String, List<LearningPlanTemplate>> group : groups.entrySet()) {
+                json.put(group.getKey(), objectMapper.writeValueAsBytes(group.getValue()));
+            }
+            return Map.copyOf(json);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "template-catalog";
+    }
+
+    @Override
+    public boolean isCritical() {
+        return true;
+    }
+
+    // Seeds an empty collection and loads the first snapshot; reads before then load it themselves.
+    // Holds the catalog lock like seedIfEmpty, so the two can't both find the collection empty.
+    @Override
+    public synchronized void warmUp() {
+        if (templateRepository.count() == 0) {
+            logger.info("No templates found, creating default templates");
+            seedDefaults();
+        }
+        refresh();
+    }
+
+    // Picks up templates written by other instances
+    @Scheduled(fixedDelayString = "${templates.catalog.refresh-interval-ms:300000}",
+            initialDelayString = "${templates.catalog.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            logger.warn("Could not refresh learning plan templates: {}", e.getMessage());
+        }
+    }
+
+    public Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot.get();
+            return current != null ? current : refresh();
+        }
+    }
+
+    // Writers are serialized on the catalog: a refresh that read the collection before a create saved
+    // must not swap in its older snapshot after the create's, dropping the new template
+    public synchronized Snapshot refresh() {
+        Snapshot loaded = build(templateRepository.findAll());
+        snapshot.set(loaded);
+        logger.info("Loaded {} learning plan templates", loaded.getTemplates().size());
+        return loaded;
+    }
+
+    public synchronized LearningPlanTemplate create(LearningPlanTemplate template) {
+        LearningPlanTemplate saved = templateRepository.save(template);
+        // Copy-on-write: concurrent readers keep the snapshot they already hold
+        snapshot.updateAndGet(previous -> {
+            List<LearningPlanTemplate> templates = new ArrayList<>();
+            if (previous != null) {
+                for (LearningPlanTemplate existing : previous.getTemplates()) {
+                    if (!existing.getId().equals(saved.getId())) {
+                        templates.add(existing);
+                    }
+                }
+            }
+            templates.add(saved);
+            return build(templates);
+        });
+        return saved;
+    }
+
+    public synchronized boolean seedIfEmpty() {
+        if (templateRepository.count() > 0) {
+            return false;
+        }
+        seedDefaults();
+        refresh();
+        return true;
+    }
+
+    private Snapshot build(List<LearningPlanTemplate> templates) {
+        try {
+            return new Snapshot(templates, objectMapper);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize learning plan templates", e);
+        }
+    }
+
+    private void seedDefaults() {
+        // Create Italian Cuisine template
+        LearningPlanTemplate italianCuisine = new LearningPlanTemplate();
+        italianCuisine.setTitle("Italian Cuisine Mastery");
+        italianCuisine.setDescription("Master the art of Italian cooking");
+        italianCuisine.setCategory("CUISINE");
+        italianCuisine.setDifficulty("INTERMEDIATE");
+        italianCuisine.setEstimatedDurationDays(30);
+        
+        List<LearningPlanTemplate.Subject> subjects = new ArrayList<>();
+        
+        LearningPlanTemplate.Subject pasta = new LearningPlanTemplate.Subject();
+        pasta.setName("Pasta Making");
+        pasta.setDescription("Learn to make fresh pasta from scratch");
+        pasta.setMaterials(Arrays.asList(
+            "Basic pasta dough recipe",
+            "Pasta shaping techniques",
+            "Sauce pairing guide"
+        ));
+        subjects.add(pasta);
+        
+        LearningPlanTemplate.Subject sauces = new LearningPlanTemplate.Subject();
+        sauces.setName("Italian Sauces");
+        sauces.setDescription("Master classic Italian sauces");
+        sauces.setMaterials(Arrays.asList(
+            "Tomato sauce basics",
+            "Cream-based sauces",
+            "Wine reduction techniques"
+        ));
+        subjects.add(sauces);
+        
+        italianCuisine.setSubjects(subjects);
+        templateRepository.save(italianCuisine);
+        logger.info("Created Italian Cuisine template");
+        
+        // Create Japanese Cuisine template
+        LearningPlanTemplate japaneseCuisine = new LearningPlanTemplate();
+        japaneseCuisine.setTitle("Japanese Cuisine Mastery");
+        japaneseCuisine.setDescription("Master the art of Japanese cooking");
+        japaneseCuisine.setCategory("CUISINE");
+        japaneseCuisine.setDifficulty("INTERMEDIATE");
+        japaneseCuisine.setEstimatedDurationDays(45);
+        
+        List<LearningPlanTemplate.Subject> japaneseSubjects = new ArrayList<>();
+        
+        LearningPlanTemplate.Subject sushi = new LearningPlanTemplate.Subject();
+        sushi.setName("Sushi Making");
+        sushi.setDescription("Learn to make various types of sushi");
+        sushi.setMaterials(Arrays.asList(
+            "Rice preparation techniques",
+            "Fish selection and preparation",
+            "Rolling techniques"
+        ));
+        japaneseSubjects.add(sushi);
+        
+        LearningPlanTemplate.Subject ramen = new LearningPlanTemplate.Subject();
+        ramen.setName("Ramen Preparation");
+        ramen.setDescription("Master the art of making authentic ramen");
+        ramen.setMaterials(Arrays.asList(
+            "Broth preparation",
+            "Noodle selection and cooking",
+            "Topping preparation"
+        ));
+        japaneseSubjects.add(ramen);
+        
+        japaneseCuisine.setSubjects(japaneseSubjects);
+        templateRepository.save(japaneseCuisine);
+        logger.info("Created Japanese Cuisine template");
+        
+        // Create Knife Skills template
+        LearningPlanTemplate knifeSkills = new LearningPlanTemplate();
+        knifeSkills.setTitle("Knife Skills Mastery");
+        knifeSkills.setDescription("Master essential knife skills for cooking");
+        knifeSkills.setCategory("SPECIFIC_SKILL");
+        knifeSkills.setDifficulty("BEGINNER");
+        knifeSkills.setEstimatedDurationDays(14);
+        
+        List<LearningPlanTemplate.Subject> knifeSubjects = new ArrayList<>();
+        
+        LearningPlanTemplate.Subject basicCuts = new LearningPlanTemplate.Subject();
+        basicCuts.setName("Basic Knife Cuts");
+        basicCuts.setDescription("Learn fundamental knife cutting techniques");
+        basicCuts.setMaterials(Arrays.asList(
+            "Knife selection and maintenance",
+            "Julienne technique",
+            "Brunoise technique",
+            "Chiffonade technique"
+        ));
+        knifeSubjects.add(basicCuts);
+        
+        LearningPlanTemplate.Subject advancedCuts = new LearningPlanTemplate.Subject();
+        advancedCuts.setName("Advanced Knife Cuts");
+        advancedCuts.setDescription("Master advanced knife cutting techniques");
+        advancedCuts.setMaterials(Arrays.asList(
+            "Tourne technique",
+            "Paysanne technique",
+            "Macedoine technique"
+        ));
+        knifeSubjects.add(advancedCuts);
+        
+        knifeSkills.setSubjects(knifeSubjects);
+        templateRepository.save(knifeSkills);
+        logger.info("Created Knife Skills template");
+        
+        // Create Baking Fundamentals template
+        LearningPlanTemplate baking = new LearningPlanTemplate();
+        baking.setTitle("Baking Fundamentals");
+        baking.setDescription("Master the basics of baking");
+        baking.setCategory("COOKING_STYLE");
+        baking.setDifficulty("BEGINNER");
+        baking.setEstimatedDurationDays(21);
+        
+        List<LearningPlanTemplate.Subject> bakingSubjects = new ArrayList<>();
+        
+        LearningPlanTemplate.Subject breads = new LearningPlanTemplate.Subject();
+        breads.setName("Bread Making");
+        breads.setDescription("Learn to make various types of bread");
+        breads.setMaterials(Arrays.asList(
+            "Yeast activation",
+            "Kneading techniques",
+            "Proofing methods",
+            "Baking temperatures"
+        ));
+        bakingSubjects.add(breads);
+        
+        LearningPlanTemplate.Subject pastries = new LearningPlanTemplate.Subject();
+        pastries.setName("Pastry Making");
+        pastries.setDescription("Master pastry dough techniques");
+        pastries.setMaterials(Arrays.asList(
+            "Pie crust preparation",
+            "Puff pastry technique",
+            "Croissant dough preparation"
+        ));
+        bakingSubjects.add(pastries);
+        
+        baking.setSubjects(bakingSubjects);
+        templateRepository.save(baking);
+        logger.info("Created Baking Fundamentals template");
+    }
+}
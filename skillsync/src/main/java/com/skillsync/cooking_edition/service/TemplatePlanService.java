@@ -0,0 +1,199 @@
+package com.skillsync.cooking_edition.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import com.skillsync.cooking_edition.event.LearningPlanEvent;
+import com.skillsync.cooking_edition.model.LearningPlan;
+import com.skillsync.cooking_edition.model.LearningPlanTemplate;
+import com.skillsync.cooking_edition.repository.LearningPlanRepository;
+
+// Plans created from a template store only a reference to it plus what the user changed. Subject i of the
+// plan lines up with subject i of the template; a null field means "as in the template". Reads fill the
+// gaps from the in-memory TemplateCatalog, so the template content is never copied into plan documents.
+@Service
+public class TemplatePlanService {
+
+    @Autowired
+    private TemplateCatalog templateCatalog;
+
+    @Autowired
+    private LearningPlanRepository planRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MilestoneReminderService milestoneReminderService;
+
+    // overrides may carry a title, description, dates, milestones and per-subject name/description/materials
+    public LearningPlan instantiate(String templateId, String userId, LearningPlan overrides) {
+        LearningPlanTemplate template = templateCatalog.current().get(templateId);
+        if (template == null) {
+            throw new IllegalArgumentException("Template not found: " + templateId);
+        }
+        if (userId == null || userId.isEmpty()) {
+            throw new IllegalArgumentException("userId is required");
+        }
+
+        LearningPlan plan = new LearningPlan();
+        plan.setUserId(userId);
+        plan.setTemplateId(templateId);
+        plan.setProgress("NOT_STARTED");
+        plan.setCompletedItems(new HashMap<>());
+        plan.setSubjects(new ArrayList<>());
+        int subjectCount = template.getSubjects() != null ? template.getSubjects().size() : 0;
+        for (int i = 0; i < subjectCount; i++) {
+            LearningPlan.Subject subject = new LearningPlan.Subject();
+            subject.setStatus("NOT_STARTED");
+            plan.getSubjects().add(subject);
+        }
+
+        if (overrides != null) {
+            plan.setTitle(overrides.getTitle());
+            plan.setDescription(overrides.getDescription());
+            plan.setStartDate(overrides.getStartDate());
+            plan.setDueDate(overrides.getDueDate());
+            plan.setMilestones(overrides.getMilestones());
+            if (overrides.getSubjects() != null) {
+                for (int i = 0; i < Math.min(subjectCount, overrides.getSubjects().size()); i++) {
+                    LearningPlan.Subject override = overrides.getSubjects().get(i);
+                    if (override != null) {
+                        plan.getSubjects().get(i).setName(override.getName());
+                        plan.getSubjects().get(i).setDescription(override.getDescription());
+                        plan.getSubjects().get(i).setMaterials(override.getMaterials());
+                    }
+                }
+            }
+        }
+        if (plan.getStartDate() == null) {
+            plan.setStartDate(LocalDate.now());
+        }
+        if (plan.getDueDate() == null && template.getEstimatedDurationDays() > 0) {
+            plan.setDueDate(plan.getStartDate().plusDays(template.getEstimatedDurationDays()));
+        }
+
+        sparsify(plan);
+        LearningPlan saved = planRepository.save(plan);
+        eventPublisher.publishEvent(LearningPlanEvent.created(saved));
+        milestoneReminderService.planChanged(saved);
+        return resolve(saved);
+    }
+
+    // The full view of a plan; plans without a template (or whose template is gone) come back unchanged
+    public LearningPlan resolve(LearningPlan plan) {
+        LearningPlanTemplate template = templateOf(plan);
+        if (template == null) {
+            return plan;
+        }
+        // Copy, so the template's shared instances never end up in a document that gets saved
+        LearningPlan resolved = new LearningPlan();
+        resolved.setId(plan.getId());
+        resolved.setUserId(plan.getUserId());
+        resolved.setTemplateId(plan.getTemplateId());
+        resolved.setTitle(plan.getTitle() != null ? plan.getTitle() : template.getTitle());
+        resolved.setDescription(plan.getDescription() != null ? plan.getDescription() : template.getDescription());
+        resolved.setStartDate(plan.getStartDate());
+        resolved.setDueDate(plan.getDueDate());
+        resolved.setProgress(plan.getProgress());
+        resolved.setCompletedAt(plan.getCompletedAt());
+        resolved.setMilestones(plan.getMilestones());
+        resolved.setCompletedItems(plan.getCompletedItems());
+        resolved.setRevision(plan.getRevision());
+        resolved.setProgressClock(plan.getProgressClock());
+
+        List<LearningPlanTemplate.Subject> base = template.getSubjects() != null ? template.getSubjects() : List.of();
+        List<LearningPlan.Subject> own = plan.getSubjects() != null ? plan.getSubjects() : List.of();
+        List<LearningPlan.Subject> subjects = new ArrayList<>(base.size());
+        for (int i = 0; i < base.size(); i++) {
+            LearningPlanTemplate.Subject from = base.get(i);
+            LearningPlan.Subject mine = i < own.size() && own.get(i) != null ? own.get(i) : new LearningPlan.Subject();
+            LearningPlan.Subject subject = new LearningPlan.Subject();
+            subject.setName(mine.getName() != null ? mine.getName() : from.getName());
+            subject.setDescription(mine.getDescription() != null ? mine.getDescription() : from.getDescription());
+            List<String> materials = mine.getMaterials() != null ? mine.getMaterials() : from.getMaterials();
+            subject.setMaterials(materials != null ? new ArrayList<>(materials) : null);
+            subject.setStatus(mine.getStatus() != null ? mine.getStatus() : "NOT_STARTED");
+            subjects.add(subject);
+        }
+        resolved.setSubjects(subjects);
+        return resolved;
+    }
+
+    public List<LearningPlan> resolveAll(List<LearningPlan> plans) {
+        List<LearningPlan> resolved = new ArrayList<>(plans.size());
+        for (LearningPlan plan : plans) {
+            resolved.add(resolve(plan));
+        }
+        return resolved;
+    }
+
+    // For summary rows, which carry no subjects: only the inherited title and description are filled in
+    public List<LearningPlan> resolveSummaries(List<LearningPlan> plans) {
+        for (LearningPlan plan : plans) {
+            LearningPlanTemplate template = templateOf(plan);
+            if (template != null) {
+                if (plan.getTitle() == null) {
+                    plan.setTitle(template.getTitle());
+                }
+                if (plan.getDescription() == null) {
+                    plan.setDescription(template.getDescription());
+                }
+            }
+        }
+        return plans;
+    }
+
+    // Drops whatever matches the template, so a resolved plan sent back by a client is stored sparse again
+    public void sparsify(LearningPlan plan) {
+        LearningPlanTemplate template = templateOf(plan);
+        if (template == null) {
+            return;
+        }
+        if (Objects.equals(plan.getTitle(), template.getTitle())) {
+            plan.setTitle(null);
+        }
+        if (Objects.equals(plan.getDescription(), template.getDescription())) {
+            plan.setDescription(null);
+        }
+        List<LearningPlanTemplate.Subject> base = template.getSubjects() != null ? template.getSubjects() : List.of();
+        List<LearningPlan.Subject> subjects = plan.getSubjects() != null ? new ArrayList<>(plan.getSubjects()) : new ArrayList<>();
+        // Positions are fixed by the template, so there is nowhere to keep a subject the user appended
+        if (subjects.size() > base.size()) {
+            throw new IllegalArgumentException("A plan created from a template has " + base.size()
+                    + " subjects; subjects cannot be added to it");
+        }
+        while (subjects.size() < base.size()) {
+            subjects.add(new LearningPlan.Subject());
+        }
+        for (int i = 0; i < base.size(); i++) {
+            LearningPlanTemplate.Subject from = base.get(i);
+            LearningPlan.Subject subject = subjects.get(i) != null ? subjects.get(i) : new LearningPlan.Subject();
+            if (Objects.equals(subject.getName(), from.getName())) {
+                subject.setName(null);
+            }
+            if (Objects.equals(subject.getDescription(), from.getDescription())) {
+                subject.setDescription(null);
+            }
+            if (Objects.equals(subject.getMaterials(), from.getMaterials())) {
+                subject.setMaterials(null);
+            }
+            if (subject.getStatus() == null) {
+                subject.setStatus("NOT_STARTED");
+            }
+            subjects.set(i, subject);
+        }
+        plan.setSubjects(subjects);
+    }
+
+    private LearningPlanTemplate templateOf(LearningPlan plan) {
+        return plan.getTemplateId() != null ? templateCatalog.current().get(plan.getTemplateId()) : null;
+    }
+}
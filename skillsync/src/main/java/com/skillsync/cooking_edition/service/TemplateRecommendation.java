@@ -0,0 +1,31 @@
+package com.skillsync.cooking_edition.service;
+
+import java.util.List;
+
+import com.skillsync.cooking_edition.model.LearningPlanTemplate;
+
+// One recommended template with its cosine similarity to the user's taste profile and the terms that drove it
+public class TemplateRecommendation {
+
+    private final LearningPlanTemplate template;
+    private final double score;
+    private final List<String> matchedTerms;
+
+    public TemplateRecommendation(LearningPlanTemplate template, double score, List<String> matchedTerms) {
+        this.template = template;
+        this.score = score;
+        this.matchedTerms = matchedTerms;
+    }
+
+    public LearningPlanTemplate getTemplate() {
+        return template;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public List<String> getMatchedTerms() {
+        return matchedTerms;
+    }
+}
@@ -0,0 +1,383 @@
+package com.skillsync.cooking_edition.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.skillsync.cooking_edition.event.EngagementEvent;
+import com.skillsync.cooking_edition.model.LearningPlan;
+import com.skillsync.cooking_edition.model.LearningPlanTemplate;
+import com.skillsync.cooking_edition.model.Like;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.model.TasteProfile;
+import com.skillsync.cooking_edition.repository.TasteProfileRepository;
+
+// Recommends templates by cosine similarity between a user's taste profile and TF-IDF template vectors.
+// Template vectors and their inverted index are rebuilt only when the catalog snapshot changes; profiles
+// are term counts kept up to date by engagement events, so a request never reads the user's posts.
+@Service
+public class TemplateRecommender {
+
+    private static final Logger logger = LoggerFactory.getLogger(TemplateRecommender.class);
+
+    public static final int MAX_LIMIT = 20;
+
+    private static final double OWN_POST_WEIGHT = 1.0;
+    private static final double LIKED_POST_WEIGHT = 0.5;
+
+    // Within a post, ingredients say more about taste than words in the title or description
+    private static final double INGREDIENT_WEIGHT = 1.0;
+    private static final double TITLE_WEIGHT = 0.5;
+    private static final double DESCRIPTION_WEIGHT = 0.25;
+
+    private static final int REBUILD_POST_LIMIT = 500;
+    private static final int MATCHED_TERMS = 3;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "and", "the", "with", "for", "from", "into", "onto", "your", "you", "our", "this", "that", "these",
+            "are", "was", "how", "what", "its", "out", "all", "any", "some", "more", "most", "very", "use",
+            "using", "make", "making", "get", "can", "will", "just", "like", "recipe", "guide");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TasteProfileRepository profileRepository;
+
+    @Autowired
+    private TemplateCatalog templateCatalog;
+
+    // Profiles drift when posts are deleted (their text is gone by the time the event arrives), so
+    // profiles older than this are rebuilt from source data on their next read
+    @Value("${templates.recommendations.profile-max-age-days:7}")
+    private long profileMaxAgeDays;
+
+    private volatile TemplateIndex index;
+
+    private static final class Posting {
+        private final LearningPlanTemplate template;
+        private final double weight;
+
+        private Posting(LearningPlanTemplate template, double weight) {
+            this.template = template;
+            this.weight = weight;
+        }
+    }
+
+    // Unit-length sparse TF-IDF vectors for one catalog snapshot, plus the term -> templates postings
+    private static final class TemplateIndex {
+        private final TemplateCatalog.Snapshot source;
+        private final Map<String, Double> idf;
+        private final Map<String, List<Posting>> postings;
+        private final Map<String, Map<String, Double>> vectors; // Template id -> term -> weight
+
+        private TemplateIndex(TemplateCatalog.Snapshot source) {
+            List<LearningPlanTemplate> templates = source.getTemplates();
+            Map<String, Map<String, Double>> termFrequencies = new HashMap<>();
+            Map<String, Integer> documentFrequency = new HashMap<>();
+            for (LearningPlanTemplate template : templates) {
+                Map<String, Double> tf = templateTerms(template);
+                termFrequencies.put(template.getId(), tf);
+                tf.keySet().forEach(term -> documentFrequency.merge(term, 1, Integer::sum));
+            }
+
+            Map<String, Double> idf = new HashMap<>();
+            // Smoothed so a term every template shares still counts for a little
+            documentFrequency.forEach((term, df) -> idf.put(term, Math.log(1.0 + (double) templates.size() / df)));
+
+            Map<String, List<Posting>> postings = new HashMap<>();
+            Map<String, Map<String, Double>> vectors = new HashMap<>();
+            for (LearningPlanTemplate template : templates) {
+                Map<String, Double> vector = new HashMap<>();
+                double norm = 0;
+                for (Map.Entry<String, Double> entry : termFrequencies.get(template.getId()).entrySet()) {
+                    double weight = (1.0 + Math.log(entry.getValue())) * idf.get(entry.getKey());
+                    vector.put(entry.getKey(), weight);
+                    norm += weight * weight;
+                }
+                double length = Math.sqrt(norm);
+                if (length == 0) {
+                    continue;
+                }
+                vector.replaceAll((term, weight) -> weight / length);
+                vectors.put(template.getId(), Map.copyOf(vector));
+                vector.forEach((term, weight) ->
+                        postings.computeIfAbsent(term, key -> new ArrayList<>()).add(new Posting(template, weight)));
+            }
+
+            this.source = source;
+            this.idf = Map.copyOf(idf);
+            this.postings = postings.entrySet().stream()
+                    .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> List.copyOf(entry.getValue())));
+            this.vectors = Map.copyOf(vectors);
+        }
+    }
+
+    public List<TemplateRecommendation> recommend(String userId, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        TemplateIndex current = currentIndex();
+        Set<String> adopted = adoptedTemplateIds(userId);
+
+        // Profile vector over the template vocabulary; terms no template uses can't add to any dot product
+        Map<String, Double> profile = new HashMap<>();
+        double norm = 0;
+        for (Map.Entry<String, Double> entry : getProfile(userId).getTerms().entrySet()) {
+            Double idf = current.idf.get(entry.getKey());
+            if (idf == null || entry.getValue() <= 0) {
+                continue;
+            }
+            double weight = Math.log(1.0 + entry.getValue()) * idf;
+            profile.put(entry.getKey(), weight);
+            norm += weight * weight;
+        }
+
+        Map<String, Double> dots = new HashMap<>();
+        for (Map.Entry<String, Double> entry : profile.entrySet()) {
+            for (Posting posting : current.postings.getOrDefault(entry.getKey(), List.of())) {
+                if (!adopted.contains(posting.template.getId())) {
+                    dots.merge(posting.template.getId(), entry.getValue() * posting.weight, Double::sum);
+                }
+            }
+        }
+
+        // Bounded min-heap: only the best `limit` candidates are ever kept
+        PriorityQueue<Map.Entry<String, Double>> top =
+                new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<String, Double> entry : dots.entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        double length = Math.sqrt(norm);
+        List<TemplateRecommendation> recommendations = new ArrayList<>();
+        while (!top.isEmpty()) {
+            Map.Entry<String, Double> entry = top.poll();
+            recommendations.add(0, new TemplateRecommendation(current.source.get(entry.getKey()),
+                    entry.getValue() / length, matchedTerms(profile, current.vectors.get(entry.getKey()))));
+        }
+
+        // Users without enough activity still get suggestions, in catalog order
+        Set<String> chosen = recommendations.stream().map(r -> r.getTemplate().getId()).collect(Collectors.toSet());
+        for (LearningPlanTemplate template : current.source.getTemplates()) {
+            if (recommendations.size() >= limit) {
+                break;
+            }
+            if (!adopted.contains(template.getId()) && !chosen.contains(template.getId())) {
+                recommendations.add(new TemplateRecommendation(template, 0, List.of()));
+            }
+        }
+        return recommendations;
+    }
+
+    public TasteProfile getProfile(String userId) {
+        TasteProfile profile = profileRepository.findById(userId).orElse(null);
+        LocalDateTime staleBefore = LocalDateTime.now().minusDays(profileMaxAgeDays);
+        if (profile == null || profile.getReconciledAt() == null || profile.getReconciledAt().isBefore(staleBefore)) {
+            return reconcile(userId);
+        }
+        if (profile.getTerms() == null) {
+            profile.setTerms(new HashMap<>());
+        }
+        return profile;
+    }
+
+    @EventListener
+    public void onEngagement(EngagementEvent event) {
+        double sign;
+        switch (event.getType()) {
+            case POST_CREATED:
+                sign = OWN_POST_WEIGHT;
+                break;
+            case LIKE_ADDED:
+                sign = LIKED_POST_WEIGHT;
+                break;
+            case LIKE_REMOVED:
+                sign = -LIKED_POST_WEIGHT;
+                break;
+            default:
+                return;
+        }
+        if (event.getActorId() == null || event.getPostId() == null) {
+            return;
+        }
+
+        try {
+            Post post = mongoTemplate.findOne(postTextQuery(Criteria.where("id").is(event.getPostId())), Post.class);
+            if (post == null) {
+                return;
+            }
+            Map<String, Double> terms = postTerms(post);
+            if (terms.isEmpty()) {
+                return;
+            }
+            Update update = new Update().set("updatedAt", LocalDateTime.now());
+            terms.forEach((term, weight) -> update.inc("terms." + term, sign * weight));
+            // Only existing profiles are incremented; the first read builds everyone else's from their posts
+            mongoTemplate.updateFirst(new Query(Criteria.where("id").is(event.getActorId())), update, TasteProfile.class);
+        } catch (Exception e) {
+            // Recommendations can drift but must never fail the interaction; reconciliation repairs them
+            logger.warn("Could not update taste profile for user {}: {}", event.getActorId(), e.getMessage());
+        }
+    }
+
+    public TasteProfile reconcile(String userId) {
+        Map<String, Double> terms = new HashMap<>();
+
+        Query ownPosts = postTextQuery(Criteria.where("userId").is(userId))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt"))
+                .limit(REBUILD_POST_LIMIT);
+        accumulate(terms, mongoTemplate.find(ownPosts, Post.class), OWN_POST_WEIGHT);
+
+        Query likes = new Query(Criteria.where("userId").is(userId)).limit(REBUILD_POST_LIMIT);
+        likes.fields().include("postId");
+        List<String> likedIds = mongoTemplate.find(likes, Like.class).stream()
+                .map(Like::getPostId)
+                .collect(Collectors.toList());
+        if (!likedIds.isEmpty()) {
+            accumulate(terms, mongoTemplate.find(postTextQuery(Criteria.where("id").in(likedIds)), Post.class),
+                    LIKED_POST_WEIGHT);
+        }
+
+        TasteProfile profile = new TasteProfile();
+        profile.setId(userId);
+        profile.setTerms(terms);
+        profile.setUpdatedAt(LocalDateTime.now());
+        profile.setReconciledAt(profile.getUpdatedAt());
+        logger.debug("Rebuilt taste profile for user {} with {} terms", userId, terms.size());
+        return profileRepository.save(profile);
+    }
+
+    private TemplateIndex currentIndex() {
+        TemplateCatalog.Snapshot snapshot = templateCatalog.current();
+        TemplateIndex current = index;
+        if (current == null || current.source != snapshot) {
+            // Concurrent callers may both rebuild after a refresh; the results are identical
+            current = new TemplateIndex(snapshot);
+            index = current;
+            logger.info("Indexed {} templates over {} terms for recommendations",
+                    current.vectors.size(), current.idf.size());
+        }
+        return current;
+    }
+
+    private Set<String> adoptedTemplateIds(String userId) {
+        return new HashSet<>(mongoTemplate.findDistinct(
+                new Query(Criteria.where("userId").is(userId).and("templateId").ne(null)),
+                "templateId", LearningPlan.class, String.class));
+    }
+
+    private static List<String> matchedTerms(Map<String, Double> profile, Map<String, Double> vector) {
+        return profile.entrySet().stream()
+                .filter(entry -> vector.containsKey(entry.getKey()))
+                .sorted(Comparator.comparingDouble(
+                        (Map.Entry<String, Double> entry) -> entry.getValue() * vector.get(entry.getKey())).reversed())
+                .limit(MATCHED_TERMS)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private static Query postTextQuery(Criteria criteria) {
+        Query query = new Query(criteria);
+        query.fields().include("title", "description", "ingredients");
+        return query;
+    }
+
+    private static void accumulate(Map<String, Double> terms, List<Post> posts, double weight) {
+        for (Post post : posts) {
+            postTerms(post).forEach((term, termWeight) -> terms.merge(term, weight * termWeight, Double::sum));
+        }
+    }
+
+    // Each term counts once per post, at the weight of the strongest field it appears in
+    static Map<String, Double> postTerms(Post post) {
+        Map<String, Double> terms = new HashMap<>();
+        addTerms(terms, post.getDescription(), DESCRIPTION_WEIGHT, Math::max);
+        addTerms(terms, post.getTitle(), TITLE_WEIGHT, Math::max);
+        if (post.getIngredients() != null) {
+            for (String ingredient : post.getIngredients()) {
+                addTerms(terms, ingredient, INGREDIENT_WEIGHT, Math::max);
+            }
+        }
+        return terms;
+    }
+
+    // Raw term frequencies, with the category and names counted above body text
+    static Map<String, Double> templateTerms(LearningPlanTemplate template) {
+        Map<String, Double> terms = new HashMap<>();
+        addTerms(terms, template.getCategory() != null ? template.getCategory().replace('_', ' ') : null, 3, Double::sum);
+        addTerms(terms, template.getTitle(), 2, Double::sum);
+        addTerms(terms, template.getDescription(), 1, Double::sum);
+        if (template.getSubjects() != null) {
+            for (LearningPlanTemplate.Subject subject : template.getSubjects()) {
+                addTerms(terms, subject.getName(), 2, Double::sum);
+                addTerms(terms, subject.getDescription(), 1, Double::sum);
+                if (subject.getMaterials() != null) {
+                    subject.getMaterials().forEach(material -> addTerms(terms, material, 1, Double::sum));
+                }
+            }
+        }
+        return terms;
+    }
+
+    private static void addTerms(Map<String, Double> terms, String text, double weight,
+                                 BinaryOperator<Double> combine) {
+        for (String term : tokenize(text)) {
+            terms.merge(term, weight, combine);
+        }
+    }
+
+    // Lower-cased letter runs of three or more, stop words dropped and plurals folded ("tomatoes" -> "tomato").
+    // Terms are letters only, so they are always safe as Mongo field names.
+    static Collection<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^a-z]+")) {
+            String term = singular(word);
+            if (term.length() >= 3 && !STOP_WORDS.contains(term)) {
+                tokens.add(term);
+            }
+        }
+        return tokens;
+    }
+
+    private static String singular(String word) {
+        if (word.length() > 4 && word.endsWith("ies")) {
+            return word.substring(0, word.length() - 3) + "y";
+        }
+        if (word.length() > 4 && (word.endsWith("oes") || word.endsWith("ches") || word.endsWith("shes"))) {
+            return word.substring(0, word.length() - 2);
+        }
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+}
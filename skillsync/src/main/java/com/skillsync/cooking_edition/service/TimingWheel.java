@@ -0,0 +1,104 @@
+package com.skillsync.cooking_edition.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Hierarchical timing wheel: level k has SLOTS slots spanning SLOTS^k ticks each. Scheduling is O(1); an
+// entry is moved down a level when its slot comes round, so it is touched at most LEVELS times before firing.
+// Entries are never cancelled here; callers re-check them when they fire.
+final class TimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    @SuppressWarnings("unchecked")
+    private final List<Entry<T>>[][] wheels = new List[LEVELS][SLOTS];
+    private long currentTick;
+    private int size;
+
+    private static final class Entry<T> {
+        final long tick;
+        final T item;
+
+        Entry(long tick, T item) {
+            this.tick = tick;
+            this.item = item;
+        }
+    }
+
+    TimingWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    // Returns false, without keeping the item, when its deadline falls in a tick that has already passed
+    synchronized boolean schedule(long deadlineMillis, T item) {
+        return place(new Entry<>(deadlineMillis / tickMillis, item));
+    }
+
+    // Moves the wheel up to now and returns everything that came due on the way, oldest first
+    synchronized List<T> advance(long nowMillis) {
+        List<T> due = new ArrayList<>();
+        long target = nowMillis / tickMillis;
+        while (currentTick < target) {
+            currentTick++;
+            // Higher levels first, so entries cascading into this tick's range land in the right lower slot
+            for (int level = LEVELS - 1; level >= 1; level--) {
+                if ((currentTick & ((1L << (BITS * level)) - 1)) == 0) {
+                    List<Entry<T>> bucket = take(level, (int) ((currentTick >> (BITS * level)) & MASK));
+                    if (bucket != null) {
+                        for (Entry<T> entry : bucket) {
+                            if (!place(entry)) {
+                                due.add(entry.item);
+                            }
+                        }
+                    }
+                }
+            }
+            List<Entry<T>> bucket = take(0, (int) (currentTick & MASK));
+            if (bucket != null) {
+                for (Entry<T> entry : bucket) {
+                    due.add(entry.item);
+                }
+            }
+        }
+        return due;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private boolean place(Entry<T> entry) {
+        long delta = entry.tick - currentTick;
+        if (delta <= 0) {
+            return false;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        // Beyond the top level's span the slot wraps; the entry is simply re-placed when it comes round early
+        int slot = (int) ((entry.tick >> (BITS * level)) & MASK);
+        List<Entry<T>> bucket = wheels[level][slot];
+        if (bucket == null) {
+            bucket = new ArrayList<>();
+            wheels[level][slot] = bucket;
+        }
+        bucket.add(entry);
+        size++;
+        return true;
+    }
+
+    private List<Entry<T>> take(int level, int slot) {
+        List<Entry<T>> bucket = wheels[level][slot];
+        if (bucket != null) {
+            wheels[level][slot] = null;
+            size -= bucket.size();
+        }
+        return bucket;
+    }
+}
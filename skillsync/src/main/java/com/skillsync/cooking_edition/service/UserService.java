@@ -1,16 +1,12 @@
 package com.skillsync.cooking_edition.service;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.skillsync.cooking_edition.model.MediaInfo;
 import com.skillsync.cooking_edition.model.User;
 import com.skillsync.cooking_edition.repository.UserRepository;
 
@@ -19,6 +15,15 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MediaStore mediaStore;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private MediaIngestService mediaIngestService;
+
     public User getUserById(String userId) {
         return userRepository.findById(userId).orElse(null);
     }
@@ -29,24 +34,27 @@ public class UserService {
             throw new RuntimeException("User not found");
         }
 
-        String uploadDir = "uploads/";
-        Path uploadPath = Paths.get(uploadDir);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
-        }
-
-        String filename = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
-        Path filePath = uploadPath.resolve(filename);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        MediaInfo stored = mediaIngestService.ingest(file);
 
-        String fileUrl = "/uploads/" + filename;
+        String fileUrl = stored.getUrl();
+        String previousUrl = null;
         if ("profile".equals(type)) {
+            previousUrl = user.getProfilePicture();
             user.setProfilePicture(fileUrl);
         } else if ("cover".equals(type)) {
+            previousUrl = user.getCoverPhoto();
             user.setCoverPhoto(fileUrl);
         }
 
         userRepository.save(user);
+        if (previousUrl != null) {
+            mediaStore.release(previousUrl);
+        }
+        if ("profile".equals(type)) {
+            imageVariantService.scheduleUserImageVariants(userId, "profilePicture", stored);
+        } else if ("cover".equals(type)) {
+            imageVariantService.scheduleUserImageVariants(userId, "coverPhoto", stored);
+        }
         return fileUrl;
     }
 } 
\ No newline at end of file
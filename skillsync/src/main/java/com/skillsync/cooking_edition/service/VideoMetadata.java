@@ -0,0 +1,33 @@
+package com.skillsync.cooking_edition.service;
+
+// Header-level facts about a video file; fields the container did not declare are null
+public class VideoMetadata {
+
+    private final Double durationSeconds;
+    private final Integer width;
+    private final Integer height;
+    private final String codec;
+
+    public VideoMetadata(Double durationSeconds, Integer width, Integer height, String codec) {
+        this.durationSeconds = durationSeconds;
+        this.width = width;
+        this.height = height;
+        this.codec = codec;
+    }
+
+    public Double getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public Integer getWidth() {
+        return width;
+    }
+
+    public Integer getHeight() {
+        return height;
+    }
+
+    public String getCodec() {
+        return codec;
+    }
+}
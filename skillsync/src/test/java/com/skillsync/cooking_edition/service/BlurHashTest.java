@@ -0,0 +1,89 @@
+package com.skillsync.cooking_edition.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+
+class BlurHashTest {
+
+    private static final String BASE83 =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+
+    @Test
+    void lengthAndSizeFlagFollowTheComponentCounts() {
+        BufferedImage image = gradient(32, 24);
+        for (int x = 1; x <= 9; x++) {
+            for (int y = 1; y <= 9; y++) {
+                String hash = BlurHash.encode(image, x, y);
+                assertEquals(4 + 2 * x * y, hash.length());
+                assertEquals((x - 1) + (y - 1) * 9, decode(hash, 0, 1));
+                assertTrue(hash.chars().allMatch(c -> BASE83.indexOf(c) >= 0));
+            }
+        }
+    }
+
+    @Test
+    void solidColourIsItsOwnAverage() {
+        for (Color color : new Color[] { new Color(0x30, 0x80, 0xC0), Color.BLACK, Color.WHITE }) {
+            String hash = BlurHash.encode(solid(32, 32, color), 4, 3);
+            // The sRGB -> linear -> sRGB round trip is exact for 8-bit values
+            assertEquals(color.getRGB() & 0xFFFFFF, decode(hash, 2, 4));
+        }
+    }
+
+    @Test
+    void averageColourIsTakenInLinearLight() {
+        // Half black, half white: the average in linear light is brighter than sRGB 128
+        BufferedImage image = solid(32, 32, Color.BLACK);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(16, 0, 16, 32);
+        g.dispose();
+
+        int average = decode(BlurHash.encode(image, 4, 3), 2, 4);
+        assertEquals(average >> 16, average & 0xFF);
+        assertTrue((average & 0xFF) > 180, "average was " + Integer.toHexString(average));
+    }
+
+    @Test
+    void imageDetailChangesTheAcComponents() {
+        String flat = BlurHash.encode(solid(32, 32, Color.GRAY), 4, 3);
+        String detailed = BlurHash.encode(gradient(32, 32), 4, 3);
+
+        assertNotEquals(flat.substring(6), detailed.substring(6));
+        assertTrue(decode(detailed, 1, 1) > 0);
+    }
+
+    private static int decode(String hash, int start, int length) {
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            value = value * 83 + BASE83.indexOf(hash.charAt(i));
+        }
+        return value;
+    }
+
+    private static BufferedImage solid(int width, int height, Color color) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(color);
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+        return image;
+    }
+
+    private static BufferedImage gradient(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, ((x * 255 / width) << 16) | ((y * 255 / height) << 8) | 0x40);
+            }
+        }
+        return image;
+    }
+}
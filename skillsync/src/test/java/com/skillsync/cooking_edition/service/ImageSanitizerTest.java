@@ -0,0 +1,256 @@
+package com.skillsync.cooking_edition.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class ImageSanitizerTest {
+
+    private final ImageSanitizer sanitizer = new ImageSanitizer();
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(sanitizer, "maxDimension", 2048);
+        ReflectionTestUtils.setField(sanitizer, "jpegQuality", 0.85f);
+    }
+
+    @Test
+    void stripsJpegMetadataButKeepsOrientation() throws IOException {
+        byte[] plain = encode(picture(120, 80), "jpeg");
+        // SOI, then EXIF (orientation 6 plus a camera make), a comment, then the rest of the encoder's output
+        byte[] jpeg = concat(Arrays.copyOf(plain, 2), exifSegment(6, "SecretCam"),
+                segment(0xFE, ascii("shot at home")), Arrays.copyOfRange(plain, 2, plain.length));
+        Path source = write(jpeg);
+        Path target = dir.resolve("out.jpg");
+
+        SanitizedImage result = sanitizer.sanitize(source, target);
+
+        byte[] output = Files.readAllBytes(target);
+        assertEquals("jpeg", result.getFormat());
+        // Orientation 6 is a quarter turn, so the displayed size is transposed
+        assertEquals(80, result.getWidth());
+        assertEquals(120, result.getHeight());
+        assertEquals(jpeg.length, result.getOriginalSize());
+        assertEquals(output.length, result.getSize());
+        assertEquals(6, ImageSanitizer.orientationOf(output));
+        assertFalse(contains(output, ascii("SecretCam")));
+        assertFalse(contains(output, ascii("shot at home")));
+        // The entropy-coded data is untouched, so the pixels are exactly the encoder's
+        BufferedImage before = ImageIO.read(source.toFile());
+        BufferedImage after = ImageIO.read(target.toFile());
+        assertEquals(120, after.getWidth());
+        assertEquals(80, after.getHeight());
+        assertArrayEquals(before.getRGB(0, 0, 120, 80, null, 0, 120), after.getRGB(0, 0, 120, 80, null, 0, 120));
+    }
+
+    @Test
+    void plainJpegKeepsItsSizeAndHasNoOrientation() throws IOException {
+        Path source = write(encode(picture(64, 48), "jpeg"));
+        Path target = dir.resolve("out.jpg");
+
+        SanitizedImage result = sanitizer.sanitize(source, target);
+
+        assertEquals(64, result.getWidth());
+        assertEquals(48, result.getHeight());
+        assertEquals(1, ImageSanitizer.orientationOf(Files.readAllBytes(target)));
+    }
+
+    @Test
+    void downscalesOversizedJpegAndKeepsOrientation() throws IOException {
+        ReflectionTestUtils.setField(sanitizer, "maxDimension", 64);
+        byte[] plain = encode(picture(200, 100), "jpeg");
+        Path source = write(concat(Arrays.copyOf(plain, 2), exifSegment(6, "SecretCam"),
+                Arrays.copyOfRange(plain, 2, plain.length)));
+        Path target = dir.resolve("out.jpg");
+
+        SanitizedImage result = sanitizer.sanitize(source, target);
+
+        byte[] output = Files.readAllBytes(target);
+        assertEquals(32, result.getWidth());
+        assertEquals(64, result.getHeight());
+        assertEquals(6, ImageSanitizer.orientationOf(output));
+        assertFalse(contains(output, ascii("SecretCam")));
+        BufferedImage after = ImageIO.read(target.toFile());
+        assertEquals(64, after.getWidth());
+        assertEquals(32, after.getHeight());
+    }
+
+    @Test
+    void stripsPngTextChunks() throws IOException {
+        byte[] plain = encode(picture(50, 30), "png");
+        // Signature and IHDR are 8 + 25 bytes
+        byte[] png = concat(Arrays.copyOf(plain, 33), chunk("tEXt", ascii("Author\0Someone")),
+                chunk("gAMA", ByteBuffer.allocate(4).putInt(45455).array()), Arrays.copyOfRange(plain, 33, plain.length));
+        Path source = write(png);
+        Path target = dir.resolve("out.png");
+
+        SanitizedImage result = sanitizer.sanitize(source, target);
+
+        byte[] output = Files.readAllBytes(target);
+        assertEquals("png", result.getFormat());
+        assertEquals(50, result.getWidth());
+        assertEquals(30, result.getHeight());
+        assertEquals(output.length, result.getSize());
+        assertFalse(contains(output, ascii("tEXt")));
+        assertTrue(contains(output, ascii("gAMA")));
+        assertEquals(png.length - (12 + "Author\0Someone".length()), output.length);
+        assertEquals(50, ImageIO.read(target.toFile()).getWidth());
+    }
+
+    @Test
+    void downscalesOversizedPng() throws IOException {
+        ReflectionTestUtils.setField(sanitizer, "maxDimension", 40);
+        Path source = write(encode(picture(100, 60), "png"));
+        Path target = dir.resolve("out.png");
+
+        SanitizedImage result = sanitizer.sanitize(source, target);
+
+        assertEquals(40, result.getWidth());
+        assertEquals(24, result.getHeight());
+        BufferedImage after = ImageIO.read(target.toFile());
+        assertEquals(40, after.getWidth());
+        assertEquals(24, after.getHeight());
+    }
+
+    @Test
+    void otherFormatsAreCopiedAsIs() throws IOException {
+        byte[] gif = encode(picture(30, 20), "gif");
+        Path source = write(gif);
+        Path target = dir.resolve("out.gif");
+
+        SanitizedImage result = sanitizer.sanitize(source, target);
+
+        assertEquals("gif", result.getFormat());
+        assertEquals(30, result.getWidth());
+        assertEquals(20, result.getHeight());
+        assertArrayEquals(gif, Files.readAllBytes(target));
+    }
+
+    @Test
+    void unreadableDataIsCopiedWithUnknownSize() throws IOException {
+        byte[] plain = encode(picture(40, 40), "jpeg");
+        byte[] truncated = Arrays.copyOf(plain, plain.length / 2);
+        byte[] noise = new byte[500];
+        new Random(3).nextBytes(noise);
+
+        for (byte[] data : new byte[][] { truncated, noise }) {
+            Path source = write(data);
+            Path target = dir.resolve("out.bin");
+
+            SanitizedImage result = sanitizer.sanitize(source, target);
+
+            assertNull(result.getFormat());
+            assertNull(result.getWidth());
+            assertEquals(data.length, result.getSize());
+            assertArrayEquals(data, Files.readAllBytes(target));
+        }
+    }
+
+    @Test
+    void decodeSubsampledSkipsPixels() throws IOException {
+        Path source = write(encode(picture(100, 60), "png"));
+
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            BufferedImage decoded = ImageSanitizer.decodeSubsampled(in, (width, height) -> 4);
+            assertEquals(25, decoded.getWidth());
+            assertEquals(15, decoded.getHeight());
+        }
+    }
+
+    private Path write(byte[] data) throws IOException {
+        Path file = Files.createTempFile(dir, "image", null);
+        Files.write(file, data);
+        return file;
+    }
+
+    private static BufferedImage picture(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.ORANGE);
+        g.fillRect(0, 0, width, height);
+        g.setColor(Color.BLUE);
+        g.fillOval(width / 4, height / 4, width / 2, height / 2);
+        g.dispose();
+        return image;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    // APP1 with a little-endian TIFF block: orientation (0x0112) and make (0x010F)
+    private static byte[] exifSegment(int orientation, String make) {
+        byte[] makeBytes = ascii(make + "\0");
+        ByteBuffer tiff = ByteBuffer.allocate(8 + 2 + 2 * 12 + 4 + makeBytes.length).order(ByteOrder.LITTLE_ENDIAN);
+        tiff.put(ascii("II")).putShort((short) 42).putInt(8);
+        tiff.putShort((short) 2);
+        tiff.putShort((short) 0x010F).putShort((short) 2).putInt(makeBytes.length).putInt(8 + 2 + 2 * 12 + 4);
+        tiff.putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0);
+        tiff.putInt(0);
+        tiff.put(makeBytes);
+        return segment(0xE1, concat(ascii("Exif\0\0"), tiff.array()));
+    }
+
+    private static byte[] segment(int marker, byte[] payload) {
+        return ByteBuffer.allocate(4 + payload.length)
+                .put((byte) 0xFF).put((byte) marker).putShort((short) (payload.length + 2)).put(payload).array();
+    }
+
+    private static byte[] chunk(String type, byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(ascii(type));
+        crc.update(data);
+        return ByteBuffer.allocate(12 + data.length)
+                .putInt(data.length).put(ascii(type)).put(data).putInt((int) crc.getValue()).array();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean contains(byte[] data, byte[] needle) {
+        for (int i = 0; i + needle.length <= data.length; i++) {
+            if (Arrays.equals(data, i, i + needle.length, needle, 0, needle.length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,111 @@
+package com.skillsync.cooking_edition.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.skillsync.cooking_edition.event.LearningPlanEvent;
+import com.skillsync.cooking_edition.model.LearningPlan;
+import com.skillsync.cooking_edition.model.LearningStreak;
+
+class LearningLeaderboardServiceTest {
+
+    private final LocalDate today = LocalDate.now();
+    private final LocalDate weekStart = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+    @Test
+    void savedWeeklyScoresAddToProgressSinceStartup() {
+        LearningLeaderboardService service = new LearningLeaderboardService();
+        service.onPlanEvent(LearningPlanEvent.created(plan("u1", 2)));
+
+        merge(service, snapshot("u1", weekStart, 5, 0, 0, null), snapshot("u2", weekStart.minusWeeks(1), 9, 0, 0, null));
+
+        assertEquals(7L, service.standing("u1").get("weeklySubjects"));
+        assertEquals(0L, service.standing("u2").get("weeklySubjects"));
+    }
+
+    @Test
+    void retriedLoadsMergeEachSnapshotOnce() {
+        LearningLeaderboardService service = new LearningLeaderboardService();
+        LearningStreak snapshot = snapshot("u1", weekStart, 3, 2, 2, today.minusDays(1));
+
+        merge(service, snapshot);
+        merge(service, snapshot);
+
+        Map<String, Object> standing = service.standing("u1");
+        assertEquals(3L, standing.get("weeklySubjects"));
+        assertEquals(2, standing.get("currentStreak"));
+    }
+
+    @Test
+    void savedStreakEndingYesterdayContinuesIntoToday() {
+        LearningLeaderboardService service = new LearningLeaderboardService();
+        service.onPlanEvent(LearningPlanEvent.created(plan("u1", 1)));
+
+        merge(service, snapshot("u1", weekStart, 0, 3, 3, today.minusDays(1)));
+
+        Map<String, Object> standing = service.standing("u1");
+        assertEquals(4, standing.get("currentStreak"));
+        assertEquals(4, standing.get("bestStreak"));
+    }
+
+    @Test
+    void brokenSavedStreakKeepsOnlyItsBest() {
+        LearningLeaderboardService service = new LearningLeaderboardService();
+        service.onPlanEvent(LearningPlanEvent.created(plan("u1", 1)));
+
+        merge(service, snapshot("u1", weekStart, 0, 2, 6, today.minusDays(3)));
+
+        Map<String, Object> standing = service.standing("u1");
+        assertEquals(1, standing.get("currentStreak"));
+        assertEquals(6, standing.get("bestStreak"));
+    }
+
+    @Test
+    void savedStreakAlreadyCoveringTodayIsNotCountedTwice() {
+        LearningLeaderboardService service = new LearningLeaderboardService();
+        service.onPlanEvent(LearningPlanEvent.created(plan("u1", 1)));
+
+        merge(service, snapshot("u1", weekStart, 0, 3, 3, today));
+
+        assertEquals(3, service.standing("u1").get("currentStreak"));
+    }
+
+    private static void merge(LearningLeaderboardService service, LearningStreak... snapshots) {
+        ReflectionTestUtils.invokeMethod(service, "mergeSnapshots", List.of(snapshots));
+    }
+
+    private static LearningStreak snapshot(String userId, LocalDate weekStart, long weeklySubjects,
+                                           int currentStreak, int bestStreak, LocalDate lastActive) {
+        LearningStreak snapshot = new LearningStreak();
+        snapshot.setId(userId);
+        snapshot.setWeekStart(weekStart);
+        snapshot.setWeeklySubjects(weeklySubjects);
+        snapshot.setCurrentStreak(currentStreak);
+        snapshot.setBestStreak(bestStreak);
+        snapshot.setLastActiveDate(lastActive);
+        return snapshot;
+    }
+
+    private static LearningPlan plan(String userId, int completedSubjects) {
+        LearningPlan plan = new LearningPlan();
+        plan.setId("plan-" + userId);
+        plan.setUserId(userId);
+        List<LearningPlan.Subject> subjects = new ArrayList<>();
+        for (int i = 0; i < completedSubjects; i++) {
+            LearningPlan.Subject subject = new LearningPlan.Subject();
+            subject.setStatus("COMPLETED");
+            subjects.add(subject);
+        }
+        plan.setSubjects(subjects);
+        return plan;
+    }
+}
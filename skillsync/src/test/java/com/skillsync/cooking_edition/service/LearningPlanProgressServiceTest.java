@@ -0,0 +1,149 @@
+package com.skillsync.cooking_edition.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import com.skillsync.cooking_edition.model.LearningPlan;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+class LearningPlanProgressServiceTest {
+
+    private static final long NOW = 1_000_000;
+
+    @Test
+    void progressFollowsTheCompletedSubjects() {
+        assertEquals("NOT_STARTED", LearningPlanProgressService.progressOf(List.of()));
+        assertEquals("NOT_STARTED", LearningPlanProgressService.progressOf(List.of("NOT_STARTED", "IN_PROGRESS")));
+        assertEquals("IN_PROGRESS", LearningPlanProgressService.progressOf(List.of("COMPLETED", "NOT_STARTED")));
+        assertEquals("COMPLETED", LearningPlanProgressService.progressOf(List.of("COMPLETED", "COMPLETED")));
+    }
+
+    @Test
+    void revisionZeroAlsoMatchesPlansWithoutTheField() {
+        Document zero = LearningPlanProgressService.revisionIs(0).getCriteriaObject();
+        assertEquals(List.of(new Document("revision", 0L), new Document("revision", new Document("$exists", false))),
+                zero.get("$or"));
+
+        assertEquals(new Document("revision", 7L), LearningPlanProgressService.revisionIs(7).getCriteriaObject());
+    }
+
+    @Test
+    void latestTimestampInTheBatchWins() {
+        LearningPlanProgressService.SyncMerge merge = new LearningPlanProgressService.SyncMerge(plan(1), List.of(
+                event(ProgressEvent.ITEM, "a", true, 300),
+                event(ProgressEvent.ITEM, "a", false, 100),
+                event(ProgressEvent.ITEM, "b", true, 200),
+                event(ProgressEvent.ITEM, "b", false, 200)), NOW);
+
+        assertEquals(2, merge.applied);
+        assertEquals(2, merge.superseded);
+        Document set = set(merge);
+        assertEquals(true, set.get("completedItems.a"));
+        assertEquals(300L, set.get("progressClock.item:a"));
+        // Equal timestamps: the later event in the batch wins
+        assertEquals(false, set.get("completedItems.b"));
+        assertEquals(new Document("revision", 1), merge.update.getUpdateObject().get("$inc"));
+        assertFalse(merge.progressChanged);
+    }
+
+    @Test
+    void olderThanThePlanClockIsSuperseded() {
+        LearningPlan plan = plan(1);
+        plan.getProgressClock().put("item:a", 500L);
+        plan.getProgressClock().put("milestone:0", 500L);
+
+        LearningPlanProgressService.SyncMerge merge = new LearningPlanProgressService.SyncMerge(plan, List.of(
+                event(ProgressEvent.ITEM, "a", true, 400),
+                event(ProgressEvent.MILESTONE, "0", true, 500)), NOW);
+
+        assertEquals(0, merge.applied);
+        assertEquals(2, merge.superseded);
+        assertTrue(merge.update.getUpdateObject().isEmpty());
+    }
+
+    @Test
+    void futureTimestampsAreClampedToNow() {
+        LearningPlanProgressService.SyncMerge merge = new LearningPlanProgressService.SyncMerge(plan(1), List.of(
+                event(ProgressEvent.MILESTONE, "0", true, NOW + 60_000),
+                event(ProgressEvent.MILESTONE, "0", false, NOW)), NOW);
+
+        // Both clamp to now, so the later event in the batch wins rather than the one from the future
+        assertEquals(1, merge.applied);
+        Document set = set(merge);
+        assertEquals(false, set.get("milestones.0.completed"));
+        assertEquals(NOW, set.get("progressClock.milestone:0"));
+    }
+
+    @Test
+    void invalidEventsAreRejected() {
+        LearningPlanProgressService.SyncMerge merge = new LearningPlanProgressService.SyncMerge(plan(2), List.of(
+                event(ProgressEvent.SUBJECT, "2", "COMPLETED", 100),
+                event(ProgressEvent.SUBJECT, "01", "COMPLETED", 100),
+                event(ProgressEvent.SUBJECT, "0", "DONE", 100),
+                event(ProgressEvent.MILESTONE, "1", true, 100),
+                event(ProgressEvent.ITEM, "a.b", true, 100),
+                event(ProgressEvent.ITEM, "a", "yes", 100),
+                event("note", "a", true, 100),
+                event(null, "a", true, 100)), NOW);
+
+        assertEquals(8, merge.rejected);
+        assertEquals(0, merge.applied);
+        assertTrue(merge.update.getUpdateObject().isEmpty());
+    }
+
+    @Test
+    void subjectEventsRecomputeProgress() {
+        LearningPlan plan = plan(2);
+        plan.getSubjects().get(0).setStatus("COMPLETED");
+
+        LearningPlanProgressService.SyncMerge merge = new LearningPlanProgressService.SyncMerge(plan, List.of(
+                event(ProgressEvent.SUBJECT, "1", "COMPLETED", 100)), NOW);
+
+        assertTrue(merge.progressChanged);
+        Document set = set(merge);
+        assertEquals("COMPLETED", set.get("subjects.1.status"));
+        assertEquals("COMPLETED", set.get("progress"));
+        assertNotNull(set.get("completedAt"));
+
+        // Reopening a subject clears the completion again, and keeps an earlier completion date otherwise
+        plan.getSubjects().get(1).setStatus("COMPLETED");
+        plan.setCompletedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        merge = new LearningPlanProgressService.SyncMerge(plan, List.of(
+                event(ProgressEvent.SUBJECT, "0", "IN_PROGRESS", 100)), NOW);
+        assertEquals("IN_PROGRESS", set(merge).get("progress"));
+        assertNull(set(merge).get("completedAt"));
+        assertTrue(((Document) merge.update.getUpdateObject().get("$unset")).containsKey("completedAt"));
+    }
+
+    private static Document set(LearningPlanProgressService.SyncMerge merge) {
+        return (Document) merge.update.getUpdateObject().get("$set");
+    }
+
+    private static ProgressEvent event(String type, String key, Object value, long timestamp) {
+        return new ProgressEvent("plan", type, key, value, timestamp);
+    }
+
+    private static LearningPlan plan(int subjects) {
+        LearningPlan plan = new LearningPlan();
+        plan.setId("plan");
+        List<LearningPlan.Subject> list = new ArrayList<>();
+        for (int i = 0; i < subjects; i++) {
+            LearningPlan.Subject subject = new LearningPlan.Subject();
+            subject.setStatus("NOT_STARTED");
+            list.add(subject);
+        }
+        plan.setSubjects(list);
+        plan.setMilestones(List.of(new LearningPlan.Milestone()));
+        plan.setProgressClock(new HashMap<>());
+        return plan;
+    }
+}
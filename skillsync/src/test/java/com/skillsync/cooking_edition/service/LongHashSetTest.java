@@ -0,0 +1,67 @@
+package com.skillsync.cooking_edition.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class LongHashSetTest {
+
+    @Test
+    void matchesHashSetWhileGrowing() {
+        Random random = new Random(11);
+        // Far more keys than expected, so the table grows several times
+        LongHashSet set = new LongHashSet(4);
+        Set<Long> reference = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            // Some repeats, and keys that differ only in their high bits
+            long key = random.nextInt(3) == 0 ? random.nextInt(1000) : random.nextLong();
+            if (random.nextBoolean()) {
+                key <<= 32;
+            }
+            if (key == 0 || key == 1) {
+                continue;
+            }
+            set.add(key);
+            reference.add(key);
+        }
+
+        assertEquals(reference.size(), set.size());
+        for (long key : reference) {
+            assertTrue(set.contains(key));
+        }
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextLong();
+            assertEquals(reference.contains(key), set.contains(key));
+        }
+    }
+
+    @Test
+    void addingTheSameKeyTwiceCountsOnce() {
+        LongHashSet set = new LongHashSet(16);
+        set.add(42);
+        set.add(42);
+
+        assertEquals(1, set.size());
+        assertTrue(set.contains(42));
+        assertFalse(set.contains(43));
+    }
+
+    @Test
+    void zeroIsStoredAsOne() {
+        LongHashSet set = new LongHashSet(16);
+        assertFalse(set.contains(0));
+
+        set.add(0);
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(1));
+
+        set.add(1);
+        assertEquals(1, set.size());
+    }
+}
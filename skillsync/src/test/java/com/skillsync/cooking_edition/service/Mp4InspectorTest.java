@@ -0,0 +1,183 @@
+package com.skillsync.cooking_edition.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.skillsync.cooking_edition.model.MediaInfo;
+
+class Mp4InspectorTest {
+
+    private final Mp4Inspector inspector = new Mp4Inspector();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsDurationSizeAndCodecOfTheVideoTrack() throws IOException {
+        Path file = write(concat(
+                box("ftyp", ascii("isom"), new byte[4], ascii("isomavc1")),
+                moov(mvhd(0, 1000, 12_500), audioTrak(), videoTrak(0, 1920, 1080, "avc1")),
+                box("mdat", new byte[256])));
+
+        VideoMetadata metadata = inspector.inspect(file);
+
+        assertEquals(12.5, metadata.getDurationSeconds());
+        assertEquals(1920, metadata.getWidth());
+        assertEquals(1080, metadata.getHeight());
+        assertEquals("avc1", metadata.getCodec());
+    }
+
+    @Test
+    void findsMoovAfterLargeMdat() throws IOException {
+        // mdat with a 64-bit size, ahead of moov as most cameras write it
+        byte[] payload = new byte[1024];
+        ByteBuffer mdat = ByteBuffer.allocate(16 + payload.length);
+        mdat.putInt(1).put(ascii("mdat")).putLong(16 + payload.length).put(payload);
+        Path file = write(concat(
+                box("ftyp", ascii("mp42"), new byte[4]),
+                mdat.array(),
+                moov(mvhd(1, 90_000, 90_000L * 3), videoTrak(1, 720, 1280, "hvc1"))));
+
+        VideoMetadata metadata = inspector.inspect(file);
+
+        assertEquals(3.0, metadata.getDurationSeconds());
+        assertEquals(720, metadata.getWidth());
+        assertEquals(1280, metadata.getHeight());
+        assertEquals("hvc1", metadata.getCodec());
+    }
+
+    @Test
+    void unknownDurationAndMissingVideoTrackAreNull() throws IOException {
+        Path file = write(concat(
+                box("ftyp", ascii("M4A "), new byte[4]),
+                moov(mvhd(0, 44_100, 0xFFFFFFFFL), audioTrak())));
+
+        VideoMetadata metadata = inspector.inspect(file);
+
+        assertNull(metadata.getDurationSeconds());
+        assertNull(metadata.getWidth());
+        assertNull(metadata.getCodec());
+    }
+
+    @Test
+    void rejectsFilesThatAreNotMp4() throws IOException {
+        assertNull(inspector.inspect(write(ascii("GIF89a, not a video at all"))));
+        assertNull(inspector.inspect(write(new byte[0])));
+    }
+
+    @Test
+    void rejectsBoxesRunningPastTheirParent() throws IOException {
+        byte[] file = concat(box("ftyp", ascii("isom"), new byte[4]),
+                moov(mvhd(0, 1000, 5000), videoTrak(0, 640, 480, "avc1")));
+        assertNull(inspector.inspect(write(Arrays.copyOf(file, file.length - 10))));
+
+        // A moov claiming to be larger than the file
+        ByteBuffer.wrap(file).putInt(16, file.length);
+        assertNull(inspector.inspect(write(file)));
+    }
+
+    @Test
+    void inspectIntoCopiesOntoTheMediaEntry() throws IOException {
+        Path file = write(concat(box("ftyp", ascii("isom"), new byte[4]),
+                moov(mvhd(0, 600, 1800), videoTrak(0, 1280, 720, "avc1"))));
+        MediaInfo info = new MediaInfo();
+
+        VideoMetadata metadata = inspector.inspectInto(info, file);
+
+        assertEquals(3.0, info.getDurationSeconds());
+        assertEquals(1280, info.getWidth());
+        assertEquals(720, info.getHeight());
+        assertEquals("avc1", info.getCodec());
+        assertEquals("avc1", metadata.getCodec());
+    }
+
+    @Test
+    void inspectIntoLeavesTheEntryAloneWhenNothingCouldBeRead() throws IOException {
+        MediaInfo info = new MediaInfo();
+        info.setWidth(10);
+
+        assertNull(inspector.inspectInto(info, write(new byte[3])));
+        assertEquals(10, info.getWidth());
+        assertNull(info.getCodec());
+    }
+
+    private Path write(byte[] data) throws IOException {
+        Path file = Files.createTempFile(dir, "video", ".mp4");
+        Files.write(file, data);
+        return file;
+    }
+
+    private static byte[] moov(byte[]... children) {
+        return box("moov", children);
+    }
+
+    private static byte[] mvhd(int version, long timescale, long duration) {
+        ByteBuffer payload = ByteBuffer.allocate(version == 1 ? 112 : 100);
+        payload.put((byte) version).put(new byte[3]);
+        if (version == 1) {
+            payload.putLong(0).putLong(0).putInt((int) timescale).putLong(duration);
+        } else {
+            payload.putInt(0).putInt(0).putInt((int) timescale).putInt((int) duration);
+        }
+        return box("mvhd", payload.array());
+    }
+
+    private static byte[] videoTrak(int tkhdVersion, int width, int height, String codec) {
+        return box("trak", tkhd(tkhdVersion, width, height), box("mdia", hdlr("vide"),
+                box("minf", box("stbl", stsd(codec)))));
+    }
+
+    private static byte[] audioTrak() {
+        return box("trak", tkhd(0, 0, 0), box("mdia", hdlr("soun"), box("minf", box("stbl", stsd("mp4a")))));
+    }
+
+    private static byte[] tkhd(int version, int width, int height) {
+        int fixed = version == 1 ? 4 + 8 + 8 + 4 + 4 + 8 : 4 + 4 + 4 + 4 + 4 + 4;
+        ByteBuffer payload = ByteBuffer.allocate(fixed + 8 + 2 + 2 + 2 + 2 + 36 + 8);
+        payload.put(0, (byte) version);
+        // 16.16 fixed point
+        payload.putInt(fixed + 52, width << 16).putInt(fixed + 56, height << 16);
+        return box("tkhd", payload.array());
+    }
+
+    private static byte[] hdlr(String handlerType) {
+        ByteBuffer payload = ByteBuffer.allocate(25);
+        payload.position(8);
+        payload.put(ascii(handlerType));
+        return box("hdlr", payload.array());
+    }
+
+    private static byte[] stsd(String format) {
+        ByteBuffer payload = ByteBuffer.allocate(8 + 16);
+        payload.putInt(0).putInt(1).putInt(16).put(ascii(format));
+        return box("stsd", payload.array());
+    }
+
+    private static byte[] box(String type, byte[]... payloads) {
+        byte[] payload = concat(payloads);
+        return ByteBuffer.allocate(8 + payload.length).putInt(8 + payload.length).put(ascii(type)).put(payload).array();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,114 @@
+package com.skillsync.cooking_edition.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class RankedSetTest {
+
+    // Highest score first, ties by member id, like RankedSet itself
+    private static final Comparator<Map.Entry<String, Long>> ORDER =
+            Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    @Test
+    void ordersByScoreThenMember() {
+        RankedSet set = new RankedSet();
+        set.set("b", 5);
+        set.set("a", 5);
+        set.set("c", 9);
+        set.set("d", 1);
+
+        assertEquals(List.of("c", "a", "b", "d"), members(set.range(0, 10)));
+        assertEquals(1, set.rank("c"));
+        assertEquals(2, set.rank("a"));
+        assertEquals(3, set.rank("b"));
+        assertEquals(4, set.rank("d"));
+    }
+
+    @Test
+    void dropsMembersWhoseScoreReachesZero() {
+        RankedSet set = new RankedSet();
+        set.increment("a", 3);
+        assertEquals(0, set.increment("a", -5));
+
+        assertEquals(0, set.size());
+        assertEquals(0, set.rank("a"));
+        assertEquals(0, set.score("a"));
+        assertTrue(set.range(0, 1).isEmpty());
+    }
+
+    @Test
+    void rangeOutsideTheSetIsEmpty() {
+        RankedSet set = new RankedSet();
+        set.set("a", 1);
+
+        assertTrue(set.range(-1, 5).isEmpty());
+        assertTrue(set.range(1, 5).isEmpty());
+        assertTrue(set.range(0, 0).isEmpty());
+    }
+
+    @Test
+    void matchesSortedReferenceUnderRandomUpdates() {
+        Random random = new Random(42);
+        RankedSet set = new RankedSet();
+        Map<String, Long> reference = new HashMap<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            // A small member pool and frequent ties keep updates, deletes and equal scores common
+            String member = "m" + random.nextInt(500);
+            if (random.nextInt(4) == 0) {
+                long score = random.nextInt(50);
+                set.set(member, score);
+                update(reference, member, score);
+            } else {
+                long delta = random.nextInt(21) - 10;
+                long score = set.increment(member, delta);
+                assertEquals(Math.max(0, reference.getOrDefault(member, 0L) + delta), score);
+                update(reference, member, score);
+            }
+
+            if (step % 500 == 0) {
+                assertMatches(reference, set, random);
+            }
+        }
+        assertMatches(reference, set, random);
+        assertEquals(reference, set.snapshot());
+    }
+
+    private static void assertMatches(Map<String, Long> reference, RankedSet set, Random random) {
+        List<Map.Entry<String, Long>> sorted = new ArrayList<>(reference.entrySet());
+        sorted.sort(ORDER);
+
+        assertEquals(sorted.size(), set.size());
+        assertEquals(sorted, set.range(0, sorted.size() + 1));
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(i + 1, set.rank(sorted.get(i).getKey()));
+            assertEquals(sorted.get(i).getValue(), set.score(sorted.get(i).getKey()));
+        }
+        for (int i = 0; i < 20 && !sorted.isEmpty(); i++) {
+            int offset = random.nextInt(sorted.size());
+            int count = 1 + random.nextInt(30);
+            assertEquals(sorted.subList(offset, Math.min(sorted.size(), offset + count)), set.range(offset, count));
+        }
+    }
+
+    private static void update(Map<String, Long> reference, String member, long score) {
+        if (score > 0) {
+            reference.put(member, score);
+        } else {
+            reference.remove(member);
+        }
+    }
+
+    private static List<String> members(List<Map.Entry<String, Long>> entries) {
+        return entries.stream().map(Map.Entry::getKey).toList();
+    }
+}
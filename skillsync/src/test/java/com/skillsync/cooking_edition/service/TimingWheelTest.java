@@ -0,0 +1,81 @@
+package com.skillsync.cooking_edition.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    private static final long TICK = 1000;
+
+    @Test
+    void refusesDeadlinesInTheCurrentOrPastTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 10 * TICK + 500);
+
+        assertFalse(wheel.schedule(9 * TICK, "past"));
+        assertFalse(wheel.schedule(10 * TICK + 999, "current"));
+        assertTrue(wheel.schedule(11 * TICK, "next"));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void firesInTheTickOfTheDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 0);
+        wheel.schedule(3 * TICK + 10, "a");
+
+        assertTrue(wheel.advance(3 * TICK - 1).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(3 * TICK));
+        assertEquals(0, wheel.size());
+        assertTrue(wheel.advance(10 * TICK).isEmpty());
+    }
+
+    @Test
+    void cascadesEntriesFromHigherLevels() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 0);
+        // Deltas just either side of each level boundary (64, 64^2, 64^3)
+        List<Long> deadlines = List.of(63L, 64L, 65L, 4095L, 4096L, 4097L, 262_143L, 262_144L, 262_145L);
+        deadlines.forEach(deadline -> wheel.schedule(deadline, deadline));
+
+        assertEquals(deadlines, wheel.advance(300_000));
+    }
+
+    @Test
+    void firesEveryEntryExactlyOnceAndNeverEarly() {
+        Random random = new Random(7);
+        long start = 123_456;
+        TimingWheel<Long> wheel = new TimingWheel<>(1, start);
+        List<Long> scheduled = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            // Spread past the top level's span (64^4 ticks) so wrapped slots are covered too
+            long deadline = start + 1 + (long) (Math.pow(random.nextDouble(), 4) * 40_000_000L);
+            assertTrue(wheel.schedule(deadline, deadline));
+            scheduled.add(deadline);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        long now = start;
+        while (wheel.size() > 0) {
+            long next = now + 1 + random.nextInt(2_000_000);
+            List<Long> due = wheel.advance(next);
+            for (int i = 0; i < due.size(); i++) {
+                long deadline = due.get(i);
+                assertTrue(deadline > now && deadline <= next, "fired outside (" + now + ", " + next + "]: " + deadline);
+                if (i > 0) {
+                    assertTrue(due.get(i - 1) <= deadline, "due entries out of order");
+                }
+            }
+            fired.addAll(due);
+            now = next;
+        }
+
+        scheduled.sort(null);
+        fired.sort(null);
+        assertEquals(scheduled, fired);
+    }
+}